@@ -3,6 +3,7 @@ CREATE TABLE IF NOT EXISTS users (
                                      email VARCHAR(255) UNIQUE NOT NULL,
     password VARCHAR(255) NOT NULL,
     full_name VARCHAR(255) NOT NULL,
+    feed_token VARCHAR(64) UNIQUE,
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
     INDEX idx_email (email)
@@ -19,13 +20,21 @@ CREATE TABLE IF NOT EXISTS tasks (
     status VARCHAR(50) DEFAULT 'PENDING',
     priority VARCHAR(50) DEFAULT 'MEDIUM',
     due_date DATE,
+    series_id BIGINT,
+    occurrence_at DATETIME,
+    completed_at DATETIME NULL,
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
     FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE,
     INDEX idx_user_id (user_id),
     INDEX idx_status (status),
+    -- Day ranges scanned by the daily rollup
+    INDEX idx_created_at (created_at),
+    INDEX idx_completed_at (completed_at),
     INDEX idx_due_date (due_date),
-    INDEX idx_user_status (user_id, status)
+    INDEX idx_user_status (user_id, status),
+    INDEX idx_user_due (user_id, due_date),
+    UNIQUE KEY uk_task_occurrence (series_id, occurrence_at)
     ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
 
 -- ============================================
@@ -57,11 +66,300 @@ CREATE TABLE IF NOT EXISTS reminders (
     description TEXT,
     remind_at DATETIME NOT NULL,
     is_sent BOOLEAN DEFAULT FALSE,
+    series_id BIGINT,
+    occurrence_at DATETIME,
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
     FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE,
     INDEX idx_user_id (user_id),
     INDEX idx_remind_at (remind_at),
     INDEX idx_user_remind (user_id, remind_at),
-    INDEX idx_is_sent (is_sent)
+    -- Covers the dispatcher's (is_sent = false, remind_at range) scans and the archiver's sent-row scan;
+    -- id comes along as the primary key, so neither touches the clustered index
+    INDEX idx_sent_remind (is_sent, remind_at),
+    UNIQUE KEY uk_reminder_occurrence (series_id, occurrence_at)
     ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+-- ============================================
+-- REMINDERS ARCHIVE TABLE (Sent reminders past the retention period, moved out of the hot table)
+-- ============================================
+CREATE TABLE IF NOT EXISTS reminders_archive (
+                                                 id BIGINT PRIMARY KEY,
+                                                 user_id BIGINT NOT NULL,
+                                                 title VARCHAR(255) NOT NULL,
+    description TEXT,
+    remind_at DATETIME NOT NULL,
+    series_id BIGINT,
+    occurrence_at DATETIME,
+    created_at TIMESTAMP NULL,
+    updated_at TIMESTAMP NULL,
+    archived_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE,
+    INDEX idx_user_remind (user_id, remind_at),
+    INDEX idx_remind_at (remind_at)
+    ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+-- ============================================
+-- USER COUNTERS TABLE (Per-user summary counts, maintained with every write and repaired by the reconciler)
+-- ============================================
+CREATE TABLE IF NOT EXISTS user_counters (
+                                             user_id BIGINT PRIMARY KEY,
+                                             tasks_total BIGINT NOT NULL DEFAULT 0,
+                                             tasks_pending BIGINT NOT NULL DEFAULT 0,
+                                             tasks_in_progress BIGINT NOT NULL DEFAULT 0,
+                                             tasks_completed BIGINT NOT NULL DEFAULT 0,
+                                             schedules_total BIGINT NOT NULL DEFAULT 0,
+                                             reminders_pending BIGINT NOT NULL DEFAULT 0,
+                                             reminders_sent BIGINT NOT NULL DEFAULT 0,
+                                             reconciled_at TIMESTAMP NULL,
+                                             updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+                                             FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE,
+    INDEX idx_reconciled (reconciled_at)
+    ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+-- ============================================
+-- DAILY ROLLUPS TABLE (Per-user activity per day, written by the rollup job; read by the trend endpoint)
+-- ============================================
+CREATE TABLE IF NOT EXISTS daily_rollups (
+                                             user_id BIGINT NOT NULL,
+                                             day DATE NOT NULL,
+                                             tasks_created INT NOT NULL DEFAULT 0,
+                                             tasks_completed INT NOT NULL DEFAULT 0,
+                                             reminders_sent INT NOT NULL DEFAULT 0,
+                                             scheduled_minutes INT NOT NULL DEFAULT 0,
+                                             computed_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+                                             PRIMARY KEY (user_id, day),
+                                             FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE,
+    INDEX idx_day (day)
+    ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+-- ============================================
+-- RECURRING SERIES TABLE (Recurrence definitions for tasks/reminders)
+-- ============================================
+CREATE TABLE IF NOT EXISTS recurring_series (
+                                                id BIGINT PRIMARY KEY AUTO_INCREMENT,
+                                                user_id BIGINT NOT NULL,
+                                                item_type VARCHAR(20) NOT NULL,
+    title VARCHAR(255) NOT NULL,
+    description TEXT,
+    priority VARCHAR(50) DEFAULT 'MEDIUM',
+    frequency VARCHAR(20) NOT NULL,
+    interval_count INT NOT NULL DEFAULT 1,
+    starts_at DATETIME NOT NULL,
+    ends_at DATETIME,
+    next_index INT NOT NULL DEFAULT 0,
+    rollover_at DATETIME,
+    active BOOLEAN NOT NULL DEFAULT TRUE,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE,
+    INDEX idx_user_id (user_id),
+    INDEX idx_active_rollover (active, rollover_at)
+    ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+-- ============================================
+-- NOTIFICATION OUTBOX TABLE (Claimed reminders waiting to be delivered)
+-- ============================================
+CREATE TABLE IF NOT EXISTS notification_outbox (
+                                                   id BIGINT PRIMARY KEY AUTO_INCREMENT,
+                                                   reminder_id BIGINT NOT NULL,
+                                                   user_id BIGINT NOT NULL,
+                                                   channel VARCHAR(20) NOT NULL,
+                                                   recipient VARCHAR(1024) NOT NULL,
+    title VARCHAR(255) NOT NULL,
+    description TEXT,
+    remind_at DATETIME NOT NULL,
+    status VARCHAR(20) NOT NULL DEFAULT 'PENDING',
+    attempts INT NOT NULL DEFAULT 0,
+    next_attempt_at DATETIME NOT NULL,
+    last_error VARCHAR(1000),
+    sent_at DATETIME,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE,
+    INDEX idx_reminder_id (reminder_id),
+    INDEX idx_status_channel_next_attempt (status, channel, next_attempt_at)
+    ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+-- ============================================
+-- NOTIFICATION PREFERENCES TABLE (Per-user channel opt-ins; absent row = defaults)
+-- ============================================
+CREATE TABLE IF NOT EXISTS notification_preferences (
+                                                        user_id BIGINT PRIMARY KEY,
+                                                        email_enabled BOOLEAN NOT NULL DEFAULT TRUE,
+                                                        in_app_enabled BOOLEAN NOT NULL DEFAULT TRUE,
+                                                        webhook_enabled BOOLEAN NOT NULL DEFAULT FALSE,
+                                                        webhook_url VARCHAR(1024),
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE
+    ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+-- ============================================
+-- IN-APP NOTIFICATIONS TABLE (Delivered by the in-app channel, read by the web client)
+-- ============================================
+CREATE TABLE IF NOT EXISTS in_app_notifications (
+                                                    id BIGINT PRIMARY KEY AUTO_INCREMENT,
+                                                    user_id BIGINT NOT NULL,
+                                                    reminder_id BIGINT,
+                                                    title VARCHAR(255) NOT NULL,
+    body TEXT,
+    remind_at DATETIME,
+    read_at DATETIME,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE,
+    INDEX idx_user_created (user_id, created_at)
+    ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+-- ============================================
+-- QUARTZ TABLES (Clustered JDBC job store, from tables_mysql_innodb.sql)
+-- Created here rather than by spring.quartz.jdbc.initialize-schema, whose script drops the tables
+-- and would wipe the job state of the rest of the cluster whenever one node starts.
+-- ============================================
+CREATE TABLE IF NOT EXISTS QRTZ_JOB_DETAILS (
+    SCHED_NAME VARCHAR(120) NOT NULL,
+    JOB_NAME VARCHAR(190) NOT NULL,
+    JOB_GROUP VARCHAR(190) NOT NULL,
+    DESCRIPTION VARCHAR(250) NULL,
+    JOB_CLASS_NAME VARCHAR(250) NOT NULL,
+    IS_DURABLE VARCHAR(1) NOT NULL,
+    IS_NONCONCURRENT VARCHAR(1) NOT NULL,
+    IS_UPDATE_DATA VARCHAR(1) NOT NULL,
+    REQUESTS_RECOVERY VARCHAR(1) NOT NULL,
+    JOB_DATA BLOB NULL,
+    PRIMARY KEY (SCHED_NAME, JOB_NAME, JOB_GROUP),
+    INDEX IDX_QRTZ_J_REQ_RECOVERY (SCHED_NAME, REQUESTS_RECOVERY),
+    INDEX IDX_QRTZ_J_GRP (SCHED_NAME, JOB_GROUP)
+    ) ENGINE=InnoDB;
+
+CREATE TABLE IF NOT EXISTS QRTZ_TRIGGERS (
+    SCHED_NAME VARCHAR(120) NOT NULL,
+    TRIGGER_NAME VARCHAR(190) NOT NULL,
+    TRIGGER_GROUP VARCHAR(190) NOT NULL,
+    JOB_NAME VARCHAR(190) NOT NULL,
+    JOB_GROUP VARCHAR(190) NOT NULL,
+    DESCRIPTION VARCHAR(250) NULL,
+    NEXT_FIRE_TIME BIGINT NULL,
+    PREV_FIRE_TIME BIGINT NULL,
+    PRIORITY INTEGER NULL,
+    TRIGGER_STATE VARCHAR(16) NOT NULL,
+    TRIGGER_TYPE VARCHAR(8) NOT NULL,
+    START_TIME BIGINT NOT NULL,
+    END_TIME BIGINT NULL,
+    CALENDAR_NAME VARCHAR(190) NULL,
+    MISFIRE_INSTR SMALLINT NULL,
+    JOB_DATA BLOB NULL,
+    PRIMARY KEY (SCHED_NAME, TRIGGER_NAME, TRIGGER_GROUP),
+    FOREIGN KEY (SCHED_NAME, JOB_NAME, JOB_GROUP) REFERENCES QRTZ_JOB_DETAILS(SCHED_NAME, JOB_NAME, JOB_GROUP),
+    INDEX IDX_QRTZ_T_J (SCHED_NAME, JOB_NAME, JOB_GROUP),
+    INDEX IDX_QRTZ_T_JG (SCHED_NAME, JOB_GROUP),
+    INDEX IDX_QRTZ_T_C (SCHED_NAME, CALENDAR_NAME),
+    INDEX IDX_QRTZ_T_G (SCHED_NAME, TRIGGER_GROUP),
+    INDEX IDX_QRTZ_T_STATE (SCHED_NAME, TRIGGER_STATE),
+    INDEX IDX_QRTZ_T_N_STATE (SCHED_NAME, TRIGGER_NAME, TRIGGER_GROUP, TRIGGER_STATE),
+    INDEX IDX_QRTZ_T_N_G_STATE (SCHED_NAME, TRIGGER_GROUP, TRIGGER_STATE),
+    INDEX IDX_QRTZ_T_NEXT_FIRE_TIME (SCHED_NAME, NEXT_FIRE_TIME),
+    INDEX IDX_QRTZ_T_NFT_ST (SCHED_NAME, TRIGGER_STATE, NEXT_FIRE_TIME),
+    INDEX IDX_QRTZ_T_NFT_MISFIRE (SCHED_NAME, MISFIRE_INSTR, NEXT_FIRE_TIME),
+    INDEX IDX_QRTZ_T_NFT_ST_MISFIRE (SCHED_NAME, MISFIRE_INSTR, NEXT_FIRE_TIME, TRIGGER_STATE),
+    INDEX IDX_QRTZ_T_NFT_ST_MISFIRE_GRP (SCHED_NAME, MISFIRE_INSTR, NEXT_FIRE_TIME, TRIGGER_GROUP, TRIGGER_STATE)
+    ) ENGINE=InnoDB;
+
+CREATE TABLE IF NOT EXISTS QRTZ_SIMPLE_TRIGGERS (
+    SCHED_NAME VARCHAR(120) NOT NULL,
+    TRIGGER_NAME VARCHAR(190) NOT NULL,
+    TRIGGER_GROUP VARCHAR(190) NOT NULL,
+    REPEAT_COUNT BIGINT NOT NULL,
+    REPEAT_INTERVAL BIGINT NOT NULL,
+    TIMES_TRIGGERED BIGINT NOT NULL,
+    PRIMARY KEY (SCHED_NAME, TRIGGER_NAME, TRIGGER_GROUP),
+    FOREIGN KEY (SCHED_NAME, TRIGGER_NAME, TRIGGER_GROUP) REFERENCES QRTZ_TRIGGERS(SCHED_NAME, TRIGGER_NAME, TRIGGER_GROUP)
+    ) ENGINE=InnoDB;
+
+CREATE TABLE IF NOT EXISTS QRTZ_CRON_TRIGGERS (
+    SCHED_NAME VARCHAR(120) NOT NULL,
+    TRIGGER_NAME VARCHAR(190) NOT NULL,
+    TRIGGER_GROUP VARCHAR(190) NOT NULL,
+    CRON_EXPRESSION VARCHAR(120) NOT NULL,
+    TIME_ZONE_ID VARCHAR(80),
+    PRIMARY KEY (SCHED_NAME, TRIGGER_NAME, TRIGGER_GROUP),
+    FOREIGN KEY (SCHED_NAME, TRIGGER_NAME, TRIGGER_GROUP) REFERENCES QRTZ_TRIGGERS(SCHED_NAME, TRIGGER_NAME, TRIGGER_GROUP)
+    ) ENGINE=InnoDB;
+
+CREATE TABLE IF NOT EXISTS QRTZ_SIMPROP_TRIGGERS (
+    SCHED_NAME VARCHAR(120) NOT NULL,
+    TRIGGER_NAME VARCHAR(190) NOT NULL,
+    TRIGGER_GROUP VARCHAR(190) NOT NULL,
+    STR_PROP_1 VARCHAR(512) NULL,
+    STR_PROP_2 VARCHAR(512) NULL,
+    STR_PROP_3 VARCHAR(512) NULL,
+    INT_PROP_1 INT NULL,
+    INT_PROP_2 INT NULL,
+    LONG_PROP_1 BIGINT NULL,
+    LONG_PROP_2 BIGINT NULL,
+    DEC_PROP_1 NUMERIC(13,4) NULL,
+    DEC_PROP_2 NUMERIC(13,4) NULL,
+    BOOL_PROP_1 VARCHAR(1) NULL,
+    BOOL_PROP_2 VARCHAR(1) NULL,
+    PRIMARY KEY (SCHED_NAME, TRIGGER_NAME, TRIGGER_GROUP),
+    FOREIGN KEY (SCHED_NAME, TRIGGER_NAME, TRIGGER_GROUP) REFERENCES QRTZ_TRIGGERS(SCHED_NAME, TRIGGER_NAME, TRIGGER_GROUP)
+    ) ENGINE=InnoDB;
+
+CREATE TABLE IF NOT EXISTS QRTZ_BLOB_TRIGGERS (
+    SCHED_NAME VARCHAR(120) NOT NULL,
+    TRIGGER_NAME VARCHAR(190) NOT NULL,
+    TRIGGER_GROUP VARCHAR(190) NOT NULL,
+    BLOB_DATA BLOB NULL,
+    PRIMARY KEY (SCHED_NAME, TRIGGER_NAME, TRIGGER_GROUP),
+    FOREIGN KEY (SCHED_NAME, TRIGGER_NAME, TRIGGER_GROUP) REFERENCES QRTZ_TRIGGERS(SCHED_NAME, TRIGGER_NAME, TRIGGER_GROUP)
+    ) ENGINE=InnoDB;
+
+CREATE TABLE IF NOT EXISTS QRTZ_CALENDARS (
+    SCHED_NAME VARCHAR(120) NOT NULL,
+    CALENDAR_NAME VARCHAR(190) NOT NULL,
+    CALENDAR BLOB NOT NULL,
+    PRIMARY KEY (SCHED_NAME, CALENDAR_NAME)
+    ) ENGINE=InnoDB;
+
+CREATE TABLE IF NOT EXISTS QRTZ_PAUSED_TRIGGER_GRPS (
+    SCHED_NAME VARCHAR(120) NOT NULL,
+    TRIGGER_GROUP VARCHAR(190) NOT NULL,
+    PRIMARY KEY (SCHED_NAME, TRIGGER_GROUP)
+    ) ENGINE=InnoDB;
+
+CREATE TABLE IF NOT EXISTS QRTZ_FIRED_TRIGGERS (
+    SCHED_NAME VARCHAR(120) NOT NULL,
+    ENTRY_ID VARCHAR(95) NOT NULL,
+    TRIGGER_NAME VARCHAR(190) NOT NULL,
+    TRIGGER_GROUP VARCHAR(190) NOT NULL,
+    INSTANCE_NAME VARCHAR(190) NOT NULL,
+    FIRED_TIME BIGINT NOT NULL,
+    SCHED_TIME BIGINT NOT NULL,
+    PRIORITY INTEGER NOT NULL,
+    STATE VARCHAR(16) NOT NULL,
+    JOB_NAME VARCHAR(190) NULL,
+    JOB_GROUP VARCHAR(190) NULL,
+    IS_NONCONCURRENT VARCHAR(1) NULL,
+    REQUESTS_RECOVERY VARCHAR(1) NULL,
+    PRIMARY KEY (SCHED_NAME, ENTRY_ID),
+    INDEX IDX_QRTZ_FT_TRIG_INST_NAME (SCHED_NAME, INSTANCE_NAME),
+    INDEX IDX_QRTZ_FT_INST_JOB_REQ_RCVRY (SCHED_NAME, INSTANCE_NAME, REQUESTS_RECOVERY),
+    INDEX IDX_QRTZ_FT_J_G (SCHED_NAME, JOB_NAME, JOB_GROUP),
+    INDEX IDX_QRTZ_FT_JG (SCHED_NAME, JOB_GROUP),
+    INDEX IDX_QRTZ_FT_T_G (SCHED_NAME, TRIGGER_NAME, TRIGGER_GROUP),
+    INDEX IDX_QRTZ_FT_TG (SCHED_NAME, TRIGGER_GROUP)
+    ) ENGINE=InnoDB;
+
+CREATE TABLE IF NOT EXISTS QRTZ_SCHEDULER_STATE (
+    SCHED_NAME VARCHAR(120) NOT NULL,
+    INSTANCE_NAME VARCHAR(190) NOT NULL,
+    LAST_CHECKIN_TIME BIGINT NOT NULL,
+    CHECKIN_INTERVAL BIGINT NOT NULL,
+    PRIMARY KEY (SCHED_NAME, INSTANCE_NAME)
+    ) ENGINE=InnoDB;
+
+CREATE TABLE IF NOT EXISTS QRTZ_LOCKS (
+    SCHED_NAME VARCHAR(120) NOT NULL,
+    LOCK_NAME VARCHAR(40) NOT NULL,
+    PRIMARY KEY (SCHED_NAME, LOCK_NAME)
+    ) ENGINE=InnoDB;
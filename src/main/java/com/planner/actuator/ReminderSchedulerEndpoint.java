@@ -0,0 +1,92 @@
+package com.planner.actuator;
+
+import com.planner.dto.response.ReminderSchedulerResponse;
+import com.planner.model.NotificationOutbox;
+import com.planner.repository.NotificationOutboxRepository;
+import com.planner.repository.ReminderDueTime;
+import com.planner.repository.ReminderRepository;
+import com.planner.scheduler.NotificationOutboxRelay;
+import com.planner.scheduler.ReminderBacklogDrainer;
+import com.planner.scheduler.ReminderDispatcher;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * {@code /actuator/scheduler}: what the reminder pipeline on this instance is doing (dispatcher window, last
+ * tick, in-flight deliveries) and how far behind the cluster is (overdue backlog, its oldest reminder and
+ * how long the catch-up drain will take to clear it at the configured rate). The matching time series are
+ * the {@code reminder.*} and {@code notification.*} meters.
+ */
+@Component
+@Endpoint(id = "scheduler")
+public class ReminderSchedulerEndpoint {
+
+    @Autowired
+    private ReminderRepository reminderRepository;
+
+    @Autowired
+    private NotificationOutboxRepository outboxRepository;
+
+    @Autowired
+    private ReminderBacklogDrainer backlogDrainer;
+
+    @Autowired
+    private ReminderDispatcher reminderDispatcher;
+
+    @Autowired
+    private NotificationOutboxRelay outboxRelay;
+
+    @ReadOperation
+    public ReminderSchedulerResponse status() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime cutoff = backlogDrainer.getCutoff(now);
+        LocalDateTime staleBefore = backlogDrainer.getStaleBefore(now);
+
+        long backlog = reminderRepository.countByIsSentFalseAndRemindAtBefore(cutoff);
+        long stale = backlog > 0 ? reminderRepository.countByIsSentFalseAndRemindAtBefore(staleBefore) : 0;
+        long staleMessages = switch (backlogDrainer.getStalePolicy()) {
+            case SEND -> stale;
+            case DIGEST -> stale > 0 ? reminderRepository.countUsersWithUnsentDueBefore(staleBefore) : 0;
+            case SKIP -> 0;
+        };
+        long messages = backlog - stale + staleMessages;
+        LocalDateTime oldestDueAt = backlog > 0
+                ? reminderRepository.findFirstByIsSentFalseAndRemindAtBeforeOrderByRemindAtAsc(cutoff)
+                        .map(ReminderDueTime::getRemindAt).orElse(null)
+                : null;
+
+        return ReminderSchedulerResponse.builder()
+                .backlog(backlog)
+                .staleBacklog(stale)
+                .oldestDueAt(oldestDueAt)
+                .oldestDueLagSeconds(oldestDueAt != null ? Duration.between(oldestDueAt, now).toSeconds() : null)
+                .stalePolicy(backlogDrainer.getStalePolicy().name())
+                .catchUpRate(backlogDrainer.getRate())
+                .estimatedMessages(messages)
+                .etaSeconds((long) Math.ceil(messages / backlogDrainer.getRate()))
+                .catchUpRunning(backlogDrainer.isRunning())
+                .catchUpStartedAt(backlogDrainer.getRunStartedAt())
+                .catchUpFinishedAt(backlogDrainer.getRunFinishedAt())
+                .catchUpSent(backlogDrainer.getRunSent())
+                .catchUpCollapsed(backlogDrainer.getRunCollapsed())
+                .catchUpSkipped(backlogDrainer.getRunSkipped())
+                .queued(reminderDispatcher.getQueuedCount())
+                .loadedUntil(reminderDispatcher.getHorizon())
+                .lastRefillAt(reminderDispatcher.getLastRefillAt())
+                .dueUnsent(reminderDispatcher.getDueUnsent())
+                .lastTick(reminderDispatcher.getLastTick())
+                .totalClaimed(reminderDispatcher.getTotalClaimed())
+                .totalFailed(reminderDispatcher.getTotalFailed())
+                .inFlight(outboxRelay.getInFlight())
+                .outboxPending(outboxRepository.countByStatus(NotificationOutbox.PENDING))
+                .relaySent(outboxRelay.getTotalSent())
+                .relayRetried(outboxRelay.getTotalRetried())
+                .relayDeadLettered(outboxRelay.getTotalDeadLettered())
+                .build();
+    }
+}
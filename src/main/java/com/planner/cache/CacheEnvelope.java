@@ -0,0 +1,21 @@
+package com.planner.cache;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * A cached value with what early refresh needs to know about it: how long it took to compute and when its
+ * shared copy expires (epoch millis). Values cached before envelopes existed carry neither.
+ */
+@Getter
+@AllArgsConstructor
+public class CacheEnvelope {
+
+    private final Object value;
+    private final long computeMillis;
+    private final long expiresAtMillis;
+
+    public static CacheEnvelope of(Object cached) {
+        return cached instanceof CacheEnvelope envelope ? envelope : new CacheEnvelope(cached, 0, Long.MAX_VALUE);
+    }
+}
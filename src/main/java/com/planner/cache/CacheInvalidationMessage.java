@@ -0,0 +1,20 @@
+package com.planner.cache;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Cache entries evicted after a commit on node {@code origin}, broadcast so the other nodes drop them too.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CacheInvalidationMessage {
+
+    private String origin;
+    private Map<String, List<String>> keys;
+}
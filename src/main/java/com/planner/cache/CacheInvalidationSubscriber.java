@@ -0,0 +1,31 @@
+package com.planner.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Receives cache invalidations broadcast by any node and applies them to this one.
+ */
+@Component
+@Slf4j
+public class CacheInvalidationSubscriber implements MessageListener {
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private CacheInvalidator cacheInvalidator;
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        try {
+            cacheInvalidator.onRemoteInvalidation(objectMapper.readValue(message.getBody(), CacheInvalidationMessage.class));
+        } catch (Exception e) {
+            log.error("Cannot handle cache invalidation from Redis", e);
+        }
+    }
+}
@@ -0,0 +1,233 @@
+package com.planner.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.planner.event.ChangeType;
+import com.planner.event.CountersChangedEvent;
+import com.planner.event.DomainChangeEvent;
+import com.planner.event.ReminderChangedEvent;
+import com.planner.event.ScheduleChangedEvent;
+import com.planner.event.TaskChangedEvent;
+import com.planner.service.CalendarFeedService;
+import com.planner.service.CalendarService;
+import com.planner.service.WeekWindow;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.redis.cache.RedisCache;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Maps committed domain changes to the exact cache entries they make stale, so writes no longer wipe every
+ * per-user cache and the dashboards no longer sit out their TTL.
+ *
+ * Runs after commit: an entry evicted earlier could be re-cached from the old state by a concurrent read.
+ * The originating node evicts the entries from the cache manager and broadcasts them on
+ * {@code cache.invalidation.channel}; the other nodes drop their node-local (L1) copies, while entries in the
+ * shared Redis tier are already gone.
+ *
+ * Which entries a change reaches:
+ * <ul>
+ *     <li>the user's list of that item type, always;</li>
+ *     <li>task/reminder stats and the stats dashboard when the user's counts move (create, delete, status);</li>
+ *     <li>today's dashboard when the counts move or the change touches today (schedules: the coming week,
+ *     which its summary counts);</li>
+ *     <li>the weekly dashboard when the change touches the coming seven days;</li>
+ *     <li>the month grids showing a touched day (not when a reminder is sent), and the subscription feed.</li>
+ * </ul>
+ * Dashboards are keyed by user and date (see {@link DashboardKeyGenerator}), so only today's entries are
+ * evicted.
+ */
+@Component
+@Slf4j
+public class CacheInvalidator {
+
+    private final String nodeId = UUID.randomUUID().toString();
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private CalendarService calendarService;
+
+    @Autowired
+    private CalendarFeedService calendarFeedService;
+
+    @Autowired
+    private StringRedisTemplate redisTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${cache.invalidation.channel:planner:cache-invalidation}")
+    private String channel;
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        LocalDate today = LocalDate.now();
+        Map<String, Set<Object>> keys = new LinkedHashMap<>();
+        Long userId = event.getUserId();
+
+        add(keys, "user-tasks", userId);
+        if (event.changesCounts()) {
+            add(keys, "task-stats", userId);
+            addDashboard(keys, "dashboard-stats", userId, today);
+        }
+        if (event.changesCounts() || event.getDays().contains(today)) {
+            addDashboard(keys, "dashboard-today", userId, today);
+        }
+        if (touchesWeek(event, today)) {
+            addDashboard(keys, "dashboard-week", userId, today);
+        }
+        invalidateCalendar(keys, event);
+        evict(keys);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onScheduleChanged(ScheduleChangedEvent event) {
+        LocalDate today = LocalDate.now();
+        Map<String, Set<Object>> keys = new LinkedHashMap<>();
+        Long userId = event.getUserId();
+
+        add(keys, "user-schedules", userId);
+        // The today and week schedule counts are part of both summaries
+        boolean touchesWeek = touchesWeek(event, today);
+        if (event.changesCounts() || touchesWeek) {
+            addDashboard(keys, "dashboard-today", userId, today);
+            addDashboard(keys, "dashboard-stats", userId, today);
+        }
+        if (touchesWeek) {
+            addDashboard(keys, "dashboard-week", userId, today);
+        }
+        invalidateCalendar(keys, event);
+        evict(keys);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onReminderChanged(ReminderChangedEvent event) {
+        Map<String, Set<Object>> keys = new LinkedHashMap<>();
+        Long userId = event.getUserId();
+
+        add(keys, "user-reminders", userId);
+        if (event.getType() == ChangeType.ARCHIVED) {
+            // Archived reminders leave the hot table (and so the feed) but still count as sent
+            evict(keys);
+            calendarFeedService.touch(userId);
+            return;
+        }
+
+        LocalDate today = LocalDate.now();
+        if (event.changesCounts()) {
+            add(keys, "reminder-stats", userId);
+            addDashboard(keys, "dashboard-stats", userId, today);
+        }
+        if (event.changesCounts() || event.getDays().contains(today)) {
+            addDashboard(keys, "dashboard-today", userId, today);
+        }
+        if (touchesWeek(event, today)) {
+            addDashboard(keys, "dashboard-week", userId, today);
+        }
+        // Month counts include sent reminders, so marking them sent changes no grid; the feed drops their alarm
+        if (event.getType() != ChangeType.STATUS_CHANGED) {
+            invalidateCalendar(keys, event);
+        } else {
+            calendarFeedService.touch(userId);
+        }
+        evict(keys);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCountersChanged(CountersChangedEvent event) {
+        LocalDate today = LocalDate.now();
+        Map<String, Set<Object>> keys = new LinkedHashMap<>();
+        add(keys, "task-stats", event.getUserId());
+        add(keys, "reminder-stats", event.getUserId());
+        addDashboard(keys, "dashboard-today", event.getUserId(), today);
+        addDashboard(keys, "dashboard-stats", event.getUserId(), today);
+        evict(keys);
+    }
+
+    /**
+     * Applies an invalidation broadcast by another node. Shared (Redis) caches were already evicted there,
+     * so only node-local caches and the local tier of two-level caches are touched.
+     */
+    void onRemoteInvalidation(CacheInvalidationMessage message) {
+        if (nodeId.equals(message.getOrigin())) {
+            return;
+        }
+        message.getKeys().forEach((cacheName, cacheKeys) -> {
+            Cache cache = cacheManager.getCache(cacheName);
+            if (cache instanceof TwoLevelCache twoLevel) {
+                cacheKeys.forEach(twoLevel::evictLocal);
+            } else if (cache != null && !(cache instanceof RedisCache)) {
+                cacheKeys.forEach(cache::evict);
+            }
+        });
+    }
+
+    private void invalidateCalendar(Map<String, Set<Object>> keys, DomainChangeEvent event) {
+        calendarFeedService.touch(event.getUserId());
+        if (!event.getDays().isEmpty()) {
+            keys.computeIfAbsent(CalendarService.MONTH_CACHE, name -> new LinkedHashSet<>())
+                    .addAll(calendarService.monthKeys(event.getUserId(), event.getDays()));
+        }
+    }
+
+    private static boolean touchesWeek(DomainChangeEvent event, LocalDate today) {
+        WeekWindow week = WeekWindow.startingOn(today);
+        return event.getDays().stream().anyMatch(week::contains);
+    }
+
+    // Only today's entry can still be read; earlier days' entries expired at their midnight
+    private static void addDashboard(Map<String, Set<Object>> keys, String cacheName, Long userId, LocalDate today) {
+        add(keys, cacheName, DashboardKeyGenerator.key(userId, today));
+    }
+
+    private static void add(Map<String, Set<Object>> keys, String cacheName, Object key) {
+        keys.computeIfAbsent(cacheName, name -> new LinkedHashSet<>()).add(key);
+    }
+
+    private void evict(Map<String, Set<Object>> keys) {
+        Map<String, List<String>> broadcast = new LinkedHashMap<>();
+        keys.forEach((cacheName, cacheKeys) -> {
+            Cache cache = cacheManager.getCache(cacheName);
+            List<String> evicted = new ArrayList<>(cacheKeys.size());
+            for (Object key : cacheKeys) {
+                try {
+                    if (cache != null) {
+                        cache.evict(key);
+                    }
+                } catch (Exception e) {
+                    // The entry expires with its TTL; the write itself is already committed
+                    log.warn("⚠️ Failed to evict {}::{}: {}", cacheName, key, e.getMessage());
+                }
+                evicted.add(String.valueOf(key));
+            }
+            broadcast.put(cacheName, evicted);
+        });
+        publish(new CacheInvalidationMessage(nodeId, broadcast));
+    }
+
+    private void publish(CacheInvalidationMessage message) {
+        try {
+            redisTemplate.convertAndSend(channel, objectMapper.writeValueAsString(message));
+        } catch (JsonProcessingException e) {
+            log.error("Cannot serialize cache invalidation", e);
+        } catch (Exception e) {
+            log.warn("Failed to broadcast cache invalidation: {}", e.getMessage());
+        }
+    }
+}
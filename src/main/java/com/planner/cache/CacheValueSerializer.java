@@ -0,0 +1,147 @@
+package com.planner.cache;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import lombok.extern.slf4j.Slf4j;
+import net.jpountz.lz4.LZ4Compressor;
+import net.jpountz.lz4.LZ4Factory;
+import net.jpountz.lz4.LZ4SafeDecompressor;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Serializes the values of one cache as Smile (binary JSON) of the cache's declared type, so no class names
+ * are written and nothing but that type can be read back. Payloads of at least {@code compressionThreshold}
+ * bytes are LZ4-compressed when that makes them smaller.
+ *
+ * Every payload starts with a format byte ({@code 0}: Smile, {@code 1}: LZ4 followed by the uncompressed
+ * length). Formats {@code 2} and {@code 3} are the same for a {@link CacheEnvelope}, whose compute time and
+ * expiry precede the value and which reads back as an envelope. A payload in any other format, such as an entry
+ * written before the format changed, reads as a miss.
+ */
+@Slf4j
+public class CacheValueSerializer implements RedisSerializer<Object> {
+
+    private static final byte SMILE = 0;
+    private static final byte SMILE_LZ4 = 1;
+    private static final byte ENVELOPE = 2;
+    private static final byte ENVELOPE_LZ4 = 3;
+    private static final int ENVELOPE_BYTES = 2 * Long.BYTES;
+
+    private static final LZ4Factory LZ4 = LZ4Factory.fastestInstance();
+
+    private final JavaType type;
+    private final ObjectWriter writer;
+    private final ObjectReader reader;
+    private final int compressionThreshold;
+    private final LZ4Compressor compressor = LZ4.fastCompressor();
+    private final LZ4SafeDecompressor decompressor = LZ4.safeDecompressor();
+
+    /**
+     * @param compressionThreshold payload size from which to compress; {@code 0} never compresses
+     */
+    public CacheValueSerializer(ObjectMapper smileMapper, JavaType type, int compressionThreshold) {
+        this.type = type;
+        this.writer = smileMapper.writerFor(type);
+        this.reader = smileMapper.readerFor(type);
+        this.compressionThreshold = compressionThreshold;
+    }
+
+    // Tolerates added and removed fields, so a response change does not need a format change
+    public static ObjectMapper smileMapper() {
+        ObjectMapper mapper = new ObjectMapper(new SmileFactory());
+        mapper.registerModule(new JavaTimeModule());
+        mapper.disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        return mapper;
+    }
+
+    @Override
+    public byte[] serialize(Object value) throws SerializationException {
+        if (value == null) {
+            return new byte[0];
+        }
+        CacheEnvelope envelope = value instanceof CacheEnvelope e ? e : null;
+        byte[] smile;
+        try {
+            smile = writer.writeValueAsBytes(envelope != null ? envelope.getValue() : value);
+        } catch (IOException e) {
+            throw new SerializationException("Cannot serialize " + type, e);
+        }
+        int header = 1 + (envelope != null ? ENVELOPE_BYTES : 0);
+
+        if (compressionThreshold > 0 && smile.length >= compressionThreshold) {
+            int offset = header + Integer.BYTES;
+            byte[] compressed = new byte[offset + compressor.maxCompressedLength(smile.length)];
+            int length = compressor.compress(smile, 0, smile.length, compressed, offset);
+            if (offset + length < header + smile.length) {
+                ByteBuffer buffer = ByteBuffer.wrap(compressed).put(envelope != null ? ENVELOPE_LZ4 : SMILE_LZ4);
+                putEnvelope(buffer, envelope);
+                buffer.putInt(smile.length);
+                return Arrays.copyOf(compressed, offset + length);
+            }
+        }
+
+        byte[] payload = new byte[header + smile.length];
+        putEnvelope(ByteBuffer.wrap(payload).put(envelope != null ? ENVELOPE : SMILE), envelope);
+        System.arraycopy(smile, 0, payload, header, smile.length);
+        return payload;
+    }
+
+    @Override
+    public Object deserialize(byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(bytes);
+            return switch (buffer.get()) {
+                case SMILE -> readSmile(buffer);
+                case SMILE_LZ4 -> readLz4(buffer);
+                case ENVELOPE -> {
+                    long computeMillis = buffer.getLong();
+                    long expiresAtMillis = buffer.getLong();
+                    yield new CacheEnvelope(readSmile(buffer), computeMillis, expiresAtMillis);
+                }
+                case ENVELOPE_LZ4 -> {
+                    long computeMillis = buffer.getLong();
+                    long expiresAtMillis = buffer.getLong();
+                    yield new CacheEnvelope(readLz4(buffer), computeMillis, expiresAtMillis);
+                }
+                default -> {
+                    log.warn("⚠️ Ignoring cached {} in an unknown format", type);
+                    yield null;
+                }
+            };
+        } catch (Exception e) {
+            // Treated as a miss; the value is recomputed and overwritten
+            log.warn("⚠️ Cannot read cached {}: {}", type, e.getMessage());
+            return null;
+        }
+    }
+
+    private Object readSmile(ByteBuffer buffer) throws IOException {
+        return reader.readValue(buffer.array(), buffer.position(), buffer.remaining());
+    }
+
+    private Object readLz4(ByteBuffer buffer) throws IOException {
+        int length = buffer.getInt();
+        byte[] smile = new byte[length];
+        decompressor.decompress(buffer.array(), buffer.position(), buffer.remaining(), smile, 0, length);
+        return reader.readValue(smile);
+    }
+
+    private static void putEnvelope(ByteBuffer buffer, CacheEnvelope envelope) {
+        if (envelope != null) {
+            buffer.putLong(envelope.getComputeMillis()).putLong(envelope.getExpiresAtMillis());
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.planner.cache;
+
+import com.planner.dto.response.DashboardResponse;
+import com.planner.dto.response.ReminderResponse;
+import com.planner.dto.response.WeeklyDashboardResponse;
+import org.springframework.data.redis.cache.RedisCacheWriter;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Expires a cached dashboard when the clock would change it: at the next midnight, when its key's date is
+ * over, or earlier when one of its unsent reminders comes due and leaves the list.
+ *
+ * Writes still evict dashboards as they happen (see {@link CacheInvalidator}); this only covers changes that
+ * no write announces, so an idle user's dashboards are computed once a day. The schedule lists and counts
+ * cover whole days and change with nothing but the date.
+ */
+public class DashboardExpiry implements RedisCacheWriter.TtlFunction {
+
+    // A zero TTL would make the entry persistent
+    private static final Duration MIN_TTL = Duration.ofSeconds(1);
+
+    private final Clock clock;
+
+    public DashboardExpiry() {
+        this(Clock.systemDefaultZone());
+    }
+
+    DashboardExpiry(Clock clock) {
+        this.clock = clock;
+    }
+
+    @Override
+    public Duration getTimeToLive(Object key, Object value) {
+        LocalDateTime now = LocalDateTime.now(clock);
+        LocalDateTime expiry = LocalDate.now(clock).plusDays(1).atStartOfDay();
+
+        if (value instanceof DashboardResponse today) {
+            expiry = nextReminderDue(today.getReminders(), now, expiry);
+        } else if (value instanceof WeeklyDashboardResponse week && week.getDailyData() != null) {
+            for (WeeklyDashboardResponse.DayData day : week.getDailyData().values()) {
+                expiry = nextReminderDue(day.getReminders(), now, expiry);
+            }
+        }
+
+        Duration ttl = Duration.between(now, expiry);
+        return ttl.compareTo(MIN_TTL) < 0 ? MIN_TTL : ttl;
+    }
+
+    private static LocalDateTime nextReminderDue(Collection<ReminderResponse> reminders, LocalDateTime now,
+                                                 LocalDateTime expiry) {
+        for (ReminderResponse reminder : reminders != null ? reminders : List.<ReminderResponse>of()) {
+            LocalDateTime due = reminder.getRemindAt();
+            if (due != null && due.isAfter(now) && due.isBefore(expiry)) {
+                expiry = due;
+            }
+        }
+        return expiry;
+    }
+}
@@ -0,0 +1,26 @@
+package com.planner.cache;
+
+import org.springframework.cache.interceptor.KeyGenerator;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.time.LocalDate;
+
+/**
+ * Keys the dashboard caches by user and local date, so the first request after midnight misses instead of
+ * being served yesterday's dashboard. The cached methods take the user id as their first argument.
+ */
+@Component(DashboardKeyGenerator.NAME)
+public class DashboardKeyGenerator implements KeyGenerator {
+
+    public static final String NAME = "dashboardKeyGenerator";
+
+    @Override
+    public Object generate(Object target, Method method, Object... params) {
+        return key(params[0], LocalDate.now());
+    }
+
+    public static String key(Object userId, LocalDate day) {
+        return userId + ":" + day;
+    }
+}
@@ -0,0 +1,111 @@
+package com.planner.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Cluster-wide side of cache miss handling, shared by all {@link TwoLevelCache}s: a short Redis lock so only one
+ * node computes a missing entry while the others wait for its result, and the XFetch rule for refreshing an
+ * entry before it expires.
+ *
+ * The lock is only an optimisation. It expires on its own after {@code lockTtl}, a node that waited
+ * {@code lockWait} in vain computes the value itself, and a node that cannot reach Redis computes without it.
+ */
+@Slf4j
+public class StampedeGuard {
+
+    // Deletes the lock only if this node still holds it
+    private static final RedisScript<Long> UNLOCK = new DefaultRedisScript<>(
+            "if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('del', KEYS[1]) else return 0 end",
+            Long.class);
+
+    private static final String LOCK_PREFIX = "cache-lock:";
+    private static final String UNLOCKED = "";
+
+    private final StringRedisTemplate redisTemplate;
+    private final Duration lockTtl;
+    private final Duration lockWait;
+    private final Duration pollInterval;
+    private final double earlyRefreshBeta;
+    private final Executor refreshExecutor;
+
+    /**
+     * @param earlyRefreshBeta how eagerly entries are refreshed ahead of expiry (XFetch's beta); {@code 0}
+     *                         disables early refresh
+     */
+    public StampedeGuard(StringRedisTemplate redisTemplate, Duration lockTtl, Duration lockWait,
+                         Duration pollInterval, double earlyRefreshBeta, Executor refreshExecutor) {
+        this.redisTemplate = redisTemplate;
+        this.lockTtl = lockTtl;
+        this.lockWait = lockWait;
+        this.pollInterval = pollInterval;
+        this.earlyRefreshBeta = earlyRefreshBeta;
+        this.refreshExecutor = refreshExecutor;
+    }
+
+    /**
+     * @return a token to {@link #unlock} with, or {@code null} while another node holds the lock
+     */
+    public String tryLock(String cacheName, String key) {
+        if (redisTemplate == null) {
+            return UNLOCKED;
+        }
+        String token = UUID.randomUUID().toString();
+        try {
+            Boolean acquired = redisTemplate.opsForValue().setIfAbsent(lockKey(cacheName, key), token, lockTtl);
+            return Boolean.FALSE.equals(acquired) ? null : token;
+        } catch (Exception e) {
+            log.warn("⚠️ Cannot take cache load lock for {}::{}: {}", cacheName, key, e.getMessage());
+            return UNLOCKED;
+        }
+    }
+
+    public void unlock(String cacheName, String key, String token) {
+        if (token == null || token.equals(UNLOCKED)) {
+            return;
+        }
+        try {
+            redisTemplate.execute(UNLOCK, List.of(lockKey(cacheName, key)), token);
+        } catch (Exception e) {
+            // Expires with its TTL
+            log.warn("⚠️ Cannot release cache load lock for {}::{}: {}", cacheName, key, e.getMessage());
+        }
+    }
+
+    /**
+     * XFetch: an entry that took {@code computeMillis} to compute is refreshed with a probability that rises
+     * towards its expiry, the sooner the longer it takes to compute, so one of its many readers refreshes it
+     * before it expires and none of them misses.
+     */
+    public boolean shouldRefreshEarly(CacheEnvelope entry, long nowMillis) {
+        if (earlyRefreshBeta <= 0 || entry.getComputeMillis() <= 0) {
+            return false;
+        }
+        double gap = -entry.getComputeMillis() * earlyRefreshBeta * Math.log(1 - ThreadLocalRandom.current().nextDouble());
+        return nowMillis + gap >= entry.getExpiresAtMillis();
+    }
+
+    public Duration getLockWait() {
+        return lockWait;
+    }
+
+    public Duration getPollInterval() {
+        return pollInterval;
+    }
+
+    public Executor getRefreshExecutor() {
+        return refreshExecutor;
+    }
+
+    private static String lockKey(String cacheName, String key) {
+        return LOCK_PREFIX + cacheName + "::" + key;
+    }
+}
@@ -0,0 +1,413 @@
+package com.planner.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+import org.springframework.data.redis.cache.RedisCacheWriter;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Predicate;
+
+/**
+ * A node-local Caffeine cache (L1) in front of a shared Redis cache (L2). Reads try L1 first and fill it from
+ * L2; writes and evictions go to both.
+ *
+ * L1 keys are the string form of the cache key, the same form Redis and the invalidation broadcasts use.
+ * An L1 entry never outlives {@code l1Ttl}, nor the TTL its L2 copy was given, so a lost invalidation
+ * message leaves a node stale for at most {@code l1Ttl}. L1 hands every caller the same instance, so cached
+ * results must be treated as read-only.
+ *
+ * Misses through {@link #get(Object, Callable)} ({@code @Cacheable(sync = true)}) are loaded once: concurrent
+ * callers on this node wait for the one load in flight, and other nodes wait for it through the
+ * {@link StampedeGuard}'s lock. Entries are stored in a {@link CacheEnvelope}, and a read that XFetch picks
+ * refreshes its entry in the background before it expires.
+ */
+@Slf4j
+public class TwoLevelCache implements Cache {
+
+    private static final int GENERATION_STRIPES = 1024;
+
+    // Comfortably longer than an eviction broadcast takes to arrive from another node
+    private static final long REMOTE_EVICTION_GRACE_NANOS = TimeUnit.SECONDS.toNanos(5);
+
+    private final String name;
+    private final Cache l2;
+    private final com.github.benmanes.caffeine.cache.Cache<String, CacheEnvelope> l1;
+    private final RedisCacheWriter.TtlFunction ttl;
+    private final Predicate<Object> storable;
+    private final StampedeGuard stampedeGuard;
+
+    private final ConcurrentMap<String, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+
+    /**
+     * Invalidation generations, striped by key: every eviction bumps its key's stripe, and a load only stores
+     * its value if the stripe did not move while it ran. Otherwise the value may predate a committed write
+     * whose eviction has already happened, and storing it would undo that eviction until the entry expires.
+     * The stripe is checked again once the value is stored, and the entry evicted if an eviction raced the
+     * store. Keys sharing a stripe only cost each other a skipped store.
+     *
+     * Generations are per node, and another node's eviction only moves them once its broadcast arrives, by
+     * which time its L2 eviction may have been overwritten by a load stored here. So a broadcast that arrives
+     * within {@link #REMOTE_EVICTION_GRACE_NANOS} of such a store evicts L2 again; {@code storedAt} holds
+     * when each stripe last had a loaded value stored.
+     */
+    private final AtomicLongArray generations = new AtomicLongArray(GENERATION_STRIPES);
+    private final AtomicLongArray storedAt = new AtomicLongArray(GENERATION_STRIPES);
+
+    private final Counter l1Hits;
+    private final Counter l1Misses;
+    private final Counter l2Hits;
+    private final Counter l2Misses;
+    private final Counter loaded;
+    private final Counter coalesced;
+    private final Counter loadedElsewhere;
+    private final Counter refreshed;
+    private final Counter discarded;
+
+    /**
+     * @param ttl      the TTL of an entry's shared copy, which its envelope records
+     * @param storable values the loader returns that may be cached; others are only handed to the callers
+     */
+    public TwoLevelCache(String name, Cache l2, long l1MaximumSize, Duration l1Ttl, RedisCacheWriter.TtlFunction ttl,
+                         Predicate<Object> storable, StampedeGuard stampedeGuard, MeterRegistry meterRegistry) {
+        this.name = name;
+        this.l2 = l2;
+        this.ttl = ttl;
+        this.storable = storable;
+        this.stampedeGuard = stampedeGuard;
+        this.l1 = Caffeine.newBuilder()
+                .maximumSize(l1MaximumSize)
+                .expireAfter(new L1Expiry(l1Ttl))
+                .build();
+
+        this.l1Hits = getCounter(meterRegistry, "l1", "hit");
+        this.l1Misses = getCounter(meterRegistry, "l1", "miss");
+        this.l2Hits = getCounter(meterRegistry, "l2", "hit");
+        this.l2Misses = getCounter(meterRegistry, "l2", "miss");
+        hitRatioGauge(meterRegistry, "l1", l1Hits, l1Misses);
+        hitRatioGauge(meterRegistry, "l2", l2Hits, l2Misses);
+        Gauge.builder("cache.tier.size", l1, com.github.benmanes.caffeine.cache.Cache::estimatedSize)
+                .description("Entries in the node-local tier")
+                .tag("cache", name)
+                .register(meterRegistry);
+
+        this.loaded = loadCounter(meterRegistry, "loaded");
+        this.coalesced = loadCounter(meterRegistry, "coalesced");
+        this.loadedElsewhere = loadCounter(meterRegistry, "loaded-elsewhere");
+        this.refreshed = loadCounter(meterRegistry, "refreshed");
+        this.discarded = loadCounter(meterRegistry, "discarded");
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return l2.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        CacheEnvelope entry = lookup(key, localKey(key));
+        return entry != null ? new SimpleValueWrapper(entry.getValue()) : null;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        ValueWrapper wrapper = get(key);
+        Object value = wrapper != null ? wrapper.get() : null;
+        if (value != null && type != null && !type.isInstance(value)) {
+            throw new IllegalStateException("Cached value is not of required type [" + type.getName() + "]: " + value);
+        }
+        return (T) value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        String localKey = localKey(key);
+        CacheEnvelope entry = lookup(key, localKey);
+        if (entry != null) {
+            if (stampedeGuard.shouldRefreshEarly(entry, System.currentTimeMillis())) {
+                refreshAsync(key, localKey, entry, valueLoader);
+            }
+            return (T) entry.getValue();
+        }
+
+        CompletableFuture<Object> flight = new CompletableFuture<>();
+        CompletableFuture<Object> leader = inFlight.putIfAbsent(localKey, flight);
+        if (leader != null) {
+            coalesced.increment();
+            return (T) await(leader, key, valueLoader);
+        }
+        try {
+            Object value = loadAcrossNodes(key, localKey, valueLoader);
+            flight.complete(value);
+            return (T) value;
+        } catch (RuntimeException | Error e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(localKey, flight);
+        }
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        if (value == null) {
+            evict(key);
+            return;
+        }
+        store(key, localKey(key), value, 0);
+    }
+
+    @Override
+    public void evict(Object key) {
+        String localKey = localKey(key);
+        generations.incrementAndGet(stripe(localKey));
+        l2.evict(key);
+        l1.invalidate(localKey);
+    }
+
+    @Override
+    public void clear() {
+        for (int i = 0; i < GENERATION_STRIPES; i++) {
+            generations.incrementAndGet(i);
+        }
+        l2.clear();
+        l1.invalidateAll();
+    }
+
+    // Applies another node's eviction; L2 is shared and already evicted there, unless a load here stored over it
+    public void evictLocal(Object key) {
+        String localKey = localKey(key);
+        int stripe = stripe(localKey);
+        generations.incrementAndGet(stripe);
+        long lastStore = storedAt.get(stripe);
+        if (lastStore != 0 && System.nanoTime() - lastStore < REMOTE_EVICTION_GRACE_NANOS) {
+            l2.evict(key);
+        }
+        l1.invalidate(localKey);
+    }
+
+    private CacheEnvelope lookup(Object key, String localKey) {
+        CacheEnvelope local = l1.getIfPresent(localKey);
+        if (local != null) {
+            l1Hits.increment();
+            return local;
+        }
+        l1Misses.increment();
+
+        ValueWrapper shared = l2.get(key);
+        if (shared == null || shared.get() == null) {
+            l2Misses.increment();
+            return null;
+        }
+        l2Hits.increment();
+        CacheEnvelope entry = CacheEnvelope.of(shared.get());
+        l1.put(localKey, entry);
+        return entry;
+    }
+
+    /**
+     * Computes the value under the cluster-wide lock; while another node holds it, waits for that node's value
+     * to appear in L2 and only computes here if it does not arrive in time.
+     */
+    private Object loadAcrossNodes(Object key, String localKey, Callable<?> valueLoader) {
+        String token = stampedeGuard.tryLock(name, localKey);
+        if (token == null) {
+            CacheEnvelope entry = awaitShared(key, localKey);
+            if (entry != null) {
+                loadedElsewhere.increment();
+                return entry.getValue();
+            }
+        }
+        try {
+            return loadAndStore(key, localKey, valueLoader);
+        } finally {
+            stampedeGuard.unlock(name, localKey, token);
+        }
+    }
+
+    private CacheEnvelope awaitShared(Object key, String localKey) {
+        long deadline = System.nanoTime() + stampedeGuard.getLockWait().toNanos();
+        try {
+            while (System.nanoTime() < deadline) {
+                Thread.sleep(stampedeGuard.getPollInterval().toMillis());
+                ValueWrapper shared = l2.get(key);
+                if (shared != null && shared.get() != null) {
+                    CacheEnvelope entry = CacheEnvelope.of(shared.get());
+                    l1.put(localKey, entry);
+                    return entry;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return null;
+    }
+
+    private Object loadAndStore(Object key, String localKey, Callable<?> valueLoader) {
+        int stripe = stripe(localKey);
+        long generation = generations.get(stripe);
+        long start = System.nanoTime();
+        Object value;
+        try {
+            value = valueLoader.call();
+        } catch (Exception e) {
+            throw new ValueRetrievalException(key, valueLoader, e);
+        }
+        loaded.increment();
+        if (value == null || !storable.test(value)) {
+            return value;
+        }
+        if (generations.get(stripe) != generation) {
+            // Evicted while loading; the callers still get the value, the next read loads it afresh
+            discarded.increment();
+            return value;
+        }
+        // Recorded before the put, so a broadcast arriving meanwhile either sees it or moves the generation
+        storedAt.set(stripe, System.nanoTime());
+        store(key, localKey, value, Math.max(1, Duration.ofNanos(System.nanoTime() - start).toMillis()));
+        if (generations.get(stripe) != generation) {
+            // Evicted while storing; the eviction may have reached L2 before this put did
+            l2.evict(key);
+            l1.invalidate(localKey);
+            discarded.increment();
+        }
+        return value;
+    }
+
+    private void store(Object key, String localKey, Object value, long computeMillis) {
+        Duration entryTtl = ttl.getTimeToLive(key, value);
+        CacheEnvelope entry = new CacheEnvelope(value, computeMillis, System.currentTimeMillis() + entryTtl.toMillis());
+        l2.put(key, entry);
+        l1.put(localKey, entry);
+    }
+
+    /**
+     * Recomputes a still-valid entry on the refresh executor. Skipped when a load of the key is already in
+     * flight here, when another node is refreshing it, or when the executor is saturated; readers keep the
+     * current value meanwhile.
+     */
+    private void refreshAsync(Object key, String localKey, CacheEnvelope current, Callable<?> valueLoader) {
+        CompletableFuture<Object> flight = new CompletableFuture<>();
+        if (inFlight.putIfAbsent(localKey, flight) != null) {
+            return;
+        }
+        try {
+            stampedeGuard.getRefreshExecutor().execute(() -> {
+                String token = stampedeGuard.tryLock(name, localKey);
+                try {
+                    if (token != null) {
+                        flight.complete(loadAndStore(key, localKey, valueLoader));
+                        refreshed.increment();
+                    }
+                } catch (Exception e) {
+                    log.warn("⚠️ Early refresh of {}::{} failed: {}", name, localKey, e.getMessage());
+                } finally {
+                    stampedeGuard.unlock(name, localKey, token);
+                    flight.complete(current.getValue());
+                    inFlight.remove(localKey, flight);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            flight.complete(current.getValue());
+            inFlight.remove(localKey, flight);
+        }
+    }
+
+    private static Object await(CompletableFuture<Object> leader, Object key, Callable<?> valueLoader) {
+        try {
+            return leader.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new ValueRetrievalException(key, valueLoader, e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ValueRetrievalException(key, valueLoader, e);
+        }
+    }
+
+    private static String localKey(Object key) {
+        return String.valueOf(key);
+    }
+
+    private static int stripe(String localKey) {
+        return (localKey.hashCode() & Integer.MAX_VALUE) % GENERATION_STRIPES;
+    }
+
+    private Counter getCounter(MeterRegistry registry, String tier, String result) {
+        return Counter.builder("cache.tier.gets")
+                .description("Cache lookups by tier; an L1 miss is an L2 lookup")
+                .tag("cache", name)
+                .tag("tier", tier)
+                .tag("result", result)
+                .register(registry);
+    }
+
+    private Counter loadCounter(MeterRegistry registry, String outcome) {
+        return Counter.builder("cache.loads")
+                .description("Cache misses by how they were answered")
+                .tag("cache", name)
+                .tag("outcome", outcome)
+                .register(registry);
+    }
+
+    private void hitRatioGauge(MeterRegistry registry, String tier, Counter hits, Counter misses) {
+        Gauge.builder("cache.tier.hit.ratio", () -> {
+                    double total = hits.count() + misses.count();
+                    return total > 0 ? hits.count() / total : 0;
+                })
+                .description("Share of lookups answered by the tier since start")
+                .tag("cache", name)
+                .tag("tier", tier)
+                .register(registry);
+    }
+
+    private static final class L1Expiry implements Expiry<String, CacheEnvelope> {
+        private final long l1TtlNanos;
+
+        private L1Expiry(Duration l1Ttl) {
+            this.l1TtlNanos = l1Ttl.toNanos();
+        }
+
+        @Override
+        public long expireAfterCreate(String key, CacheEnvelope entry, long currentTime) {
+            // Entries without an envelope expire "never", so compare in millis before converting
+            long sharedMillis = entry.getExpiresAtMillis() - System.currentTimeMillis();
+            if (sharedMillis >= TimeUnit.NANOSECONDS.toMillis(l1TtlNanos)) {
+                return l1TtlNanos;
+            }
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(0, sharedMillis));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, CacheEnvelope entry, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, entry, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, CacheEnvelope entry, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
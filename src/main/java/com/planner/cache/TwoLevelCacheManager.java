@@ -0,0 +1,69 @@
+package com.planner.cache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.redis.cache.RedisCacheWriter;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+/**
+ * Wraps every cache of the shared (Redis) cache manager in a {@link TwoLevelCache}. Node-local copies are kept
+ * coherent by {@link CacheInvalidator}, which broadcasts every eviction so the other nodes drop their L1 entry.
+ * All caches share one {@link StampedeGuard}.
+ */
+public class TwoLevelCacheManager implements CacheManager {
+
+    private final CacheManager l2Manager;
+    private final long l1MaximumSize;
+    private final Duration l1Ttl;
+    private final Map<String, RedisCacheWriter.TtlFunction> ttls;
+    private final RedisCacheWriter.TtlFunction defaultTtl;
+    private final Map<String, Predicate<Object>> storable;
+    private final StampedeGuard stampedeGuard;
+    private final MeterRegistry meterRegistry;
+
+    private final Map<String, TwoLevelCache> caches = new ConcurrentHashMap<>();
+
+    /**
+     * @param ttls     the entry TTLs of caches that do not use {@code defaultTtl}
+     * @param storable for caches that do not cache every loaded value, which values they do cache
+     */
+    public TwoLevelCacheManager(CacheManager l2Manager, long l1MaximumSize, Duration l1Ttl,
+                                Map<String, RedisCacheWriter.TtlFunction> ttls, RedisCacheWriter.TtlFunction defaultTtl,
+                                Map<String, Predicate<Object>> storable, StampedeGuard stampedeGuard,
+                                MeterRegistry meterRegistry) {
+        this.l2Manager = l2Manager;
+        this.l1MaximumSize = l1MaximumSize;
+        this.l1Ttl = l1Ttl;
+        this.ttls = ttls;
+        this.defaultTtl = defaultTtl;
+        this.storable = storable;
+        this.stampedeGuard = stampedeGuard;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        TwoLevelCache cache = caches.get(name);
+        if (cache != null) {
+            return cache;
+        }
+        Cache l2 = l2Manager.getCache(name);
+        if (l2 == null) {
+            return null;
+        }
+        return caches.computeIfAbsent(name, n -> new TwoLevelCache(n, l2, l1MaximumSize, l1Ttl,
+                ttls.getOrDefault(n, defaultTtl), storable.getOrDefault(n, value -> true), stampedeGuard, meterRegistry));
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return Collections.unmodifiableSet(caches.keySet());
+    }
+}
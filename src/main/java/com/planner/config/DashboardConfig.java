@@ -0,0 +1,39 @@
+package com.planner.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * Executor for the dashboard's concurrent reads. Every task holds a pooled JDBC connection while it runs,
+ * so the thread count is what a burst of dashboard requests can take out of the Hikari pool at once; it is
+ * capped at half of {@code maximum-pool-size} to leave the rest to request threads, Quartz and the reminder
+ * pipeline. Work beyond the queue is rejected rather than run on the caller, so a burst degrades to partial
+ * dashboards instead of more connections.
+ */
+@Configuration
+@Slf4j
+public class DashboardConfig {
+
+    @Bean
+    public ThreadPoolTaskExecutor dashboardExecutor(
+            @Value("${dashboard.fan-out.threads:4}") int threads,
+            @Value("${dashboard.fan-out.queue-capacity:100}") int queueCapacity,
+            @Value("${spring.datasource.hikari.maximum-pool-size:10}") int maxPoolSize) {
+        int poolSize = Math.max(1, Math.min(threads, maxPoolSize / 2));
+        if (poolSize < threads) {
+            log.warn("⚠️ dashboard.fan-out.threads={} exceeds half of the {} pooled connections, using {}",
+                    threads, maxPoolSize, poolSize);
+        }
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("dashboard-");
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.initialize();
+        return executor;
+    }
+}
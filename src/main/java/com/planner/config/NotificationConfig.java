@@ -0,0 +1,99 @@
+package com.planner.config;
+
+import com.planner.notification.PooledJavaMailSender;
+import com.planner.notification.SmtpConnectionPool;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.mail.MailProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.time.Duration;
+import java.util.Properties;
+
+/**
+ * One bounded executor per notification channel. The pool size is the channel's concurrency limit, so a
+ * slow channel only ever backs up its own queue.
+ */
+@Configuration
+@EnableConfigurationProperties(MailProperties.class)
+public class NotificationConfig {
+
+    @Bean
+    public ThreadPoolTaskExecutor emailNotificationExecutor(
+            @Value("${notification.email.max-concurrency:4}") int maxConcurrency,
+            @Value("${notification.email.queue-capacity:10000}") int queueCapacity) {
+        return channelExecutor("notify-email-", maxConcurrency, queueCapacity);
+    }
+
+    @Bean
+    public ThreadPoolTaskExecutor consoleNotificationExecutor() {
+        // Single thread keeps the multi-line console banners from interleaving
+        return channelExecutor("notify-console-", 1, 10000);
+    }
+
+    @Bean
+    public ThreadPoolTaskExecutor inAppNotificationExecutor(
+            @Value("${notification.in-app.max-concurrency:2}") int maxConcurrency) {
+        return channelExecutor("notify-inapp-", maxConcurrency, 10000);
+    }
+
+    /**
+     * Only runs the shared HttpClient's completion callbacks; requests themselves are non-blocking, so a
+     * couple of threads serve any number of in-flight webhooks. Unbounded queue because the HttpClient
+     * cannot cope with rejected tasks; the relay's per-channel in-flight limit bounds it instead.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor webhookNotificationExecutor() {
+        return channelExecutor("notify-webhook-", 2, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Replaces Boot's per-message-connection JavaMailSender with one that keeps a few authenticated SMTP
+     * connections open. Sized to the email executor so every sender thread can hold a connection.
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "spring.mail", name = "host")
+    public PooledJavaMailSender mailSender(
+            MailProperties mailProperties,
+            MeterRegistry meterRegistry,
+            @Value("${notification.email.pool.max-connections:${notification.email.max-concurrency:4}}") int maxConnections,
+            @Value("${notification.email.pool.max-messages-per-connection:100}") int maxMessagesPerConnection,
+            @Value("${notification.email.pool.validate-after:PT30S}") Duration validateAfter,
+            @Value("${notification.email.pool.max-idle:PT2M}") Duration maxIdle,
+            @Value("${notification.email.pool.borrow-timeout:PT30S}") Duration borrowTimeout) {
+        PooledJavaMailSender sender = new PooledJavaMailSender();
+        sender.setHost(mailProperties.getHost());
+        if (mailProperties.getPort() != null) {
+            sender.setPort(mailProperties.getPort());
+        }
+        sender.setUsername(mailProperties.getUsername());
+        sender.setPassword(mailProperties.getPassword());
+        sender.setProtocol(mailProperties.getProtocol());
+        if (mailProperties.getDefaultEncoding() != null) {
+            sender.setDefaultEncoding(mailProperties.getDefaultEncoding().name());
+        }
+        Properties javaMailProperties = new Properties();
+        javaMailProperties.putAll(mailProperties.getProperties());
+        sender.setJavaMailProperties(javaMailProperties);
+
+        sender.setPool(new SmtpConnectionPool(sender::openTransport, maxConnections, maxMessagesPerConnection,
+                validateAfter, maxIdle, borrowTimeout, meterRegistry));
+        return sender;
+    }
+
+    private ThreadPoolTaskExecutor channelExecutor(String threadNamePrefix, int concurrency, int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix(threadNamePrefix);
+        executor.setCorePoolSize(concurrency);
+        executor.setMaxPoolSize(concurrency);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        executor.initialize();
+        return executor;
+    }
+}
@@ -1,25 +1,33 @@
 package com.planner.config;
 
+import com.planner.scheduler.DailyRollupJob;
+import com.planner.scheduler.DashboardWarmupJob;
+import com.planner.scheduler.RecurrenceRolloverJob;
+import com.planner.scheduler.ReminderArchiveJob;
 import com.planner.scheduler.ReminderSchedulerJob;
+import com.planner.scheduler.UserCounterReconcileJob;
 import org.quartz.*;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
 @Configuration
 public class QuartzConfig {
 
+    public static final String DAILY_ROLLUP_JOB = "dailyRollupJob";
+
     @Bean
     public JobDetail reminderJobDetail() {
         return JobBuilder.newJob(ReminderSchedulerJob.class)
                 .withIdentity("reminderJob")
-                .withDescription("Check and send pending reminders")
+                .withDescription("Drain overdue reminders at the catch-up rate")
                 .storeDurably()
                 .build();
     }
 
     @Bean
     public Trigger reminderJobTrigger() {
-        // Run every 1 minute
+        // Run every 1 minute; a drain that takes longer simply delays the next one
         SimpleScheduleBuilder scheduleBuilder = SimpleScheduleBuilder
                 .simpleSchedule()
                 .withIntervalInMinutes(1)
@@ -28,11 +36,126 @@ public class QuartzConfig {
         return TriggerBuilder.newTrigger()
                 .forJob(reminderJobDetail())
                 .withIdentity("reminderTrigger")
-                .withDescription("Trigger to check reminders every minute")
+                .withDescription("Trigger to check for overdue reminders every minute")
+                .withSchedule(scheduleBuilder)
+                .build();
+    }
+
+    @Bean
+    public JobDetail recurrenceRolloverJobDetail() {
+        return JobBuilder.newJob(RecurrenceRolloverJob.class)
+                .withIdentity("recurrenceRolloverJob")
+                .withDescription("Materialize upcoming instances of recurring tasks and reminders")
+                .storeDurably()
+                .build();
+    }
+
+    @Bean
+    public Trigger recurrenceRolloverJobTrigger() {
+        // Run every 5 minutes; series keep several instances ahead, so this only needs to beat the next occurrence
+        SimpleScheduleBuilder scheduleBuilder = SimpleScheduleBuilder
+                .simpleSchedule()
+                .withIntervalInMinutes(5)
+                .repeatForever();
+
+        return TriggerBuilder.newTrigger()
+                .forJob(recurrenceRolloverJobDetail())
+                .withIdentity("recurrenceRolloverTrigger")
+                .withDescription("Trigger to roll over recurring series every 5 minutes")
+                .withSchedule(scheduleBuilder)
+                .build();
+    }
+
+    @Bean
+    public JobDetail reminderArchiveJobDetail() {
+        return JobBuilder.newJob(ReminderArchiveJob.class)
+                .withIdentity("reminderArchiveJob")
+                .withDescription("Move sent reminders past the retention period to reminders_archive")
+                .storeDurably()
+                .build();
+    }
+
+    @Bean
+    public Trigger reminderArchiveJobTrigger() {
+        // Run every hour; each run only has to move what aged past the retention period since the last one
+        SimpleScheduleBuilder scheduleBuilder = SimpleScheduleBuilder
+                .simpleSchedule()
+                .withIntervalInHours(1)
+                .repeatForever();
+
+        return TriggerBuilder.newTrigger()
+                .forJob(reminderArchiveJobDetail())
+                .withIdentity("reminderArchiveTrigger")
+                .withDescription("Trigger to archive sent reminders every hour")
+                .withSchedule(scheduleBuilder)
+                .build();
+    }
+
+    @Bean
+    public JobDetail userCounterReconcileJobDetail() {
+        return JobBuilder.newJob(UserCounterReconcileJob.class)
+                .withIdentity("userCounterReconcileJob")
+                .withDescription("Recount users' summary counters and repair drift")
+                .storeDurably()
+                .build();
+    }
+
+    @Bean
+    public Trigger userCounterReconcileJobTrigger() {
+        // Run every 10 minutes; each run only recounts one batch of users
+        SimpleScheduleBuilder scheduleBuilder = SimpleScheduleBuilder
+                .simpleSchedule()
+                .withIntervalInMinutes(10)
+                .repeatForever();
+
+        return TriggerBuilder.newTrigger()
+                .forJob(userCounterReconcileJobDetail())
+                .withIdentity("userCounterReconcileTrigger")
+                .withDescription("Trigger to reconcile user counters every 10 minutes")
                 .withSchedule(scheduleBuilder)
                 .build();
     }
 
+    @Bean
+    public JobDetail dashboardWarmupJobDetail() {
+        return JobBuilder.newJob(DashboardWarmupJob.class)
+                .withIdentity("dashboardWarmupJob")
+                .withDescription("Pre-compute recently active users' dashboards before the morning peak")
+                .storeDurably()
+                .build();
+    }
+
+    @Bean
+    public Trigger dashboardWarmupJobTrigger(@Value("${dashboard.warmup.cron:0 0 6 * * ?}") String cron) {
+        // Once a day, after the dashboards' cache day has turned over; a missed run is skipped, not caught up
+        return TriggerBuilder.newTrigger()
+                .forJob(dashboardWarmupJobDetail())
+                .withIdentity("dashboardWarmupTrigger")
+                .withDescription("Trigger to warm dashboards of active users every morning")
+                .withSchedule(CronScheduleBuilder.cronSchedule(cron).withMisfireHandlingInstructionDoNothing())
+                .build();
+    }
+
+    @Bean
+    public JobDetail dailyRollupJobDetail() {
+        return JobBuilder.newJob(DailyRollupJob.class)
+                .withIdentity(DAILY_ROLLUP_JOB)
+                .withDescription("Roll up users' activity of the days that just ended; backfills on demand")
+                .storeDurably()
+                .build();
+    }
+
+    @Bean
+    public Trigger dailyRollupJobTrigger(@Value("${rollup.cron:0 15 0 * * ?}") String cron) {
+        // Shortly after midnight; a missed run is covered by the next one's lookback
+        return TriggerBuilder.newTrigger()
+                .forJob(dailyRollupJobDetail())
+                .withIdentity("dailyRollupTrigger")
+                .withDescription("Trigger to roll up the previous day every night")
+                .withSchedule(CronScheduleBuilder.cronSchedule(cron).withMisfireHandlingInstructionDoNothing())
+                .build();
+    }
+
     // Alternative: Use Cron expression for more control
     // @Bean
     // public Trigger reminderJobCronTrigger() {
@@ -0,0 +1,41 @@
+package com.planner.config;
+
+import com.planner.realtime.RedisEventSubscriber;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+public class RealtimeConfig {
+
+    @Bean
+    public RedisMessageListenerContainer realtimeEventListenerContainer(
+            RedisConnectionFactory connectionFactory,
+            RedisEventSubscriber subscriber,
+            @Value("${realtime.events.channel:planner:events}") String channel) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(subscriber, new ChannelTopic(channel));
+        return container;
+    }
+
+    /**
+     * Writes events and heartbeats to SSE connections. Small and bounded: a write to a healthy client is a
+     * few microseconds, and events for a saturated node are dropped rather than queued without limit.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor eventStreamExecutor(
+            @Value("${realtime.events.writer-threads:4}") int threads) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("event-stream-");
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(50000);
+        executor.initialize();
+        return executor;
+    }
+}
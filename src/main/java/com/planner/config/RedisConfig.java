@@ -1,57 +1,193 @@
 package com.planner.config;
 
-import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import com.fasterxml.jackson.databind.JavaType;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.SerializationFeature;
-import com.fasterxml.jackson.databind.jsontype.BasicPolymorphicTypeValidator;
-import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.fasterxml.jackson.databind.type.TypeFactory;
+import com.planner.cache.CacheEnvelope;
+import com.planner.cache.CacheInvalidationSubscriber;
+import com.planner.cache.CacheValueSerializer;
+import com.planner.cache.DashboardExpiry;
+import com.planner.cache.StampedeGuard;
+import com.planner.cache.TwoLevelCacheManager;
+import com.planner.dto.response.CalendarMonthResponse;
+import com.planner.dto.response.DashboardResponse;
+import com.planner.dto.response.ProductivityStatsResponse;
+import com.planner.dto.response.ReminderResponse;
+import com.planner.dto.response.ReminderStatsResponse;
+import com.planner.dto.response.ScheduleResponse;
+import com.planner.dto.response.TaskResponse;
+import com.planner.dto.response.TaskStatsResponse;
+import com.planner.dto.response.WeeklyDashboardResponse;
+import com.planner.service.CalendarService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.cache.CacheKeyPrefix;
 import org.springframework.data.redis.cache.RedisCacheConfiguration;
 import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.cache.RedisCacheWriter;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
-import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.RedisSerializationContext;
+import org.springframework.data.redis.serializer.RedisSerializer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
 import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
 
 @Configuration
 @EnableCaching
 public class RedisConfig {
 
-    @Bean
-    public RedisCacheManager cacheManager(RedisConnectionFactory connectionFactory) {
-        // Configure ObjectMapper for Redis serialization
-        ObjectMapper objectMapper = new ObjectMapper();
-        objectMapper.registerModule(new JavaTimeModule());
-        objectMapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
-
-        // Enable default typing for polymorphic deserialization
-        objectMapper.activateDefaultTyping(
-                BasicPolymorphicTypeValidator.builder()
-                        .allowIfBaseType(Object.class)
-                        .build(),
-                ObjectMapper.DefaultTyping.NON_FINAL,
-                JsonTypeInfo.As.PROPERTY
-        );
-
-        GenericJackson2JsonRedisSerializer serializer =
-                new GenericJackson2JsonRedisSerializer(objectMapper);
+    private static final String KEY_PREFIX = "v2:";
+
+    private static final List<String> DASHBOARD_CACHES = List.of("dashboard-today", "dashboard-week", "dashboard-stats");
+
+    @Value("${cache.ttl.default:PT12H}")
+    private Duration defaultTtl;
+
+    @Value("${cache.compression.threshold:2048}")
+    private int compressionThreshold;
+
+    @Value("${cache.l1.maximum-size:10000}")
+    private long l1MaximumSize;
+
+    @Value("${cache.l1.ttl:PT1M}")
+    private Duration l1Ttl;
+
+    @Value("${cache.stampede.lock-ttl:PT5S}")
+    private Duration lockTtl;
 
+    @Value("${cache.stampede.lock-wait:PT3S}")
+    private Duration lockWait;
+
+    @Value("${cache.stampede.poll-interval:PT0.05S}")
+    private Duration pollInterval;
+
+    @Value("${cache.stampede.early-refresh-beta:1.0}")
+    private double earlyRefreshBeta;
+
+    /**
+     * Redis (L2) shared by all nodes, fronted on each node by a bounded Caffeine L1 (see
+     * {@link TwoLevelCacheManager}). Writes evict exactly the entries they change (see {@code CacheInvalidator}),
+     * so TTLs are only a safety net; dashboards, which also age with the clock, expire when the clock changes
+     * them (see {@link DashboardExpiry}). Values are stored as compact binary of each cache's declared type (see
+     * {@link CacheValueSerializer}).
+     *
+     * Misses are loaded once across the cluster and hot entries refreshed before they expire (see
+     * {@link StampedeGuard}). Each entry's envelope records its expiry, which Redis then applies.
+     */
+    @Bean
+    public CacheManager cacheManager(RedisConnectionFactory connectionFactory, StringRedisTemplate redisTemplate,
+                                     ThreadPoolTaskExecutor cacheRefreshExecutor, MeterRegistry meterRegistry) {
+        RedisCacheWriter.TtlFunction defaultTtlFunction = RedisCacheWriter.TtlFunction.just(defaultTtl);
         RedisCacheConfiguration config = RedisCacheConfiguration.defaultCacheConfig()
-                .entryTtl(Duration.ofMinutes(5))  // 5 minutes cache
+                .entryTtl(envelopeTtl(defaultTtlFunction))
+                // Entries of the earlier JSON format live under the old prefix until they expire
+                .computePrefixWith(CacheKeyPrefix.prefixed(KEY_PREFIX))
                 .serializeKeysWith(
                         RedisSerializationContext.SerializationPair.fromSerializer(new StringRedisSerializer())
                 )
-                .serializeValuesWith(
-                        RedisSerializationContext.SerializationPair.fromSerializer(serializer)
-                )
                 .disableCachingNullValues();
 
-        return RedisCacheManager.builder(connectionFactory)
+        ObjectMapper smileMapper = CacheValueSerializer.smileMapper();
+        DashboardExpiry dashboardExpiry = new DashboardExpiry();
+        Map<String, RedisCacheWriter.TtlFunction> ttls = new HashMap<>();
+        // Only the declared caches exist, so a new @Cacheable fails fast until its value type is added here
+        RedisCacheManager.RedisCacheManagerBuilder builder = RedisCacheManager.builder(connectionFactory)
                 .cacheDefaults(config)
-                .build();
+                .disableCreateOnMissingCache();
+        cacheValueTypes(smileMapper.getTypeFactory()).forEach((name, type) -> {
+            RedisCacheConfiguration cacheConfig = config.serializeValuesWith(
+                    RedisSerializationContext.SerializationPair.fromSerializer(
+                            new CacheValueSerializer(smileMapper, type, compressionThreshold)));
+            if (DASHBOARD_CACHES.contains(name)) {
+                cacheConfig = cacheConfig.entryTtl(envelopeTtl(dashboardExpiry));
+                ttls.put(name, dashboardExpiry);
+            }
+            builder.withCacheConfiguration(name, cacheConfig);
+        });
+        RedisCacheManager redisCacheManager = builder.build();
+        redisCacheManager.initializeCaches();
+
+        // A dashboard missing a section that timed out is served, but not cached
+        Map<String, Predicate<Object>> storable = Map.of(
+                "dashboard-today", value -> !(value instanceof DashboardResponse dashboard && dashboard.isPartial()));
+        StampedeGuard stampedeGuard = new StampedeGuard(redisTemplate, lockTtl, lockWait, pollInterval,
+                earlyRefreshBeta, cacheRefreshExecutor);
+
+        return new TwoLevelCacheManager(redisCacheManager, l1MaximumSize, l1Ttl, ttls, defaultTtlFunction,
+                storable, stampedeGuard, meterRegistry);
+    }
+
+    /**
+     * Early refreshes of hot cache entries. Refreshes beyond the queue are skipped, and the entry is then
+     * refreshed by a later read or recomputed once it expires.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor cacheRefreshExecutor(
+            @Value("${cache.stampede.refresh-threads:2}") int threads,
+            @Value("${cache.stampede.refresh-queue-capacity:100}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("cache-refresh-");
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.initialize();
+        return executor;
+    }
+
+    // Redis keeps an entry until the expiry its envelope records; bare values get the cache's own TTL
+    private static RedisCacheWriter.TtlFunction envelopeTtl(RedisCacheWriter.TtlFunction fallback) {
+        return (key, value) -> value instanceof CacheEnvelope envelope
+                ? Duration.ofMillis(Math.max(1000, envelope.getExpiresAtMillis() - System.currentTimeMillis()))
+                : fallback.getTimeToLive(key, value);
+    }
+
+    // What each cache holds, which is all its serializer will write or read
+    private static Map<String, JavaType> cacheValueTypes(TypeFactory types) {
+        Map<String, JavaType> cacheTypes = new LinkedHashMap<>();
+        cacheTypes.put("user-tasks", types.constructCollectionType(List.class, TaskResponse.class));
+        cacheTypes.put("task-stats", types.constructType(TaskStatsResponse.class));
+        cacheTypes.put("user-schedules", types.constructCollectionType(List.class, ScheduleResponse.class));
+        cacheTypes.put("user-reminders", types.constructCollectionType(List.class, ReminderResponse.class));
+        cacheTypes.put("reminder-stats", types.constructType(ReminderStatsResponse.class));
+        cacheTypes.put(CalendarService.MONTH_CACHE, types.constructType(CalendarMonthResponse.class));
+        cacheTypes.put("dashboard-today", types.constructType(DashboardResponse.class));
+        cacheTypes.put("dashboard-week", types.constructType(WeeklyDashboardResponse.class));
+        cacheTypes.put("dashboard-stats", types.constructType(ProductivityStatsResponse.class));
+        return cacheTypes;
+    }
+
+    @Bean
+    public RedisMessageListenerContainer cacheInvalidationListenerContainer(
+            RedisConnectionFactory connectionFactory,
+            CacheInvalidationSubscriber subscriber,
+            @Value("${cache.invalidation.channel:planner:cache-invalidation}") String channel) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(subscriber, new ChannelTopic(channel));
+        return container;
+    }
+
+    @Bean
+    public RedisTemplate<String, byte[]> byteArrayRedisTemplate(RedisConnectionFactory connectionFactory) {
+        // Raw bytes for pre-serialized payloads (e.g. rendered calendar feeds) that are written out as-is
+        RedisTemplate<String, byte[]> template = new RedisTemplate<>();
+        template.setConnectionFactory(connectionFactory);
+        template.setKeySerializer(new StringRedisSerializer());
+        template.setValueSerializer(RedisSerializer.byteArray());
+        return template;
     }
 }
\ No newline at end of file
@@ -0,0 +1,56 @@
+package com.planner.controller;
+
+import com.planner.dto.response.OutboxEntryResponse;
+import com.planner.dto.response.OutboxStatsResponse;
+import com.planner.service.NotificationOutboxService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/admin/notifications")
+@Tag(name = "Admin: Notifications", description = "Notification outbox inspection and dead-letter replay")
+@SecurityRequirement(name = "bearerAuth")
+public class AdminNotificationController {
+
+    @Autowired
+    private NotificationOutboxService outboxService;
+
+    @GetMapping("/stats")
+    @Operation(summary = "Get outbox counts by status and relay totals")
+    public ResponseEntity<OutboxStatsResponse> getStats() {
+        return ResponseEntity.ok(outboxService.getStats());
+    }
+
+    @GetMapping("/dead-letters")
+    @Operation(summary = "List dead-lettered notifications, most recent first")
+    public ResponseEntity<Page<OutboxEntryResponse>> getDeadLetters(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "50") int size) {
+        return ResponseEntity.ok(outboxService.getDeadLetters(page, size));
+    }
+
+    @GetMapping("/{id}")
+    @Operation(summary = "Get outbox entry by ID")
+    public ResponseEntity<OutboxEntryResponse> getEntry(@PathVariable Long id) {
+        return ResponseEntity.ok(outboxService.getEntry(id));
+    }
+
+    @PostMapping("/dead-letters/{id}/replay")
+    @Operation(summary = "Re-queue a dead-lettered notification")
+    public ResponseEntity<OutboxEntryResponse> replayDeadLetter(@PathVariable Long id) {
+        return ResponseEntity.ok(outboxService.replayDeadLetter(id));
+    }
+
+    @PostMapping("/dead-letters/replay")
+    @Operation(summary = "Re-queue every dead-lettered notification")
+    public ResponseEntity<Map<String, Integer>> replayAllDeadLetters() {
+        return ResponseEntity.ok(Map.of("replayed", outboxService.replayAllDeadLetters()));
+    }
+}
@@ -0,0 +1,34 @@
+package com.planner.controller;
+
+import com.planner.service.DailyRollupService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/admin/rollups")
+@Tag(name = "Admin: Rollups", description = "Daily activity rollup backfill")
+@SecurityRequirement(name = "bearerAuth")
+public class AdminRollupController {
+
+    @Autowired
+    private DailyRollupService dailyRollupService;
+
+    @PostMapping("/backfill")
+    @Operation(summary = "Roll up past days in the background, one day per transaction",
+            description = "Rolls up [from, to]; `to` defaults to and is capped at yesterday, and `from` may go back at most "
+                    + DailyRollupService.MAX_TREND_DAYS + " days. Safe to repeat.")
+    public ResponseEntity<Map<String, LocalDate>> backfill(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        LocalDate end = dailyRollupService.backfill(from, to);
+        return ResponseEntity.accepted().body(Map.of("from", from, "to", end));
+    }
+}
@@ -0,0 +1,88 @@
+package com.planner.controller;
+
+import com.planner.dto.response.CalendarFeedResponse;
+import com.planner.dto.response.CalendarMonthResponse;
+import com.planner.exception.ResourceNotFoundException;
+import com.planner.repository.UserRepository;
+import com.planner.service.CalendarFeedService;
+import com.planner.service.CalendarService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.nio.charset.StandardCharsets;
+
+@RestController
+@RequestMapping("/api/calendar")
+@Tag(name = "Calendar", description = "Calendar View APIs")
+@SecurityRequirement(name = "bearerAuth")
+public class CalendarController {
+
+    @Autowired
+    private CalendarService calendarService;
+
+    @Autowired
+    private CalendarFeedService calendarFeedService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private Long getCurrentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        String email = authentication.getName();
+        return userRepository.findByEmail(email)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found"))
+                .getId();
+    }
+
+    @GetMapping("/month")
+    @Operation(summary = "Get month view",
+            description = "Returns per-day task, schedule and reminder counts for the 42-day grid of the given month")
+    public ResponseEntity<CalendarMonthResponse> getMonthView(@RequestParam int year, @RequestParam int month) {
+        Long userId = getCurrentUserId();
+        CalendarMonthResponse response = calendarService.getMonthView(userId, year, month);
+        return ResponseEntity.ok(response);
+    }
+
+    @PostMapping("/feed-token")
+    @Operation(summary = "Create or rotate the calendar subscription feed",
+            description = "Returns a secret .ics URL for external calendar apps; any previous URL stops working")
+    public ResponseEntity<CalendarFeedResponse> rotateFeedToken() {
+        Long userId = getCurrentUserId();
+        String token = calendarFeedService.rotateFeedToken(userId);
+        String url = ServletUriComponentsBuilder.fromCurrentContextPath()
+                .path("/api/calendar/feed/{token}.ics")
+                .buildAndExpand(token)
+                .toUriString();
+        return ResponseEntity.ok(CalendarFeedResponse.builder().token(token).url(url).build());
+    }
+
+    @GetMapping(value = "/feed/{token}.ics", produces = "text/calendar")
+    @Operation(summary = "iCalendar subscription feed",
+            description = "Public, token-authenticated feed of schedules, dated tasks and reminders. Supports If-None-Match/If-Modified-Since")
+    public ResponseEntity<StreamingResponseBody> getFeed(@PathVariable String token, WebRequest webRequest) {
+        CalendarFeedService.FeedState state = calendarFeedService.resolve(token);
+        String etag = "\"" + state.getRevision() + "\"";
+
+        if (webRequest.checkNotModified(etag, state.getLastModified())) {
+            // 304 and validators are already set on the response
+            return null;
+        }
+
+        StreamingResponseBody body = out -> calendarFeedService.writeFeed(state, out);
+        return ResponseEntity.ok()
+                .contentType(new MediaType("text", "calendar", StandardCharsets.UTF_8))
+                .cacheControl(CacheControl.noCache())
+                .body(body);
+    }
+}
@@ -2,9 +2,11 @@ package com.planner.controller;
 
 import com.planner.dto.response.DashboardResponse;
 import com.planner.dto.response.ProductivityStatsResponse;
+import com.planner.dto.response.ProductivityTrendResponse;
 import com.planner.dto.response.WeeklyDashboardResponse;
 import com.planner.exception.ResourceNotFoundException;
 import com.planner.repository.UserRepository;
+import com.planner.service.DailyRollupService;
 import com.planner.service.DashboardService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
@@ -15,6 +17,7 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 @RestController
@@ -26,6 +29,9 @@ public class DashboardController {
     @Autowired
     private DashboardService dashboardService;
 
+    @Autowired
+    private DailyRollupService dailyRollupService;
+
     @Autowired
     private UserRepository userRepository;
 
@@ -63,4 +69,13 @@ public class DashboardController {
         ProductivityStatsResponse response = dashboardService.getProductivityStats(userId);
         return ResponseEntity.ok(response);
     }
+
+    @GetMapping("/trends")
+    @Operation(summary = "Get productivity trend",
+            description = "Returns tasks created/completed, reminders sent and scheduled minutes per day for the last N complete days (e.g. 7, 30 or 90)")
+    public ResponseEntity<ProductivityTrendResponse> getProductivityTrend(@RequestParam(defaultValue = "30") int days) {
+        Long userId = getCurrentUserId();
+        ProductivityTrendResponse response = dailyRollupService.getTrend(userId, days);
+        return ResponseEntity.ok(response);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,63 @@
+package com.planner.controller;
+
+import com.planner.dto.response.StreamTokenResponse;
+import com.planner.exception.ResourceNotFoundException;
+import com.planner.realtime.EventStreamRegistry;
+import com.planner.repository.UserRepository;
+import com.planner.security.JwtTokenProvider;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+@RequestMapping("/api/events")
+@Tag(name = "Events", description = "Server-Sent Events stream of reminder and data changes")
+@SecurityRequirement(name = "bearerAuth")
+public class EventController {
+
+    @Autowired
+    private EventStreamRegistry registry;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JwtTokenProvider tokenProvider;
+
+    private Long getCurrentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        String email = authentication.getName();
+        return userRepository.findByEmail(email)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found"))
+                .getId();
+    }
+
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Open an event stream (reminder.due, task.*, schedule.*, reminder.*, recurrence.*)",
+            description = "Authenticates with the Authorization header or, for browsers' EventSource, with a " +
+                    "stream token from POST /api/events/token as the access_token parameter")
+    public SseEmitter streamEvents() {
+        return registry.register(getCurrentUserId());
+    }
+
+    @PostMapping("/token")
+    @Operation(summary = "Issue a short-lived token that only opens the event stream",
+            description = "Needed again for every new EventSource, including after the stream times out")
+    public ResponseEntity<StreamTokenResponse> issueStreamToken() {
+        String email = SecurityContextHolder.getContext().getAuthentication().getName();
+        return ResponseEntity.ok(StreamTokenResponse.builder()
+                .token(tokenProvider.generateStreamToken(email))
+                .expiresInSeconds(tokenProvider.getStreamExpiration() / 1000)
+                .build());
+    }
+}
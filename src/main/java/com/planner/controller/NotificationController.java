@@ -0,0 +1,89 @@
+package com.planner.controller;
+
+import com.planner.dto.request.NotificationPreferenceRequest;
+import com.planner.dto.response.InAppNotificationResponse;
+import com.planner.dto.response.NotificationPreferenceResponse;
+import com.planner.exception.ResourceNotFoundException;
+import com.planner.repository.UserRepository;
+import com.planner.service.InAppNotificationService;
+import com.planner.service.NotificationPreferenceService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/notifications")
+@Tag(name = "Notifications", description = "In-app notifications and channel preferences")
+@SecurityRequirement(name = "bearerAuth")
+public class NotificationController {
+
+    @Autowired
+    private InAppNotificationService inAppNotificationService;
+
+    @Autowired
+    private NotificationPreferenceService preferenceService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private Long getCurrentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        String email = authentication.getName();
+        return userRepository.findByEmail(email)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found"))
+                .getId();
+    }
+
+    @GetMapping
+    @Operation(summary = "Get recent in-app notifications")
+    public ResponseEntity<List<InAppNotificationResponse>> getNotifications() {
+        Long userId = getCurrentUserId();
+        return ResponseEntity.ok(inAppNotificationService.getRecentNotifications(userId));
+    }
+
+    @GetMapping("/unread-count")
+    @Operation(summary = "Get number of unread in-app notifications")
+    public ResponseEntity<Map<String, Long>> getUnreadCount() {
+        Long userId = getCurrentUserId();
+        return ResponseEntity.ok(Map.of("unread", inAppNotificationService.getUnreadCount(userId)));
+    }
+
+    @PatchMapping("/{id}/read")
+    @Operation(summary = "Mark an in-app notification as read")
+    public ResponseEntity<Void> markAsRead(@PathVariable Long id) {
+        Long userId = getCurrentUserId();
+        inAppNotificationService.markAsRead(userId, id);
+        return ResponseEntity.noContent().build();
+    }
+
+    @PatchMapping("/read-all")
+    @Operation(summary = "Mark all in-app notifications as read")
+    public ResponseEntity<Map<String, Integer>> markAllAsRead() {
+        Long userId = getCurrentUserId();
+        return ResponseEntity.ok(Map.of("updated", inAppNotificationService.markAllAsRead(userId)));
+    }
+
+    @GetMapping("/preferences")
+    @Operation(summary = "Get notification channel preferences")
+    public ResponseEntity<NotificationPreferenceResponse> getPreferences() {
+        Long userId = getCurrentUserId();
+        return ResponseEntity.ok(preferenceService.getPreferenceResponse(userId));
+    }
+
+    @PutMapping("/preferences")
+    @Operation(summary = "Update notification channel preferences")
+    public ResponseEntity<NotificationPreferenceResponse> updatePreferences(
+            @Valid @RequestBody NotificationPreferenceRequest request) {
+        Long userId = getCurrentUserId();
+        return ResponseEntity.ok(preferenceService.updatePreference(userId, request));
+    }
+}
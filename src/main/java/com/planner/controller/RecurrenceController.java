@@ -0,0 +1,76 @@
+package com.planner.controller;
+
+import com.planner.dto.request.RecurrenceRequest;
+import com.planner.dto.response.RecurrenceResponse;
+import com.planner.exception.ResourceNotFoundException;
+import com.planner.repository.UserRepository;
+import com.planner.service.RecurrenceService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/recurrences")
+@Tag(name = "Recurrences", description = "Recurring Task and Reminder APIs")
+@SecurityRequirement(name = "bearerAuth")
+public class RecurrenceController {
+
+    @Autowired
+    private RecurrenceService recurrenceService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private Long getCurrentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        String email = authentication.getName();
+        return userRepository.findByEmail(email)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found"))
+                .getId();
+    }
+
+    @PostMapping
+    @Operation(summary = "Create a recurring task or reminder series",
+            description = "Only the next few instances are created up front; the rest are generated as they come due")
+    public ResponseEntity<RecurrenceResponse> createSeries(@Valid @RequestBody RecurrenceRequest request) {
+        Long userId = getCurrentUserId();
+        RecurrenceResponse response = recurrenceService.createSeries(userId, request);
+        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+    }
+
+    @GetMapping
+    @Operation(summary = "Get all recurring series for current user")
+    public ResponseEntity<List<RecurrenceResponse>> getAllSeries() {
+        Long userId = getCurrentUserId();
+        List<RecurrenceResponse> series = recurrenceService.getSeriesByUser(userId);
+        return ResponseEntity.ok(series);
+    }
+
+    @GetMapping("/{id}")
+    @Operation(summary = "Get recurring series by ID")
+    public ResponseEntity<RecurrenceResponse> getSeriesById(@PathVariable Long id) {
+        Long userId = getCurrentUserId();
+        RecurrenceResponse response = recurrenceService.getSeriesById(userId, id);
+        return ResponseEntity.ok(response);
+    }
+
+    @DeleteMapping("/{id}")
+    @Operation(summary = "Stop a recurring series",
+            description = "Optionally removes instances that are not yet due")
+    public ResponseEntity<Void> stopSeries(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "false") boolean deleteFutureInstances) {
+        Long userId = getCurrentUserId();
+        recurrenceService.stopSeries(userId, id, deleteFutureInstances);
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -88,10 +88,11 @@ public class ReminderController {
     }
 
     @GetMapping("/sent")
-    @Operation(summary = "Get sent reminders")
-    public ResponseEntity<List<ReminderResponse>> getSentReminders() {
+    @Operation(summary = "Get sent reminders; history past the retention period only with includeArchived=true")
+    public ResponseEntity<List<ReminderResponse>> getSentReminders(
+            @RequestParam(defaultValue = "false") boolean includeArchived) {
         Long userId = getCurrentUserId();
-        List<ReminderResponse> reminders = reminderService.getSentReminders(userId);
+        List<ReminderResponse> reminders = reminderService.getSentReminders(userId, includeArchived);
         return ResponseEntity.ok(reminders);
     }
 
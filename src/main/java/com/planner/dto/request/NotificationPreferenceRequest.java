@@ -0,0 +1,21 @@
+package com.planner.dto.request;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+@Data
+public class NotificationPreferenceRequest {
+
+    @NotNull(message = "Email preference is required")
+    private Boolean emailEnabled;
+
+    @NotNull(message = "In-app preference is required")
+    private Boolean inAppEnabled;
+
+    @NotNull(message = "Webhook preference is required")
+    private Boolean webhookEnabled;
+
+    @Size(max = 1024, message = "Webhook URL cannot exceed 1024 characters")
+    private String webhookUrl;
+}
@@ -0,0 +1,42 @@
+package com.planner.dto.request;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+public class RecurrenceRequest {
+
+    @NotBlank(message = "Item type is required")
+    @Pattern(regexp = "TASK|REMINDER", message = "Item type must be TASK or REMINDER")
+    private String itemType;
+
+    @NotBlank(message = "Title is required")
+    @Size(min = 1, max = 255, message = "Title must be between 1 and 255 characters")
+    private String title;
+
+    @Size(max = 5000, message = "Description cannot exceed 5000 characters")
+    private String description;
+
+    @Pattern(regexp = "LOW|MEDIUM|HIGH", message = "Priority must be LOW, MEDIUM, or HIGH")
+    private String priority = "MEDIUM";
+
+    @NotBlank(message = "Frequency is required")
+    @Pattern(regexp = "DAILY|WEEKLY|MONTHLY", message = "Frequency must be DAILY, WEEKLY, or MONTHLY")
+    private String frequency;
+
+    @Min(value = 1, message = "Interval must be at least 1")
+    @Max(value = 365, message = "Interval cannot exceed 365")
+    private Integer interval = 1;
+
+    @NotNull(message = "Start time is required")
+    private LocalDateTime startsAt;
+
+    private LocalDateTime endsAt;
+}
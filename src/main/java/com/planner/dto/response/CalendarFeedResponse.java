@@ -0,0 +1,16 @@
+package com.planner.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CalendarFeedResponse {
+
+    private String token;
+    private String url;
+}
@@ -0,0 +1,39 @@
+package com.planner.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CalendarMonthResponse implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private int year;
+    private int month;
+    private LocalDate gridStart;
+    private LocalDate gridEnd;
+    private List<CalendarDay> days; // Always 42 entries (6 weeks), starting on the Monday on/before the 1st
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class CalendarDay implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        private LocalDate date;
+        private boolean inMonth;
+        private int taskCount;
+        private int scheduleCount;
+        private int reminderCount;
+    }
+}
@@ -22,4 +22,8 @@ public class DashboardResponse implements Serializable {
     private List<TaskResponse> tasks;
     private List<ScheduleResponse> schedules;
     private List<ReminderResponse> reminders;
+
+    // Set when some sections failed or missed the deadline; such responses are not cached
+    private boolean partial;
+    private List<String> unavailable;
 }
\ No newline at end of file
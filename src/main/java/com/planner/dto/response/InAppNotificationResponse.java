@@ -0,0 +1,23 @@
+package com.planner.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class InAppNotificationResponse {
+
+    private Long id;
+    private Long reminderId;
+    private String title;
+    private String body;
+    private LocalDateTime remindAt;
+    private boolean read;
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,18 @@
+package com.planner.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class NotificationPreferenceResponse {
+
+    private Boolean emailEnabled;
+    private Boolean inAppEnabled;
+    private Boolean webhookEnabled;
+    private String webhookUrl;
+}
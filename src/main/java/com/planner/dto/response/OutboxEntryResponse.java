@@ -0,0 +1,30 @@
+package com.planner.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OutboxEntryResponse {
+
+    private Long id;
+    private Long reminderId;
+    private Long userId;
+    private String channel;
+    private String recipient;
+    private String title;
+    private LocalDateTime remindAt;
+    private String status;
+    private Integer attempts;
+    private LocalDateTime nextAttemptAt;
+    private String lastError;
+    private LocalDateTime sentAt;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,22 @@
+package com.planner.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OutboxStatsResponse {
+
+    private long pending;
+    private long sent;
+    private long dead;
+
+    // Since this instance started
+    private long relaySent;
+    private long relayRetried;
+    private long relayDeadLettered;
+}
@@ -0,0 +1,39 @@
+package com.planner.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductivityTrendResponse implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    // The last `days` complete days, ending yesterday
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private List<DayPoint> points;
+    private DayPoint totals;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class DayPoint implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        private LocalDate date;
+        private long tasksCreated;
+        private long tasksCompleted;
+        private long remindersSent;
+        private long scheduledMinutes;
+    }
+}
@@ -0,0 +1,34 @@
+package com.planner.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RecurrenceResponse implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private Long id;
+    private Long userId;
+    private String itemType;
+    private String title;
+    private String description;
+    private String priority;
+    private String frequency;
+    private Integer interval;
+    private LocalDateTime startsAt;
+    private LocalDateTime endsAt;
+    private Integer nextOccurrenceIndex;
+    private LocalDateTime nextRolloverAt;
+    private Boolean active;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+}
@@ -22,6 +22,8 @@ public class ReminderResponse implements Serializable {
     private String description;
     private LocalDateTime remindAt;
     private Boolean isSent;
+    private Boolean archived;
+    private Long seriesId;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
 }
\ No newline at end of file
@@ -0,0 +1,52 @@
+package com.planner.dto.response;
+
+import com.planner.scheduler.DispatchTickStats;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReminderSchedulerResponse {
+
+    // Unsent reminders overdue by more than takeover-after, across the cluster
+    private long backlog;
+    private long staleBacklog;
+    private LocalDateTime oldestDueAt;
+    private Long oldestDueLagSeconds;
+
+    private String stalePolicy;
+    private double catchUpRate;
+    private long estimatedMessages;
+    private long etaSeconds;
+
+    // The catch-up drain on this instance, if it ran here
+    private boolean catchUpRunning;
+    private LocalDateTime catchUpStartedAt;
+    private LocalDateTime catchUpFinishedAt;
+    private long catchUpSent;
+    private long catchUpCollapsed;
+    private long catchUpSkipped;
+
+    // This instance's dispatcher
+    private int queued;
+    private LocalDateTime loadedUntil;
+    private LocalDateTime lastRefillAt;
+    private long dueUnsent;
+    private DispatchTickStats lastTick;
+    private long totalClaimed;
+    private long totalFailed;
+
+    // This instance's outbox relay
+    private Map<String, Integer> inFlight;
+    private long outboxPending;
+    private long relaySent;
+    private long relayRetried;
+    private long relayDeadLettered;
+}
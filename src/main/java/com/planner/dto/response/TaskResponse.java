@@ -24,6 +24,7 @@ public class TaskResponse implements Serializable {  // Add this
     private String status;
     private String priority;
     private LocalDate dueDate;
+    private Long seriesId;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
 }
\ No newline at end of file
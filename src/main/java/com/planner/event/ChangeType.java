@@ -0,0 +1,11 @@
+package com.planner.event;
+
+public enum ChangeType {
+    CREATED,
+    UPDATED,
+    /** Task status or reminder sent flag; changes the user's summary counts but nothing else. */
+    STATUS_CHANGED,
+    DELETED,
+    /** Sent reminder moved to the archive; only leaves the hot-table lists. */
+    ARCHIVED
+}
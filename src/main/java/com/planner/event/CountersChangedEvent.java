@@ -0,0 +1,14 @@
+package com.planner.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * A user's counters were corrected by the reconciler without any item changing.
+ */
+@Getter
+@AllArgsConstructor
+public class CountersChangedEvent {
+
+    private final Long userId;
+}
@@ -0,0 +1,35 @@
+package com.planner.event;
+
+import lombok.Getter;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * A committed change to one or more of a user's items of the same type. {@code days} are the calendar days
+ * the change touches, before and after (e.g. both the old and the new due date of a moved task).
+ *
+ * Published with Spring's {@code ApplicationEventPublisher} inside the writing transaction and handled
+ * after commit, so listeners only ever see changes that are visible to other transactions.
+ */
+@Getter
+public abstract class DomainChangeEvent {
+
+    private final Long userId;
+    private final ChangeType type;
+    private final Set<LocalDate> days;
+
+    protected DomainChangeEvent(Long userId, ChangeType type, Collection<LocalDate> days) {
+        this.userId = userId;
+        this.type = type;
+        this.days = days.stream().filter(Objects::nonNull).collect(Collectors.toUnmodifiableSet());
+    }
+
+    /** Whether the change moves the user's totals (see {@code user_counters}). */
+    public boolean changesCounts() {
+        return type == ChangeType.CREATED || type == ChangeType.DELETED || type == ChangeType.STATUS_CHANGED;
+    }
+}
@@ -0,0 +1,16 @@
+package com.planner.event;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collection;
+
+public class ReminderChangedEvent extends DomainChangeEvent {
+
+    public ReminderChangedEvent(Long userId, ChangeType type, LocalDate... days) {
+        this(userId, type, Arrays.asList(days));
+    }
+
+    public ReminderChangedEvent(Long userId, ChangeType type, Collection<LocalDate> days) {
+        super(userId, type, days);
+    }
+}
@@ -0,0 +1,52 @@
+package com.planner.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * A sent reminder moved out of the hot {@code reminders} table once it is older than the retention period.
+ * Keeps the original id; rows are only ever written by the archiver.
+ */
+@Entity
+@Table(name = "reminders_archive")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ArchivedReminder {
+
+    @Id
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(nullable = false, length = 255)
+    private String title;
+
+    @Column(columnDefinition = "TEXT")
+    private String description;
+
+    @Column(name = "remind_at", nullable = false)
+    private LocalDateTime remindAt;
+
+    @Column(name = "series_id")
+    private Long seriesId;
+
+    @Column(name = "occurrence_at")
+    private LocalDateTime occurrenceAt;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    @Column(name = "archived_at")
+    private LocalDateTime archivedAt;
+}
@@ -0,0 +1,57 @@
+package com.planner.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * One user's activity on one day, computed once the day is over. Days without any activity have no row.
+ */
+@Entity
+@Table(name = "daily_rollups")
+@IdClass(DailyRollup.Key.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DailyRollup {
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Id
+    @Column(name = "day")
+    private LocalDate day;
+
+    @Column(name = "tasks_created", nullable = false)
+    private int tasksCreated;
+
+    @Column(name = "tasks_completed", nullable = false)
+    private int tasksCompleted;
+
+    // Sent reminders by due day, including archived ones
+    @Column(name = "reminders_sent", nullable = false)
+    private int remindersSent;
+
+    // Of the schedules starting that day
+    @Column(name = "scheduled_minutes", nullable = false)
+    private int scheduledMinutes;
+
+    @Column(name = "computed_at")
+    private LocalDateTime computedAt;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private Long userId;
+        private LocalDate day;
+    }
+}
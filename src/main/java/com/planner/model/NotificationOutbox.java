@@ -0,0 +1,81 @@
+package com.planner.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * A claimed reminder waiting to be delivered on one channel. Rows are written in the same transaction that marks the
+ * reminder sent and carry a snapshot of everything the message needs, so delivery never reads the reminder
+ * again.
+ */
+@Entity
+@Table(name = "notification_outbox")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class NotificationOutbox {
+
+    public static final String PENDING = "PENDING";
+    public static final String SENT = "SENT";
+    public static final String DEAD = "DEAD";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "reminder_id", nullable = false)
+    private Long reminderId;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(nullable = false, length = 20)
+    private String channel; // CONSOLE, EMAIL, WEBHOOK, IN_APP
+
+    // Channel-specific address: email address, webhook URL, ...
+    @Column(nullable = false, length = 1024)
+    private String recipient;
+
+    @Column(nullable = false, length = 255)
+    private String title;
+
+    @Column(columnDefinition = "TEXT")
+    private String description;
+
+    @Column(name = "remind_at", nullable = false)
+    private LocalDateTime remindAt;
+
+    @Column(nullable = false, length = 20)
+    @Builder.Default
+    private String status = PENDING; // PENDING, SENT, DEAD
+
+    @Column(nullable = false)
+    @Builder.Default
+    private Integer attempts = 0;
+
+    // Earliest time the relay may (re)try this row; also serves as the lease while a send is in progress
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    @Column(name = "last_error", length = 1000)
+    private String lastError;
+
+    @Column(name = "sent_at")
+    private LocalDateTime sentAt;
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+}
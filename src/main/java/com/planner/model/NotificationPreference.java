@@ -0,0 +1,59 @@
+package com.planner.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "notification_preferences")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class NotificationPreference {
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(name = "email_enabled", nullable = false)
+    @Builder.Default
+    private Boolean emailEnabled = true;
+
+    @Column(name = "in_app_enabled", nullable = false)
+    @Builder.Default
+    private Boolean inAppEnabled = true;
+
+    @Column(name = "webhook_enabled", nullable = false)
+    @Builder.Default
+    private Boolean webhookEnabled = false;
+
+    @Column(name = "webhook_url", length = 1024)
+    private String webhookUrl;
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    /**
+     * What a user without a stored row gets.
+     */
+    public static NotificationPreference defaults(Long userId) {
+        return NotificationPreference.builder()
+                .userId(userId)
+                .emailEnabled(true)
+                .inAppEnabled(true)
+                .webhookEnabled(false)
+                .build();
+    }
+}
@@ -0,0 +1,74 @@
+package com.planner.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "recurring_series")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RecurringSeries {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "item_type", nullable = false, length = 20)
+    private String itemType; // TASK, REMINDER
+
+    @Column(nullable = false, length = 255)
+    private String title;
+
+    @Column(columnDefinition = "TEXT")
+    private String description;
+
+    @Column(length = 50)
+    @Builder.Default
+    private String priority = "MEDIUM"; // Only used for TASK series
+
+    @Column(nullable = false, length = 20)
+    private String frequency; // DAILY, WEEKLY, MONTHLY
+
+    @Column(name = "interval_count", nullable = false)
+    @Builder.Default
+    private Integer intervalCount = 1;
+
+    @Column(name = "starts_at", nullable = false)
+    private LocalDateTime startsAt;
+
+    @Column(name = "ends_at")
+    private LocalDateTime endsAt;
+
+    // Index of the next occurrence that has not been materialized yet
+    @Column(name = "next_index", nullable = false)
+    @Builder.Default
+    private Integer nextIndex = 0;
+
+    // When the rollover job should next top up this series; null once the series has ended
+    @Column(name = "rollover_at")
+    private LocalDateTime rolloverAt;
+
+    @Column(nullable = false)
+    @Builder.Default
+    private Boolean active = true;
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+}
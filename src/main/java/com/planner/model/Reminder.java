@@ -37,6 +37,13 @@ public class Reminder {
     @Column(name = "is_sent", nullable = false)
     private Boolean isSent = false;
 
+    // Set only for instances materialized from a RecurringSeries
+    @Column(name = "series_id")
+    private Long seriesId;
+
+    @Column(name = "occurrence_at")
+    private LocalDateTime occurrenceAt;
+
     @CreationTimestamp
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
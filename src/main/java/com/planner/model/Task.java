@@ -41,6 +41,17 @@ public class Task {
     @Column(name = "due_date")
     private LocalDate dueDate;
 
+    // Set only for instances materialized from a RecurringSeries
+    @Column(name = "series_id")
+    private Long seriesId;
+
+    @Column(name = "occurrence_at")
+    private LocalDateTime occurrenceAt;
+
+    // When the task last became COMPLETED; feeds the daily rollups
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+
     @CreationTimestamp
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
@@ -48,4 +59,14 @@ public class Task {
     @UpdateTimestamp
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
+
+    @PrePersist
+    @PreUpdate
+    void trackCompletion() {
+        if (!"COMPLETED".equals(status)) {
+            completedAt = null;
+        } else if (completedAt == null) {
+            completedAt = LocalDateTime.now();
+        }
+    }
 }
\ No newline at end of file
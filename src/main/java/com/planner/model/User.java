@@ -31,6 +31,10 @@ public class User {
     @Column(name = "full_name", nullable = false, length = 255)
     private String fullName;
 
+    // Secret for the read-only iCalendar subscription feed; null until the user requests one
+    @Column(name = "feed_token", unique = true, length = 64)
+    private String feedToken;
+
     @CreationTimestamp
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
@@ -0,0 +1,53 @@
+package com.planner.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * A user's summary counts, kept up to date by every write that changes them so that dashboards read one row
+ * instead of counting. Sent reminders include the archived ones.
+ */
+@Entity
+@Table(name = "user_counters")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UserCounter {
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(name = "tasks_total", nullable = false)
+    private long tasksTotal;
+
+    @Column(name = "tasks_pending", nullable = false)
+    private long tasksPending;
+
+    @Column(name = "tasks_in_progress", nullable = false)
+    private long tasksInProgress;
+
+    @Column(name = "tasks_completed", nullable = false)
+    private long tasksCompleted;
+
+    @Column(name = "schedules_total", nullable = false)
+    private long schedulesTotal;
+
+    @Column(name = "reminders_pending", nullable = false)
+    private long remindersPending;
+
+    @Column(name = "reminders_sent", nullable = false)
+    private long remindersSent;
+
+    @Column(name = "reconciled_at")
+    private LocalDateTime reconciledAt;
+
+    @Column(name = "updated_at", insertable = false, updatable = false)
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,23 @@
+package com.planner.notification;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+final class ChannelExecutors {
+
+    private ChannelExecutors() {
+    }
+
+    /**
+     * Runs a blocking delivery on the channel's own executor. A full queue fails the future instead of
+     * throwing, so the relay retries the row later.
+     */
+    static CompletableFuture<Void> submit(Executor executor, Runnable delivery) {
+        try {
+            return CompletableFuture.runAsync(delivery, executor);
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+}
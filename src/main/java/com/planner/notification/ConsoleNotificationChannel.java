@@ -0,0 +1,76 @@
+package com.planner.notification;
+
+import com.planner.model.NotificationPreference;
+import com.planner.model.Reminder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * Logs reminders to the application console (demo / local development). Applies to every user.
+ */
+@Component
+@Slf4j
+public class ConsoleNotificationChannel implements NotificationChannel {
+
+    public static final String NAME = "CONSOLE";
+
+    @Autowired
+    @Qualifier("consoleNotificationExecutor")
+    private Executor executor;
+
+    @Value("${notification.console.enabled:true}")
+    private boolean enabled;
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @Override
+    public String resolveRecipient(Long userId, String email, NotificationPreference preference) {
+        return email;
+    }
+
+    @Override
+    public CompletableFuture<Void> send(Notification notification) {
+        return ChannelExecutors.submit(executor, () -> {
+            if (notification.isDigest()) {
+                logDigest(notification);
+            } else {
+                logReminder(notification.getReminders().get(0));
+            }
+        });
+    }
+
+    private void logReminder(Reminder reminder) {
+        log.info("╔════════════════════════════════════════════════════════════╗");
+        log.info("║               🔔 REMINDER NOTIFICATION                    ║");
+        log.info("╠════════════════════════════════════════════════════════════╣");
+        log.info("║ Title: {}", String.format("%-50s", reminder.getTitle()) + "║");
+        log.info("║ Description: {}", String.format("%-44s",
+                reminder.getDescription() != null ? reminder.getDescription() : "N/A") + "║");
+        log.info("║ Time: {}", String.format("%-51s", reminder.getRemindAt()) + "║");
+        log.info("╚════════════════════════════════════════════════════════════╝");
+    }
+
+    private void logDigest(Notification notification) {
+        log.info("╔════════════════════════════════════════════════════════════╗");
+        log.info("║               🔔 REMINDER DIGEST ({} reminders)", notification.getReminders().size());
+        log.info("╠════════════════════════════════════════════════════════════╣");
+        for (Reminder reminder : notification.getReminders()) {
+            log.info("║ {} @ {}", reminder.getTitle(), reminder.getRemindAt());
+        }
+        log.info("╚════════════════════════════════════════════════════════════╝");
+    }
+}
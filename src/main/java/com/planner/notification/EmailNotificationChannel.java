@@ -0,0 +1,93 @@
+package com.planner.notification;
+
+import com.planner.model.NotificationPreference;
+import com.planner.model.Reminder;
+import com.samskivert.mustache.Template;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * Sends reminders as plain-text email rendered from the templates under templates/email. Sends run on the
+ * email executor over pooled SMTP connections; per-message time is bounded by the SMTP socket timeouts.
+ */
+@Component
+@Slf4j
+public class EmailNotificationChannel implements NotificationChannel {
+
+    public static final String NAME = "EMAIL";
+
+    @Autowired(required = false)
+    private JavaMailSender mailSender;
+
+    @Autowired
+    @Qualifier("emailNotificationExecutor")
+    private Executor executor;
+
+    @Value("${notification.email.enabled:false}")
+    private boolean enabled;
+
+    @Value("${notification.email.from}")
+    private String fromEmail;
+
+    private final Template reminderTemplate = ReminderTemplates.compile("reminder");
+    private final Template digestTemplate = ReminderTemplates.compile("reminder-digest");
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return enabled && mailSender != null;
+    }
+
+    @Override
+    public String resolveRecipient(Long userId, String email, NotificationPreference preference) {
+        return Boolean.TRUE.equals(preference.getEmailEnabled()) ? email : null;
+    }
+
+    @Override
+    public CompletableFuture<Void> send(Notification notification) {
+        return ChannelExecutors.submit(executor, () -> {
+            SimpleMailMessage message = notification.isDigest()
+                    ? buildDigest(notification.getReminders(), notification.getRecipient())
+                    : buildReminder(notification.getReminders().get(0), notification.getRecipient());
+            mailSender.send(message);
+            log.info("Email notification sent to: {}", notification.getRecipient());
+        });
+    }
+
+    private SimpleMailMessage buildReminder(Reminder reminder, String toEmail) {
+        SimpleMailMessage message = new SimpleMailMessage();
+        message.setFrom(fromEmail);
+        message.setTo(toEmail);
+        message.setSubject("🔔 Reminder: " + reminder.getTitle());
+        message.setText(reminderTemplate.execute(ReminderTemplates.toView(reminder)));
+        return message;
+    }
+
+    private SimpleMailMessage buildDigest(List<Reminder> reminders, String toEmail) {
+        Map<String, Object> view = new HashMap<>();
+        view.put("count", reminders.size());
+        view.put("reminders", reminders.stream().map(ReminderTemplates::toView).toList());
+
+        SimpleMailMessage message = new SimpleMailMessage();
+        message.setFrom(fromEmail);
+        message.setTo(toEmail);
+        message.setSubject("🔔 " + reminders.size() + " reminders: " + reminders.get(0).getTitle() + " and more");
+        message.setText(digestTemplate.execute(view));
+        return message;
+    }
+}
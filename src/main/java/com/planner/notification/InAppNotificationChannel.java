@@ -0,0 +1,78 @@
+package com.planner.notification;
+
+import com.planner.model.InAppNotification;
+import com.planner.model.NotificationPreference;
+import com.planner.model.Reminder;
+import com.planner.realtime.EventPublisher;
+import com.planner.repository.InAppNotificationRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * Stores reminders in the user's in-app inbox, read by the web client via {@code /api/notifications}, and
+ * pushes a {@code notification.created} event to the user's open event streams. A digest still becomes one
+ * inbox entry per reminder.
+ */
+@Component
+public class InAppNotificationChannel implements NotificationChannel {
+
+    public static final String NAME = "IN_APP";
+
+    @Autowired
+    private InAppNotificationRepository inAppNotificationRepository;
+
+    @Autowired
+    private EventPublisher eventPublisher;
+
+    @Autowired
+    @Qualifier("inAppNotificationExecutor")
+    private Executor executor;
+
+    @Value("${notification.in-app.enabled:true}")
+    private boolean enabled;
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @Override
+    public String resolveRecipient(Long userId, String email, NotificationPreference preference) {
+        return Boolean.TRUE.equals(preference.getInAppEnabled()) ? String.valueOf(userId) : null;
+    }
+
+    @Override
+    public CompletableFuture<Void> send(Notification notification) {
+        return ChannelExecutors.submit(executor, () -> {
+            List<InAppNotification> entries = notification.getReminders().stream()
+                    .map(reminder -> toEntry(notification.getUserId(), reminder))
+                    .toList();
+            for (InAppNotification entry : inAppNotificationRepository.saveAll(entries)) {
+                eventPublisher.publish(entry.getUserId(), "notification.created", entry.getId(),
+                        Map.of("title", entry.getTitle()));
+            }
+        });
+    }
+
+    private InAppNotification toEntry(Long userId, Reminder reminder) {
+        return InAppNotification.builder()
+                .userId(userId)
+                .reminderId(reminder.getId())
+                .title(reminder.getTitle())
+                .body(reminder.getDescription())
+                .remindAt(reminder.getRemindAt())
+                .build();
+    }
+}
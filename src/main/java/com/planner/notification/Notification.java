@@ -0,0 +1,24 @@
+package com.planner.notification;
+
+import com.planner.model.Reminder;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * One message for one user on one channel. Carries more than one reminder when reminders due in the same
+ * window were coalesced into a digest.
+ */
+@Getter
+@AllArgsConstructor
+public class Notification {
+
+    private final Long userId;
+    private final String recipient;
+    private final List<Reminder> reminders;
+
+    public boolean isDigest() {
+        return reminders.size() > 1;
+    }
+}
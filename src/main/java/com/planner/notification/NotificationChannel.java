@@ -0,0 +1,35 @@
+package com.planner.notification;
+
+import com.planner.model.NotificationPreference;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * A way of delivering reminders to a user. Implementations are Spring beans and are picked up
+ * automatically; each due reminder gets one outbox row per channel the user is reachable on, and the relay
+ * drains every channel independently, so a slow or failing channel never holds up the others.
+ */
+public interface NotificationChannel {
+
+    /**
+     * Stable identifier stored in notification_outbox.channel.
+     */
+    String getName();
+
+    /**
+     * Whether the channel is switched on for this deployment.
+     */
+    boolean isEnabled();
+
+    /**
+     * The address to deliver to for this user (email address, webhook URL, ...), or null when the user has
+     * not opted in to this channel.
+     */
+    String resolveRecipient(Long userId, String email, NotificationPreference preference);
+
+    /**
+     * Starts delivering and returns without waiting. The future completes once the notification has been
+     * handed off and fails if it could not be; implementations must not block the calling thread.
+     */
+    CompletableFuture<Void> send(Notification notification);
+}
@@ -0,0 +1,110 @@
+package com.planner.notification;
+
+import jakarta.mail.AuthenticationFailedException;
+import jakarta.mail.MessagingException;
+import jakarta.mail.Transport;
+import jakarta.mail.internet.MimeMessage;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.lang.Nullable;
+import org.springframework.mail.MailAuthenticationException;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * {@link JavaMailSenderImpl} that sends over pooled SMTP connections instead of opening, negotiating
+ * STARTTLS and closing a connection for every {@code send} call. A batch passed to {@code send(...)} goes
+ * out back to back over one connection, moving to a fresh one when the connection hits its message quota
+ * or fails.
+ */
+public class PooledJavaMailSender extends JavaMailSenderImpl implements DisposableBean {
+
+    private static final String HEADER_MESSAGE_ID = "Message-ID";
+
+    private SmtpConnectionPool pool;
+
+    public void setPool(SmtpConnectionPool pool) {
+        this.pool = pool;
+    }
+
+    public SmtpConnectionPool getPool() {
+        return pool;
+    }
+
+    /**
+     * Opens a new authenticated connection; used by the pool when it has no idle one to hand out.
+     */
+    public Transport openTransport() throws MessagingException {
+        return connectTransport();
+    }
+
+    @Override
+    protected void doSend(MimeMessage[] mimeMessages, @Nullable Object[] originalMessages) throws MailException {
+        Map<Object, Exception> failedMessages = new LinkedHashMap<>();
+        SmtpConnectionPool.PooledConnection connection = null;
+        try {
+            for (int i = 0; i < mimeMessages.length; i++) {
+                Object original = originalMessages != null ? originalMessages[i] : mimeMessages[i];
+                if (connection == null) {
+                    try {
+                        connection = pool.borrow();
+                    } catch (AuthenticationFailedException ex) {
+                        throw new MailAuthenticationException(ex);
+                    } catch (Exception ex) {
+                        // Effectively, all remaining messages failed
+                        for (int j = i; j < mimeMessages.length; j++) {
+                            failedMessages.put(originalMessages != null ? originalMessages[j] : mimeMessages[j], ex);
+                        }
+                        throw new MailSendException("Mail server connection failed", ex, failedMessages);
+                    }
+                }
+
+                try {
+                    prepare(mimeMessages[i]);
+                    pool.send(connection, mimeMessages[i]);
+                } catch (Exception ex) {
+                    failedMessages.put(original, ex);
+                    pool.release(connection, true);
+                    connection = null;
+                    continue;
+                }
+
+                if (connection.isExhausted()) {
+                    pool.release(connection, false);
+                    connection = null;
+                }
+            }
+        } finally {
+            if (connection != null) {
+                pool.release(connection, false);
+            }
+        }
+
+        if (!failedMessages.isEmpty()) {
+            throw new MailSendException(failedMessages);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        if (pool != null) {
+            pool.close();
+        }
+    }
+
+    // Same header handling as JavaMailSenderImpl: saveChanges() would otherwise replace a preset Message-ID
+    private static void prepare(MimeMessage mimeMessage) throws MessagingException {
+        if (mimeMessage.getSentDate() == null) {
+            mimeMessage.setSentDate(new Date());
+        }
+        String messageId = mimeMessage.getMessageID();
+        mimeMessage.saveChanges();
+        if (messageId != null) {
+            mimeMessage.setHeader(HEADER_MESSAGE_ID, messageId);
+        }
+    }
+}
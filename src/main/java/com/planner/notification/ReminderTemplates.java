@@ -0,0 +1,68 @@
+package com.planner.notification;
+
+import com.planner.model.Reminder;
+import com.samskivert.mustache.Mustache;
+import com.samskivert.mustache.Template;
+import org.springframework.core.io.ClassPathResource;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The plain-text reminder templates under templates/email. Templates may include one another as partials,
+ * e.g. {@code {{> reminder-list}}}, so a list of reminders reads the same in a digest email and in the
+ * description of a "missed reminders" notification.
+ */
+public final class ReminderTemplates {
+
+    private static final String LOCATION = "templates/email/%s.mustache";
+
+    // Plain text: no HTML escaping
+    private static final Mustache.Compiler COMPILER = Mustache.compiler()
+            .escapeHTML(false)
+            .defaultValue("")
+            .emptyStringIsFalse(true)
+            .withLoader(ReminderTemplates::open);
+
+    private static final Template LIST = compile("reminder-list");
+
+    private ReminderTemplates() {
+    }
+
+    public static Template compile(String name) {
+        try (Reader reader = open(name)) {
+            return COMPILER.compile(reader);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot load template " + name, e);
+        }
+    }
+
+    public static Map<String, Object> toView(Reminder reminder) {
+        Map<String, Object> view = new HashMap<>();
+        view.put("title", reminder.getTitle());
+        view.put("description", reminder.getDescription());
+        view.put("remindAt", reminder.getRemindAt());
+        return view;
+    }
+
+    /**
+     * One line per reminder, followed by "…and {@code more} more" when {@code more} is positive.
+     */
+    public static String renderList(List<Reminder> reminders, long more) {
+        Map<String, Object> view = new HashMap<>();
+        view.put("reminders", reminders.stream().map(ReminderTemplates::toView).toList());
+        view.put("more", more > 0 ? more : null);
+        return LIST.execute(view).stripTrailing();
+    }
+
+    private static Reader open(String name) throws IOException {
+        return new InputStreamReader(
+                new ClassPathResource(String.format(LOCATION, name)).getInputStream(), StandardCharsets.UTF_8);
+    }
+}
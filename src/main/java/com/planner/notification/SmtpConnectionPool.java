@@ -0,0 +1,216 @@
+package com.planner.notification;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.mail.Address;
+import jakarta.mail.MessagingException;
+import jakarta.mail.Transport;
+import jakarta.mail.internet.MimeMessage;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A small pool of connected, authenticated SMTP transports.
+ *
+ * Idle connections are handed out most-recently-used first, so the pool naturally shrinks back to what
+ * the load needs. A connection is closed after {@code maxMessagesPerConnection} messages, after any send
+ * error, and when it has been idle longer than {@code maxIdle}; one idle longer than {@code validateAfter}
+ * is checked with a NOOP before reuse.
+ */
+@Slf4j
+public class SmtpConnectionPool implements AutoCloseable {
+
+    @FunctionalInterface
+    public interface Connector {
+        Transport connect() throws MessagingException;
+    }
+
+    private final Connector connector;
+    private final int maxMessagesPerConnection;
+    private final Duration validateAfter;
+    private final Duration maxIdle;
+    private final Duration borrowTimeout;
+
+    private final BlockingDeque<PooledConnection> idle = new LinkedBlockingDeque<>();
+    private final Semaphore permits;
+    private final int maxConnections;
+
+    private final Counter opened;
+    private final Counter reused;
+    private final Counter closedAtLimit;
+    private final Counter closedOnError;
+    private final Counter closedIdle;
+    private final Timer sendSuccess;
+    private final Timer sendFailure;
+
+    public SmtpConnectionPool(Connector connector, int maxConnections, int maxMessagesPerConnection,
+                              Duration validateAfter, Duration maxIdle, Duration borrowTimeout,
+                              MeterRegistry meterRegistry) {
+        this.connector = connector;
+        this.maxConnections = maxConnections;
+        this.maxMessagesPerConnection = maxMessagesPerConnection;
+        this.validateAfter = validateAfter;
+        this.maxIdle = maxIdle;
+        this.borrowTimeout = borrowTimeout;
+        this.permits = new Semaphore(maxConnections, true);
+
+        this.opened = connectionCounter(meterRegistry, "opened");
+        this.reused = connectionCounter(meterRegistry, "reused");
+        this.closedAtLimit = closedCounter(meterRegistry, "limit");
+        this.closedOnError = closedCounter(meterRegistry, "error");
+        this.closedIdle = closedCounter(meterRegistry, "idle");
+        this.sendSuccess = sendTimer(meterRegistry, "success");
+        this.sendFailure = sendTimer(meterRegistry, "failure");
+        Gauge.builder("mail.smtp.connections.idle", idle, BlockingDeque::size)
+                .description("Open SMTP connections waiting in the pool")
+                .register(meterRegistry);
+        Gauge.builder("mail.smtp.connections.active", permits, p -> maxConnections - p.availablePermits())
+                .description("SMTP connections currently sending")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Takes a connection out of the pool, opening a new one if none is idle. Blocks while all
+     * {@code maxConnections} are in use.
+     */
+    public PooledConnection borrow() throws MessagingException {
+        try {
+            if (!permits.tryAcquire(borrowTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                throw new MessagingException("Timed out waiting for an SMTP connection");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new MessagingException("Interrupted while waiting for an SMTP connection", e);
+        }
+
+        try {
+            PooledConnection connection;
+            while ((connection = idle.pollFirst()) != null) {
+                if (isReusable(connection)) {
+                    reused.increment();
+                    return connection;
+                }
+                closeQuietly(connection);
+                closedIdle.increment();
+            }
+            connection = new PooledConnection(connector.connect());
+            opened.increment();
+            return connection;
+        } catch (MessagingException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Sends one message over a borrowed connection and records its latency.
+     */
+    public void send(PooledConnection connection, MimeMessage message) throws MessagingException {
+        long start = System.nanoTime();
+        try {
+            Address[] recipients = message.getAllRecipients();
+            connection.transport.sendMessage(message, recipients != null ? recipients : new Address[0]);
+            connection.messagesSent++;
+            sendSuccess.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        } catch (MessagingException | RuntimeException e) {
+            sendFailure.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            throw e;
+        }
+    }
+
+    /**
+     * Returns a connection to the pool, or closes it if it failed or has sent its quota.
+     */
+    public void release(PooledConnection connection, boolean failed) {
+        try {
+            if (failed) {
+                closeQuietly(connection);
+                closedOnError.increment();
+            } else if (connection.isExhausted()) {
+                closeQuietly(connection);
+                closedAtLimit.increment();
+            } else {
+                connection.lastUsedNanos = System.nanoTime();
+                idle.offerFirst(connection);
+            }
+        } finally {
+            permits.release();
+        }
+    }
+
+    public int getIdleCount() {
+        return idle.size();
+    }
+
+    public int getActiveCount() {
+        return maxConnections - permits.availablePermits();
+    }
+
+    @Override
+    public void close() {
+        PooledConnection connection;
+        while ((connection = idle.pollFirst()) != null) {
+            closeQuietly(connection);
+        }
+    }
+
+    private boolean isReusable(PooledConnection connection) {
+        long idleNanos = System.nanoTime() - connection.lastUsedNanos;
+        if (idleNanos > maxIdle.toNanos()) {
+            return false;
+        }
+        // isConnected() issues a NOOP, so only pay for it when the server may have dropped us
+        return idleNanos <= validateAfter.toNanos() || connection.transport.isConnected();
+    }
+
+    private void closeQuietly(PooledConnection connection) {
+        try {
+            connection.transport.close();
+        } catch (MessagingException e) {
+            log.debug("Error closing SMTP connection: {}", e.getMessage());
+        }
+    }
+
+    private static Counter connectionCounter(MeterRegistry registry, String event) {
+        return Counter.builder("mail.smtp.connections")
+                .description("SMTP connections handed out by the pool")
+                .tag("event", event)
+                .register(registry);
+    }
+
+    private static Counter closedCounter(MeterRegistry registry, String reason) {
+        return Counter.builder("mail.smtp.connections.closed")
+                .description("SMTP connections closed by the pool")
+                .tag("reason", reason)
+                .register(registry);
+    }
+
+    private static Timer sendTimer(MeterRegistry registry, String outcome) {
+        return Timer.builder("mail.smtp.send")
+                .description("Time to send one message over an open SMTP connection")
+                .tag("outcome", outcome)
+                .register(registry);
+    }
+
+    public final class PooledConnection {
+
+        private final Transport transport;
+        private int messagesSent;
+        private long lastUsedNanos = System.nanoTime();
+
+        private PooledConnection(Transport transport) {
+            this.transport = transport;
+        }
+
+        public boolean isExhausted() {
+            return messagesSent >= maxMessagesPerConnection;
+        }
+    }
+}
@@ -0,0 +1,195 @@
+package com.planner.notification;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.planner.model.NotificationPreference;
+import com.planner.model.Reminder;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.hc.client5.http.SystemDefaultDnsResolver;
+import org.apache.hc.client5.http.async.methods.SimpleRequestBuilder;
+import org.apache.hc.client5.http.async.methods.SimpleRequestProducer;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.config.TlsConfig;
+import org.apache.hc.client5.http.impl.async.CloseableHttpAsyncClient;
+import org.apache.hc.client5.http.impl.async.HttpAsyncClients;
+import org.apache.hc.client5.http.impl.nio.PoolingAsyncClientConnectionManagerBuilder;
+import org.apache.hc.core5.concurrent.FutureCallback;
+import org.apache.hc.core5.http.ContentType;
+import org.apache.hc.core5.http.HttpResponse;
+import org.apache.hc.core5.http.Message;
+import org.apache.hc.core5.http.nio.entity.DiscardingEntityConsumer;
+import org.apache.hc.core5.http.nio.support.BasicResponseConsumer;
+import org.apache.hc.core5.http2.HttpVersionPolicy;
+import org.apache.hc.core5.io.CloseMode;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.URI;
+import java.net.UnknownHostException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+
+/**
+ * POSTs reminders as JSON to the user's webhook URL.
+ *
+ * One shared async client keeps HTTP/1.1 connections alive and reuses them across deliveries to the same
+ * host. Requests are non-blocking, so no thread waits on a slow endpoint; the connect timeout and the
+ * request timeout (how long the endpoint may stay silent) bound each delivery. Any non-2xx response fails
+ * the delivery and the relay retries it.
+ *
+ * The URL is re-checked against the {@link WebhookTargetPolicy} before every delivery, and hosts are
+ * resolved through the policy when connecting, so a host that starts resolving to an internal address
+ * after its URL was saved or checked is never connected to.
+ */
+@Component
+@Slf4j
+public class WebhookNotificationChannel implements NotificationChannel {
+
+    public static final String NAME = "WEBHOOK";
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private WebhookTargetPolicy targetPolicy;
+
+    @Autowired
+    @Qualifier("webhookNotificationExecutor")
+    private Executor executor;
+
+    @Value("${notification.webhook.enabled:true}")
+    private boolean enabled;
+
+    @Value("${notification.webhook.connect-timeout:PT5S}")
+    private Duration connectTimeout;
+
+    @Value("${notification.webhook.request-timeout:PT10S}")
+    private Duration requestTimeout;
+
+    private CloseableHttpAsyncClient httpClient;
+
+    @PostConstruct
+    public void init() {
+        httpClient = HttpAsyncClients.custom()
+                .setConnectionManager(PoolingAsyncClientConnectionManagerBuilder.create()
+                        .setDnsResolver(new SystemDefaultDnsResolver() {
+                            @Override
+                            public InetAddress[] resolve(String host) throws UnknownHostException {
+                                return targetPolicy.resolve(host);
+                            }
+                        })
+                        .setDefaultConnectionConfig(ConnectionConfig.custom()
+                                .setConnectTimeout(Timeout.of(connectTimeout))
+                                .build())
+                        // Plain keep-alive pooling, as with cleartext endpoints
+                        .setDefaultTlsConfig(TlsConfig.custom().setVersionPolicy(HttpVersionPolicy.FORCE_HTTP_1).build())
+                        .build())
+                .setDefaultRequestConfig(RequestConfig.custom().setResponseTimeout(Timeout.of(requestTimeout)).build())
+                .disableRedirectHandling()
+                .disableAutomaticRetries()
+                .build();
+        httpClient.start();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        httpClient.close(CloseMode.GRACEFUL);
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @Override
+    public String resolveRecipient(Long userId, String email, NotificationPreference preference) {
+        return Boolean.TRUE.equals(preference.getWebhookEnabled()) ? preference.getWebhookUrl() : null;
+    }
+
+    @Override
+    public CompletableFuture<Void> send(Notification notification) {
+        URI uri;
+        byte[] body;
+        try {
+            uri = URI.create(notification.getRecipient());
+            targetPolicy.checkUrl(uri);
+            body = objectMapper.writeValueAsBytes(toPayload(notification));
+        } catch (IllegalArgumentException e) {
+            log.warn("⚠️ Refusing webhook delivery to {}: {}", notification.getRecipient(), e.getMessage());
+            return CompletableFuture.failedFuture(e);
+        } catch (JsonProcessingException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+
+        // Connecting resolves the host, which may block, so requests are started on the executor
+        return CompletableFuture.supplyAsync(() -> execute(uri, body), executor)
+                .thenCompose(response -> response)
+                .thenAccept(response -> {
+                    if (response.getCode() / 100 != 2) {
+                        throw new CompletionException(new IOException(
+                                "Webhook " + notification.getRecipient() + " responded with HTTP " + response.getCode()));
+                    }
+                    log.info("Webhook notification delivered to: {}", notification.getRecipient());
+                });
+    }
+
+    private CompletableFuture<HttpResponse> execute(URI uri, byte[] body) {
+        CompletableFuture<HttpResponse> response = new CompletableFuture<>();
+        httpClient.execute(
+                SimpleRequestProducer.create(SimpleRequestBuilder.post(uri).setBody(body, ContentType.APPLICATION_JSON).build()),
+                new BasicResponseConsumer<>(new DiscardingEntityConsumer<>()),
+                new FutureCallback<Message<HttpResponse, Void>>() {
+                    @Override
+                    public void completed(Message<HttpResponse, Void> message) {
+                        response.complete(message.getHead());
+                    }
+
+                    @Override
+                    public void failed(Exception e) {
+                        response.completeExceptionally(e);
+                    }
+
+                    @Override
+                    public void cancelled() {
+                        response.cancel(false);
+                    }
+                });
+        return response;
+    }
+
+    private Map<String, Object> toPayload(Notification notification) {
+        List<Map<String, Object>> reminders = notification.getReminders().stream().map(this::toPayload).toList();
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("event", notification.isDigest() ? "reminder.digest" : "reminder.due");
+        payload.put("userId", notification.getUserId());
+        payload.put("reminders", reminders);
+        return payload;
+    }
+
+    private Map<String, Object> toPayload(Reminder reminder) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("id", reminder.getId());
+        payload.put("title", reminder.getTitle());
+        payload.put("description", reminder.getDescription());
+        payload.put("remindAt", reminder.getRemindAt().toString());
+        return payload;
+    }
+}
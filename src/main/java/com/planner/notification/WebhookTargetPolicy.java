@@ -0,0 +1,115 @@
+package com.planner.notification;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.net.Inet4Address;
+import java.net.Inet6Address;
+import java.net.InetAddress;
+import java.net.URI;
+import java.net.UnknownHostException;
+
+/**
+ * Which URLs webhooks may be delivered to. Deliveries come from inside the network, so a user-supplied URL
+ * must not reach hosts that are only reachable from there: loopback, link-local (which includes cloud
+ * metadata endpoints), private, carrier-grade NAT, NAT64 and wildcard addresses are refused, and only https
+ * is allowed unless configured otherwise.
+ *
+ * The URL is checked when it is saved. Deliveries resolve the host through {@link #resolve(String)}, so the
+ * addresses that were checked are the ones connected to, even if the host's DNS answer has changed since.
+ */
+@Component
+public class WebhookTargetPolicy {
+
+    // NAT64 prefixes embed an IPv4 address: 64:ff9b::/96 (well-known) and 64:ff9b:1::/48 (local use)
+    private static final byte[] NAT64_PREFIX = {0, 0x64, (byte) 0xff, (byte) 0x9b, 0, 0, 0, 0, 0, 0, 0, 0};
+    private static final byte[] LOCAL_NAT64_PREFIX = {0, 0x64, (byte) 0xff, (byte) 0x9b, 0, 1};
+
+    @Value("${notification.webhook.allow-private-hosts:false}")
+    private boolean allowPrivateHosts;
+
+    @Value("${notification.webhook.require-https:true}")
+    private boolean requireHttps;
+
+    /**
+     * Checks the URL and every address its host resolves to.
+     *
+     * @throws IllegalArgumentException if the URL may not be delivered to
+     * @throws UnknownHostException     if its host does not resolve
+     */
+    public void check(URI uri) throws UnknownHostException {
+        checkUrl(uri);
+        if (!allowPrivateHosts) {
+            requirePublic(uri.getHost(), InetAddress.getAllByName(uri.getHost()));
+        }
+    }
+
+    /**
+     * Checks the URL alone, without resolving its host.
+     *
+     * @throws IllegalArgumentException if the URL may not be delivered to
+     */
+    public void checkUrl(URI uri) {
+        String scheme = uri.getScheme();
+        boolean https = "https".equalsIgnoreCase(scheme);
+        if (!https && !"http".equalsIgnoreCase(scheme) || uri.getHost() == null) {
+            throw new IllegalArgumentException("Webhook URL must be an absolute http(s) URL");
+        }
+        if (requireHttps && !https) {
+            throw new IllegalArgumentException("Webhook URL must use https");
+        }
+    }
+
+    /**
+     * Resolves a webhook host for connecting to it.
+     *
+     * @throws UnknownHostException if the host does not resolve, or resolves to an address that is not public
+     */
+    public InetAddress[] resolve(String host) throws UnknownHostException {
+        InetAddress[] addresses = InetAddress.getAllByName(host);
+        if (!allowPrivateHosts) {
+            try {
+                requirePublic(host, addresses);
+            } catch (IllegalArgumentException e) {
+                // The only failure a resolver may report
+                throw new UnknownHostException(e.getMessage());
+            }
+        }
+        return addresses;
+    }
+
+    private static void requirePublic(String host, InetAddress[] addresses) {
+        for (InetAddress address : addresses) {
+            if (isPrivate(address)) {
+                throw new IllegalArgumentException("Webhook host " + host + " is not a public address");
+            }
+        }
+    }
+
+    static boolean isPrivate(InetAddress address) {
+        if (address.isLoopbackAddress()
+                || address.isLinkLocalAddress()
+                || address.isSiteLocalAddress()
+                || address.isAnyLocalAddress()
+                || address.isMulticastAddress()) {
+            return true;
+        }
+        byte[] bytes = address.getAddress();
+        if (address instanceof Inet4Address) {
+            // 0.0.0.0/8 ("this network") and 100.64.0.0/10 (carrier-grade NAT)
+            return bytes[0] == 0 || bytes[0] == 100 && (bytes[1] & 0xc0) == 0x40;
+        }
+        // IPv6 unique local addresses (fc00::/7), the successor of the site-local range, and NAT64
+        return address instanceof Inet6Address && ((bytes[0] & 0xfe) == 0xfc
+                || hasPrefix(bytes, NAT64_PREFIX) || hasPrefix(bytes, LOCAL_NAT64_PREFIX));
+    }
+
+    private static boolean hasPrefix(byte[] bytes, byte[] prefix) {
+        for (int i = 0; i < prefix.length; i++) {
+            if (bytes[i] != prefix[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,66 @@
+package com.planner.realtime;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * Publishes realtime events to every node through Redis pub/sub; each node's {@link RedisEventSubscriber}
+ * then writes them to the streams it holds. Events are published only once the surrounding transaction
+ * commits, so clients never refetch data that is not visible yet.
+ */
+@Component
+@Slf4j
+public class EventPublisher {
+
+    @Autowired
+    private StringRedisTemplate redisTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private EventStreamRegistry registry;
+
+    @Value("${realtime.events.channel:planner:events}")
+    private String channel;
+
+    public void publish(Long userId, String type, Long entityId) {
+        publish(userId, type, entityId, Map.of());
+    }
+
+    public void publish(Long userId, String type, Long entityId, Map<String, Object> data) {
+        RealtimeEvent event = new RealtimeEvent(userId, type, entityId, data, LocalDateTime.now());
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    send(event);
+                }
+            });
+        } else {
+            send(event);
+        }
+    }
+
+    private void send(RealtimeEvent event) {
+        try {
+            redisTemplate.convertAndSend(channel, objectMapper.writeValueAsString(event));
+        } catch (JsonProcessingException e) {
+            log.error("Cannot serialize realtime event {}", event.getType(), e);
+        } catch (Exception e) {
+            // Redis unavailable: clients connected to this node still get the event
+            log.warn("Failed to publish realtime event {} to Redis: {}", event.getType(), e.getMessage());
+            registry.deliverLocal(event);
+        }
+    }
+}
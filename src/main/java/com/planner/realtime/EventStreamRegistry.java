@@ -0,0 +1,254 @@
+package com.planner.realtime;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The event streams open on this node, by user.
+ *
+ * Streams are async-servlet {@link SseEmitter}s, so an idle connection holds no thread, only an entry in
+ * this map. {@link SseEmitter#send} blocks while the client is not reading, so each connection gets its own
+ * bounded queue of pending events, drained by at most one thread of the small writer executor at a time:
+ * a slow client holds at most one writer, and never delays the Redis listener thread. A connection whose
+ * queue overflows, or whose current send has been blocked for longer than {@code send-timeout}, is dropped
+ * and its client reconnects; the writer stuck in that send is released once the container's write timeout
+ * fails it. A periodic comment line keeps proxies from closing idle streams and flushes out connections
+ * whose client went away.
+ */
+@Component
+@Slf4j
+public class EventStreamRegistry {
+
+    // Each user's open connections, oldest first; the lists are immutable and replaced inside compute()
+    private final Map<Long, List<Connection>> streams = new ConcurrentHashMap<>();
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    @Qualifier("eventStreamExecutor")
+    private Executor executor;
+
+    @Value("${realtime.events.timeout:PT30M}")
+    private Duration timeout;
+
+    @Value("${realtime.events.heartbeat-interval:PT25S}")
+    private Duration heartbeatInterval;
+
+    @Value("${realtime.events.max-connections-per-user:5}")
+    private int maxConnectionsPerUser;
+
+    @Value("${realtime.events.max-pending-per-connection:100}")
+    private int maxPendingPerConnection;
+
+    @Value("${realtime.events.send-timeout:PT10S}")
+    private Duration sendTimeout;
+
+    private ScheduledExecutorService heartbeat;
+
+    @PostConstruct
+    public void start() {
+        heartbeat = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "event-stream-heartbeat");
+            thread.setDaemon(true);
+            return thread;
+        });
+        heartbeat.scheduleAtFixedRate(this::sendHeartbeats, heartbeatInterval.toMillis(),
+                heartbeatInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        heartbeat.shutdownNow();
+        streams.values().forEach(connections -> connections.forEach(this::close));
+        streams.clear();
+    }
+
+    /**
+     * Opens a stream for the user. The oldest stream is closed when the user already has the maximum
+     * number open (e.g. forgotten tabs).
+     */
+    public SseEmitter register(Long userId) {
+        Connection connection = new Connection(new SseEmitter(timeout.toMillis()));
+        List<Connection> evicted = new ArrayList<>(1);
+        streams.compute(userId, (id, open) -> {
+            List<Connection> connections = open == null ? new ArrayList<>() : new ArrayList<>(open);
+            while (connections.size() >= maxConnectionsPerUser) {
+                evicted.add(connections.remove(0));
+            }
+            connections.add(connection);
+            return List.copyOf(connections);
+        });
+        evicted.forEach(this::close);
+
+        SseEmitter emitter = connection.emitter;
+        emitter.onCompletion(() -> remove(userId, connection));
+        emitter.onTimeout(() -> remove(userId, connection));
+        emitter.onError(e -> remove(userId, connection));
+
+        // Tells the client the stream is live before the first real event; queued like any other write, since
+        // a concurrent registration may already have evicted this stream
+        write(userId, connection, SseEmitter.event().comment("connected"));
+        return emitter;
+    }
+
+    /**
+     * Writes the event to the user's streams on this node, if any.
+     */
+    public void deliverLocal(RealtimeEvent event) {
+        List<Connection> connections = streams.get(event.getUserId());
+        if (connections == null) {
+            return;
+        }
+
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            log.error("Cannot serialize realtime event {}", event.getType(), e);
+            return;
+        }
+
+        for (Connection connection : connections) {
+            write(event.getUserId(), connection, SseEmitter.event().name(event.getType()).data(json, MediaType.APPLICATION_JSON));
+        }
+    }
+
+    public int getConnectionCount() {
+        return streams.values().stream().mapToInt(List::size).sum();
+    }
+
+    private void sendHeartbeats() {
+        long now = System.nanoTime();
+        streams.forEach((userId, connections) -> connections.forEach(connection -> {
+            long sendingSince = connection.sendingSince;
+            if (sendingSince != 0 && now - sendingSince > sendTimeout.toNanos()) {
+                log.warn("⚠️ Event stream of user {} stopped reading, closing it", userId);
+                drop(userId, connection);
+            } else {
+                write(userId, connection, SseEmitter.event().comment("ping"));
+            }
+        }));
+    }
+
+    private void write(Long userId, Connection connection, SseEmitter.SseEventBuilder event) {
+        if (connection.closed) {
+            return;
+        }
+        if (connection.pendingCount.incrementAndGet() > maxPendingPerConnection) {
+            log.warn("⚠️ Event stream of user {} is {} events behind, closing it", userId, maxPendingPerConnection);
+            drop(userId, connection);
+            return;
+        }
+        connection.pending.add(event);
+        schedule(userId, connection);
+    }
+
+    // At most one writer per connection, so events stay in order and a blocked send holds only one thread
+    private void schedule(Long userId, Connection connection) {
+        if (!connection.draining.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            executor.execute(() -> drain(userId, connection));
+        } catch (RejectedExecutionException e) {
+            connection.draining.set(false);
+            log.warn("Event stream executor saturated, dropping events for user {}", userId);
+            drop(userId, connection);
+        }
+    }
+
+    private void drain(Long userId, Connection connection) {
+        try {
+            SseEmitter.SseEventBuilder event;
+            while (!connection.closed && (event = connection.pending.poll()) != null) {
+                connection.pendingCount.decrementAndGet();
+                connection.sendingSince = System.nanoTime();
+                connection.emitter.send(event);
+                connection.sendingSince = 0;
+            }
+        } catch (IOException | IllegalStateException e) {
+            // Client disconnected or stream already completed
+            remove(userId, connection);
+        } finally {
+            connection.sendingSince = 0;
+            connection.draining.set(false);
+        }
+        if (connection.closed) {
+            // Dropped while this writer was sending; completing waits for the send, so it happens here
+            connection.complete();
+        } else if (!connection.pending.isEmpty()) {
+            // Queued after the last poll, while draining was still set
+            schedule(userId, connection);
+        }
+    }
+
+    private void drop(Long userId, Connection connection) {
+        remove(userId, connection);
+        close(connection);
+    }
+
+    // Completes the emitter right away unless a writer is in the middle of a send, which then completes it
+    private void close(Connection connection) {
+        connection.closed = true;
+        connection.pending.clear();
+        if (connection.draining.compareAndSet(false, true)) {
+            connection.complete();
+        }
+    }
+
+    private void remove(Long userId, Connection connection) {
+        streams.computeIfPresent(userId, (id, connections) -> {
+            List<Connection> remaining = new ArrayList<>(connections);
+            remaining.remove(connection);
+            return remaining.isEmpty() ? null : List.copyOf(remaining);
+        });
+    }
+
+    private static final class Connection {
+
+        private final SseEmitter emitter;
+        private final Queue<SseEmitter.SseEventBuilder> pending = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger pendingCount = new AtomicInteger();
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicBoolean completed = new AtomicBoolean();
+        // System.nanoTime() when the current send started, 0 while no send is in progress
+        private volatile long sendingSince;
+        private volatile boolean closed;
+
+        private Connection(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        private void complete() {
+            if (completed.compareAndSet(false, true)) {
+                emitter.complete();
+            }
+        }
+    }
+}
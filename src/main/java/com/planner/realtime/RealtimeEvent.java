@@ -0,0 +1,24 @@
+package com.planner.realtime;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * A change pushed to a user's open event streams, e.g. {@code task.updated} or {@code reminder.due}.
+ * Carries just enough for the client to update its view or refetch the one entity that changed.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RealtimeEvent {
+
+    private Long userId;
+    private String type;
+    private Long entityId;
+    private Map<String, Object> data;
+    private LocalDateTime occurredAt;
+}
@@ -0,0 +1,31 @@
+package com.planner.realtime;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Receives realtime events published by any node and writes them to the matching streams on this one.
+ */
+@Component
+@Slf4j
+public class RedisEventSubscriber implements MessageListener {
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private EventStreamRegistry registry;
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        try {
+            registry.deliverLocal(objectMapper.readValue(message.getBody(), RealtimeEvent.class));
+        } catch (Exception e) {
+            log.error("Cannot handle realtime event from Redis", e);
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.planner.repository;
+
+import com.planner.model.ArchivedReminder;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface ArchivedReminderRepository extends JpaRepository<ArchivedReminder, Long> {
+
+    List<ArchivedReminder> findByUserIdOrderByRemindAtDesc(Long userId);
+
+    @Query("SELECT CAST(r.remindAt AS LocalDate) AS day, COUNT(r) AS total FROM ArchivedReminder r " +
+            "WHERE r.userId = :userId AND r.remindAt >= :from AND r.remindAt < :to GROUP BY CAST(r.remindAt AS LocalDate)")
+    List<DailyCount> countByUserIdPerRemindDate(
+            @Param("userId") Long userId,
+            @Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to
+    );
+}
@@ -0,0 +1,21 @@
+package com.planner.repository;
+
+/**
+ * A user's summary counts computed from the source tables, as compared against {@code user_counters}.
+ */
+public interface CounterSnapshot {
+
+    long getTasksTotal();
+
+    long getTasksPending();
+
+    long getTasksInProgress();
+
+    long getTasksCompleted();
+
+    long getSchedulesTotal();
+
+    long getRemindersPending();
+
+    long getRemindersSent();
+}
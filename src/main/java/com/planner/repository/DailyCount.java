@@ -0,0 +1,13 @@
+package com.planner.repository;
+
+import java.time.LocalDate;
+
+/**
+ * Projection for per-day {@code COUNT(*) ... GROUP BY day} queries.
+ */
+public interface DailyCount {
+
+    LocalDate getDay();
+
+    long getTotal();
+}
@@ -0,0 +1,40 @@
+package com.planner.repository;
+
+import com.planner.model.DailyRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface DailyRollupRepository extends JpaRepository<DailyRollup, DailyRollup.Key> {
+
+    List<DailyRollup> findByUserIdAndDayBetweenOrderByDay(Long userId, LocalDate from, LocalDate to);
+
+    @Modifying
+    @Query(value = "DELETE FROM daily_rollups WHERE day = :day", nativeQuery = true)
+    int deleteByDay(@Param("day") LocalDate day);
+
+    // Every user's activity in [from, to) as one row per user; each branch is a range scan of one day
+    @Modifying
+    @Query(value = "INSERT INTO daily_rollups (user_id, day, tasks_created, tasks_completed, reminders_sent, " +
+            "scheduled_minutes, computed_at) " +
+            "SELECT a.user_id, :day, SUM(a.created), SUM(a.completed), SUM(a.sent), SUM(a.minutes), NOW() FROM (" +
+            "SELECT user_id, COUNT(*) AS created, 0 AS completed, 0 AS sent, 0 AS minutes FROM tasks " +
+            "WHERE created_at >= :from AND created_at < :to GROUP BY user_id " +
+            "UNION ALL SELECT user_id, 0, COUNT(*), 0, 0 FROM tasks " +
+            "WHERE completed_at >= :from AND completed_at < :to GROUP BY user_id " +
+            "UNION ALL SELECT user_id, 0, 0, COUNT(*), 0 FROM reminders " +
+            "WHERE is_sent = true AND remind_at >= :from AND remind_at < :to GROUP BY user_id " +
+            "UNION ALL SELECT user_id, 0, 0, COUNT(*), 0 FROM reminders_archive " +
+            "WHERE remind_at >= :from AND remind_at < :to GROUP BY user_id " +
+            "UNION ALL SELECT user_id, 0, 0, 0, SUM(TIMESTAMPDIFF(MINUTE, start_time, end_time)) FROM schedules " +
+            "WHERE start_time >= :from AND start_time < :to GROUP BY user_id" +
+            ") a GROUP BY a.user_id", nativeQuery = true)
+    int insertDay(@Param("day") LocalDate day, @Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+}
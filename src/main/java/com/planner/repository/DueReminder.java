@@ -0,0 +1,16 @@
+package com.planner.repository;
+
+import com.planner.model.Reminder;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * A due reminder together with its owner's email, loaded with a single join.
+ */
+@Getter
+@AllArgsConstructor
+public class DueReminder {
+
+    private final Reminder reminder;
+    private final String email;
+}
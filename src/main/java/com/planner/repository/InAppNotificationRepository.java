@@ -0,0 +1,29 @@
+package com.planner.repository;
+
+import com.planner.model.InAppNotification;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface InAppNotificationRepository extends JpaRepository<InAppNotification, Long> {
+
+    // Served by idx_user_created
+    List<InAppNotification> findByUserIdOrderByCreatedAtDesc(Long userId, Pageable pageable);
+
+    long countByUserIdAndReadAtIsNull(Long userId);
+
+    @Modifying
+    @Query("UPDATE InAppNotification n SET n.readAt = :now WHERE n.id = :id AND n.userId = :userId AND n.readAt IS NULL")
+    int markRead(@Param("userId") Long userId, @Param("id") Long id, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE InAppNotification n SET n.readAt = :now WHERE n.userId = :userId AND n.readAt IS NULL")
+    int markAllRead(@Param("userId") Long userId, @Param("now") LocalDateTime now);
+}
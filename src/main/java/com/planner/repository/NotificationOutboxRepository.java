@@ -0,0 +1,85 @@
+package com.planner.repository;
+
+import com.planner.model.NotificationOutbox;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface NotificationOutboxRepository extends JpaRepository<NotificationOutbox, Long> {
+
+    /**
+     * Locks the next ready rows of a channel until the surrounding transaction ends. Rows another node is
+     * leasing right now are skipped, so concurrent relays always pick disjoint batches. Served by
+     * idx_status_channel_next_attempt.
+     */
+    @Query(value = "SELECT * FROM notification_outbox WHERE status = 'PENDING' AND channel = :channel " +
+            "AND next_attempt_at <= :now ORDER BY next_attempt_at, id LIMIT :limit FOR UPDATE SKIP LOCKED",
+            nativeQuery = true)
+    List<NotificationOutbox> lockReady(@Param("channel") String channel, @Param("now") LocalDateTime now,
+                                       @Param("limit") int limit);
+
+    /**
+     * Counts an attempt and pushes the rows out of reach until the lease expires, so a crash mid-send
+     * leaves them to be retried instead of lost.
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE NotificationOutbox o SET o.attempts = o.attempts + 1, o.nextAttemptAt = :leaseUntil, " +
+            "o.updatedAt = :now WHERE o.id IN :ids AND o.status = 'PENDING'")
+    int lease(@Param("ids") Collection<Long> ids, @Param("leaseUntil") LocalDateTime leaseUntil,
+              @Param("now") LocalDateTime now);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE NotificationOutbox o SET o.status = 'SENT', o.sentAt = :now, o.lastError = NULL, " +
+            "o.updatedAt = :now WHERE o.id IN :ids")
+    int markSent(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+
+    /**
+     * Records a failed attempt, provided the row is still held under the lease {@code leaseUntil}; returns 0
+     * if the lease expired and the row was leased again (or delivered) meanwhile.
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE NotificationOutbox o SET o.nextAttemptAt = :nextAttemptAt, o.lastError = :error, " +
+            "o.updatedAt = :now WHERE o.id = :id AND o.status = 'PENDING' AND o.nextAttemptAt = :leaseUntil")
+    int scheduleRetry(@Param("id") Long id, @Param("leaseUntil") LocalDateTime leaseUntil,
+                      @Param("nextAttemptAt") LocalDateTime nextAttemptAt, @Param("error") String error,
+                      @Param("now") LocalDateTime now);
+
+    /**
+     * Dead-letters a row, provided it is still held under the lease {@code leaseUntil}.
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE NotificationOutbox o SET o.status = 'DEAD', o.lastError = :error, o.updatedAt = :now " +
+            "WHERE o.id = :id AND o.status = 'PENDING' AND o.nextAttemptAt = :leaseUntil")
+    int markDead(@Param("id") Long id, @Param("leaseUntil") LocalDateTime leaseUntil, @Param("error") String error,
+                 @Param("now") LocalDateTime now);
+
+    Page<NotificationOutbox> findByStatusOrderByUpdatedAtDesc(String status, Pageable pageable);
+
+    long countByStatus(String status);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE NotificationOutbox o SET o.status = 'PENDING', o.attempts = 0, o.nextAttemptAt = :now, " +
+            "o.updatedAt = :now WHERE o.id IN :ids AND o.status = 'DEAD'")
+    int replayDead(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE NotificationOutbox o SET o.status = 'PENDING', o.attempts = 0, o.nextAttemptAt = :now, " +
+            "o.updatedAt = :now WHERE o.status = 'DEAD'")
+    int replayAllDead(@Param("now") LocalDateTime now);
+}
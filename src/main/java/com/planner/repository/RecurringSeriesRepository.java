@@ -0,0 +1,23 @@
+package com.planner.repository;
+
+import com.planner.model.RecurringSeries;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface RecurringSeriesRepository extends JpaRepository<RecurringSeries, Long> {
+
+    List<RecurringSeries> findByUserId(Long userId);
+
+    Optional<RecurringSeries> findByIdAndUserId(Long id, Long userId);
+
+    @Query("SELECT s FROM RecurringSeries s WHERE s.active = true AND s.rolloverAt <= :now ORDER BY s.rolloverAt")
+    List<RecurringSeries> findDueForRollover(@Param("now") LocalDateTime now, Pageable pageable);
+}
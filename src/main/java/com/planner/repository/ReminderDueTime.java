@@ -0,0 +1,13 @@
+package com.planner.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * Lean projection used to load reminders into the dispatcher without materializing full entities.
+ */
+public interface ReminderDueTime {
+
+    Long getId();
+
+    LocalDateTime getRemindAt();
+}
@@ -1,13 +1,22 @@
 package com.planner.repository;
+import com.planner.dto.response.ReminderResponse;
 import com.planner.model.Reminder;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface ReminderRepository extends JpaRepository<Reminder, Long> {
@@ -22,12 +31,112 @@ public interface ReminderRepository extends JpaRepository<Reminder, Long> {
     @Query("SELECT r FROM Reminder r WHERE r.userId = :userId AND DATE(r.remindAt) = CURRENT_DATE AND r.isSent = false ORDER BY r.remindAt")
     List<Reminder> findTodayReminders(@Param("userId") Long userId);
 
-    @Query("SELECT r FROM Reminder r WHERE r.remindAt <= :now AND r.isSent = false")
-    List<Reminder> findPendingReminders(@Param("now") LocalDateTime now);
+    @Query("SELECT new com.planner.dto.response.ReminderResponse(r.id, r.userId, r.title, r.description, " +
+            "r.remindAt, r.isSent, false, r.seriesId, r.createdAt, r.updatedAt) FROM Reminder r " +
+            "WHERE r.userId = :userId AND r.isSent = false AND r.remindAt >= :from AND r.remindAt < :to " +
+            "ORDER BY r.remindAt, r.id")
+    List<ReminderResponse> findUnsentResponsesByUserIdInWindow(
+            @Param("userId") Long userId,
+            @Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to
+    );
+
+    // Keyset page over (remindAt, id): callers pass the last row of the previous page as the cursor
+    @Query("SELECT r.id AS id, r.remindAt AS remindAt FROM Reminder r " +
+            "WHERE r.isSent = false AND r.remindAt < :to " +
+            "AND (r.remindAt > :afterAt OR (r.remindAt = :afterAt AND r.id > :afterId)) " +
+            "ORDER BY r.remindAt, r.id")
+    List<ReminderDueTime> findUnsentDueBeforeAfterCursor(
+            @Param("to") LocalDateTime to,
+            @Param("afterAt") LocalDateTime afterAt,
+            @Param("afterId") Long afterId,
+            Pageable pageable
+    );
+
+    // Locks are held until the claim commits; rows another node is claiming are skipped instead of waited on
+    @Query(value = "SELECT id FROM reminders WHERE id IN (:ids) AND is_sent = false FOR UPDATE SKIP LOCKED",
+            nativeQuery = true)
+    List<Long> lockUnsentByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Read in idx_user_remind order, so the scan (and with it the locking) stops after :limit rows
+    @Query(value = "SELECT id FROM reminders WHERE user_id IN (:userIds) AND is_sent = false AND remind_at < :before " +
+            "ORDER BY user_id, remind_at, id LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<Long> lockUnsentByUserIdInDueBefore(@Param("userIds") Collection<Long> userIds,
+                                             @Param("before") LocalDateTime before, @Param("limit") int limit);
+
+    @Query("SELECT r.userId AS userId, COUNT(r) AS total FROM Reminder r WHERE r.userId IN :userIds " +
+            "AND r.isSent = false AND r.remindAt < :before GROUP BY r.userId")
+    List<UserCount> countUnsentByUserIdInDueBefore(@Param("userIds") Collection<Long> userIds,
+                                                   @Param("before") LocalDateTime before);
+
+    // Each user's :perUser most recent unsent reminders due before the cutoff
+    @Query(value = "SELECT id FROM (SELECT id, ROW_NUMBER() OVER (PARTITION BY user_id ORDER BY remind_at DESC, id DESC) " +
+            "AS recency FROM reminders WHERE user_id IN (:userIds) AND is_sent = false AND remind_at < :before) latest " +
+            "WHERE recency <= :perUser", nativeQuery = true)
+    List<Long> findLatestUnsentIdsByUserIdInDueBefore(@Param("userIds") Collection<Long> userIds,
+                                                      @Param("before") LocalDateTime before,
+                                                      @Param("perUser") int perUser);
+
+    // Keyset page over the owners of unsent reminders due before the cutoff
+    @Query("SELECT DISTINCT r.userId FROM Reminder r WHERE r.isSent = false AND r.remindAt < :before " +
+            "AND r.userId > :afterUserId ORDER BY r.userId")
+    List<Long> findUserIdsWithUnsentDueBefore(@Param("before") LocalDateTime before,
+                                              @Param("afterUserId") Long afterUserId, Pageable pageable);
+
+    @Query("SELECT r.userId AS userId, COUNT(r) AS total FROM Reminder r WHERE r.id IN :ids GROUP BY r.userId")
+    List<UserCount> countByUserIdForIdIn(@Param("ids") Collection<Long> ids);
+
+    long countByIsSentFalseAndRemindAtBefore(LocalDateTime before);
+
+    @Query("SELECT COUNT(DISTINCT r.userId) FROM Reminder r WHERE r.isSent = false AND r.remindAt < :before")
+    long countUsersWithUnsentDueBefore(@Param("before") LocalDateTime before);
+
+    Optional<ReminderDueTime> findFirstByIsSentFalseAndRemindAtBeforeOrderByRemindAtAsc(LocalDateTime before);
+
+    @Query("SELECT new com.planner.repository.DueReminder(r, u.email) FROM Reminder r JOIN User u ON u.id = r.userId " +
+            "WHERE r.id IN :ids AND r.isSent = false")
+    List<DueReminder> findUnsentWithEmailByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE Reminder r SET r.isSent = true, r.updatedAt = :now WHERE r.id IN :ids AND r.isSent = false")
+    int markSent(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+
+    // Oldest sent rows first via idx_sent_remind; rows being edited right now are left for the next batch
+    @Query(value = "SELECT id FROM reminders WHERE is_sent = true AND remind_at < :before " +
+            "ORDER BY remind_at, id LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<Long> lockSentDueBefore(@Param("before") LocalDateTime before, @Param("limit") int limit);
+
+    @Modifying
+    @Query(value = "INSERT INTO reminders_archive (id, user_id, title, description, remind_at, series_id, " +
+            "occurrence_at, created_at, updated_at, archived_at) SELECT id, user_id, title, description, remind_at, " +
+            "series_id, occurrence_at, created_at, updated_at, :now FROM reminders WHERE id IN (:ids)",
+            nativeQuery = true)
+    int copyToArchive(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("DELETE FROM Reminder r WHERE r.id IN :ids")
+    int deleteByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT CAST(r.remindAt AS LocalDate) AS day, COUNT(r) AS total FROM Reminder r " +
+            "WHERE r.userId = :userId AND r.remindAt >= :from AND r.remindAt < :to GROUP BY CAST(r.remindAt AS LocalDate)")
+    List<DailyCount> countByUserIdPerRemindDate(
+            @Param("userId") Long userId,
+            @Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to
+    );
+
+    // Integer.MIN_VALUE makes Connector/J stream rows instead of buffering the whole result set
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE))
+    Stream<Reminder> streamByUserId(Long userId);
 
     Optional<Reminder> findByIdAndUserId(Long id, Long userId);
 
     void deleteByIdAndUserId(Long id, Long userId);
 
     long countByUserIdAndIsSent(Long userId, Boolean isSent);
+
+    @Modifying
+    @Query("DELETE FROM Reminder r WHERE r.seriesId = :seriesId AND r.isSent = false AND r.remindAt > :after")
+    int deleteUnsentSeriesInstancesAfter(@Param("seriesId") Long seriesId, @Param("after") LocalDateTime after);
 }
\ No newline at end of file
@@ -1,14 +1,19 @@
 package com.planner.repository;
 
+import com.planner.dto.response.ScheduleResponse;
 import com.planner.model.Schedule;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface ScheduleRepository extends JpaRepository<Schedule, Long> {
@@ -25,6 +30,46 @@ public interface ScheduleRepository extends JpaRepository<Schedule, Long> {
     @Query("SELECT s FROM Schedule s WHERE s.userId = :userId AND DATE(s.startTime) = CURRENT_DATE ORDER BY s.startTime")
     List<Schedule> findTodaySchedules(@Param("userId") Long userId);
 
+    @Query("SELECT COUNT(s) FROM Schedule s WHERE s.userId = :userId AND DATE(s.startTime) = CURRENT_DATE")
+    long countTodaySchedules(@Param("userId") Long userId);
+
+    @Query("SELECT s FROM Schedule s WHERE s.userId = :userId AND s.startTime >= :from AND s.startTime < :to " +
+            "ORDER BY s.startTime")
+    List<Schedule> findByUserIdAndStartTimeInWindow(
+            @Param("userId") Long userId,
+            @Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to
+    );
+
+    @Query("SELECT COUNT(s) FROM Schedule s WHERE s.userId = :userId AND s.startTime >= :from AND s.startTime < :to")
+    long countByUserIdAndStartTimeInWindow(
+            @Param("userId") Long userId,
+            @Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to
+    );
+
+    @Query("SELECT new com.planner.dto.response.ScheduleResponse(s.id, s.userId, s.title, s.description, " +
+            "s.startTime, s.endTime, s.location, s.createdAt, s.updatedAt) FROM Schedule s " +
+            "WHERE s.userId = :userId AND s.startTime >= :from AND s.startTime < :to ORDER BY s.startTime, s.id")
+    List<ScheduleResponse> findResponsesByUserIdAndStartTimeInWindow(
+            @Param("userId") Long userId,
+            @Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to
+    );
+
+    // Half-open range on start_time so the (user_id, start_time) index is used; grouping happens on the matched rows only
+    @Query("SELECT CAST(s.startTime AS LocalDate) AS day, COUNT(s) AS total FROM Schedule s " +
+            "WHERE s.userId = :userId AND s.startTime >= :from AND s.startTime < :to GROUP BY CAST(s.startTime AS LocalDate)")
+    List<DailyCount> countByUserIdPerStartDate(
+            @Param("userId") Long userId,
+            @Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to
+    );
+
+    // Integer.MIN_VALUE makes Connector/J stream rows instead of buffering the whole result set
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE))
+    Stream<Schedule> streamByUserId(Long userId);
+
     Optional<Schedule> findByIdAndUserId(Long id, Long userId);
 
     void deleteByIdAndUserId(Long id, Long userId);
@@ -1,14 +1,21 @@
 package com.planner.repository;
 
+import com.planner.dto.response.TaskResponse;
 import com.planner.model.Task;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface TaskRepository extends JpaRepository<Task, Long> {
@@ -28,9 +35,35 @@ public interface TaskRepository extends JpaRepository<Task, Long> {
             @Param("endDate") LocalDate endDate
     );
 
+    // Straight into responses: no managed entities to hydrate, snapshot for dirty checking or map afterwards
+    @Query("SELECT new com.planner.dto.response.TaskResponse(t.id, t.userId, t.title, t.description, t.status, " +
+            "t.priority, t.dueDate, t.seriesId, t.createdAt, t.updatedAt) FROM Task t " +
+            "WHERE t.userId = :userId AND t.dueDate >= :from AND t.dueDate < :to ORDER BY t.dueDate, t.id")
+    List<TaskResponse> findResponsesByUserIdAndDueDateInWindow(
+            @Param("userId") Long userId,
+            @Param("from") LocalDate from,
+            @Param("to") LocalDate to
+    );
+
+    // Integer.MIN_VALUE makes Connector/J stream rows instead of buffering the whole result set
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE))
+    Stream<Task> streamByUserIdAndDueDateIsNotNull(Long userId);
+
     Optional<Task> findByIdAndUserId(Long id, Long userId);
 
     void deleteByIdAndUserId(Long id, Long userId);
 
     long countByUserIdAndStatus(Long userId, String status);
+
+    @Query("SELECT t.dueDate AS day, COUNT(t) AS total FROM Task t " +
+            "WHERE t.userId = :userId AND t.dueDate BETWEEN :startDate AND :endDate GROUP BY t.dueDate")
+    List<DailyCount> countByUserIdPerDueDate(
+            @Param("userId") Long userId,
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate
+    );
+
+    @Modifying
+    @Query("DELETE FROM Task t WHERE t.seriesId = :seriesId AND t.status = 'PENDING' AND t.occurrenceAt > :after")
+    int deletePendingSeriesInstancesAfter(@Param("seriesId") Long seriesId, @Param("after") LocalDateTime after);
 }
\ No newline at end of file
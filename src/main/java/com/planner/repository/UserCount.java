@@ -0,0 +1,11 @@
+package com.planner.repository;
+
+/**
+ * Projection for per-user {@code COUNT(*) ... GROUP BY user} queries.
+ */
+public interface UserCount {
+
+    Long getUserId();
+
+    long getTotal();
+}
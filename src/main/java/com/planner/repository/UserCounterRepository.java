@@ -0,0 +1,59 @@
+package com.planner.repository;
+
+import com.planner.model.UserCounter;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface UserCounterRepository extends JpaRepository<UserCounter, Long> {
+
+    // Relative, so concurrent writers never overwrite each other; a missing row is left for the reconciler
+    @Modifying
+    @Query(value = "UPDATE user_counters SET tasks_total = tasks_total + :tasksTotal, " +
+            "tasks_pending = tasks_pending + :tasksPending, " +
+            "tasks_in_progress = tasks_in_progress + :tasksInProgress, " +
+            "tasks_completed = tasks_completed + :tasksCompleted, " +
+            "schedules_total = schedules_total + :schedulesTotal, " +
+            "reminders_pending = reminders_pending + :remindersPending, " +
+            "reminders_sent = reminders_sent + :remindersSent " +
+            "WHERE user_id = :userId", nativeQuery = true)
+    int applyDelta(@Param("userId") Long userId,
+                   @Param("tasksTotal") long tasksTotal,
+                   @Param("tasksPending") long tasksPending,
+                   @Param("tasksInProgress") long tasksInProgress,
+                   @Param("tasksCompleted") long tasksCompleted,
+                   @Param("schedulesTotal") long schedulesTotal,
+                   @Param("remindersPending") long remindersPending,
+                   @Param("remindersSent") long remindersSent);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM UserCounter c WHERE c.userId = :userId")
+    Optional<UserCounter> lockByUserId(@Param("userId") Long userId);
+
+    // Plain (non-locking) reads, so recounting never blocks the writers
+    @Query(value = "SELECT " +
+            "(SELECT COUNT(*) FROM tasks WHERE user_id = :userId) AS tasksTotal, " +
+            "(SELECT COUNT(*) FROM tasks WHERE user_id = :userId AND status = 'PENDING') AS tasksPending, " +
+            "(SELECT COUNT(*) FROM tasks WHERE user_id = :userId AND status = 'IN_PROGRESS') AS tasksInProgress, " +
+            "(SELECT COUNT(*) FROM tasks WHERE user_id = :userId AND status = 'COMPLETED') AS tasksCompleted, " +
+            "(SELECT COUNT(*) FROM schedules WHERE user_id = :userId) AS schedulesTotal, " +
+            "(SELECT COUNT(*) FROM reminders WHERE user_id = :userId AND is_sent = false) AS remindersPending, " +
+            "(SELECT COUNT(*) FROM reminders WHERE user_id = :userId AND is_sent = true) + " +
+            "(SELECT COUNT(*) FROM reminders_archive WHERE user_id = :userId) AS remindersSent",
+            nativeQuery = true)
+    CounterSnapshot countFromSource(@Param("userId") Long userId);
+
+    // Users without counters first, then the ones reconciled longest ago
+    @Query(value = "SELECT u.id FROM users u LEFT JOIN user_counters c ON c.user_id = u.id " +
+            "ORDER BY c.reconciled_at IS NOT NULL, c.reconciled_at, u.id", nativeQuery = true)
+    List<Long> findUserIdsDueForReconcile(Pageable pageable);
+}
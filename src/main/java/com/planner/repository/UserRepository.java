@@ -2,8 +2,12 @@ package com.planner.repository;
 
 import com.planner.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -12,4 +16,9 @@ public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByEmail(String email);
 
     Boolean existsByEmail(String email);
+
+    Optional<User> findByFeedToken(String feedToken);
+
+    @Query("SELECT u.id FROM User u WHERE u.email IN :emails")
+    List<Long> findIdsByEmailIn(@Param("emails") Collection<String> emails);
 }
\ No newline at end of file
@@ -0,0 +1,63 @@
+package com.planner.scheduler;
+
+import com.planner.service.DailyRollupService;
+import lombok.extern.slf4j.Slf4j;
+import org.quartz.DisallowConcurrentExecution;
+import org.quartz.Job;
+import org.quartz.JobDataMap;
+import org.quartz.JobExecutionContext;
+import org.quartz.JobExecutionException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDate;
+
+/**
+ * Rolls up the days that just ended; triggered with {@link #FROM} and {@link #TO} in its data map, it
+ * backfills that range instead. Every day commits on its own, and a backfill pauses between days so a long
+ * history does not saturate the primary.
+ */
+@Component
+@Slf4j
+@DisallowConcurrentExecution
+public class DailyRollupJob implements Job {
+
+    public static final String FROM = "from";
+    public static final String TO = "to";
+
+    @Autowired
+    private DailyRollupService rollupService;
+
+    @Value("${rollup.backfill.day-pause:PT0.5S}")
+    private Duration dayPause;
+
+    @Override
+    public void execute(JobExecutionContext context) throws JobExecutionException {
+        JobDataMap data = context.getMergedJobDataMap();
+        boolean backfill = data.containsKey(FROM);
+        LocalDate yesterday = LocalDate.now().minusDays(1);
+        LocalDate from = backfill
+                ? LocalDate.parse(data.getString(FROM))
+                : yesterday.minusDays(rollupService.getLookbackDays() - 1);
+        LocalDate to = backfill ? LocalDate.parse(data.getString(TO)) : yesterday;
+
+        try {
+            long users = 0;
+            for (LocalDate day = from; !day.isAfter(to); day = day.plusDays(1)) {
+                users += rollupService.rollUp(day);
+                if (backfill && day.isBefore(to)) {
+                    Thread.sleep(dayPause.toMillis());
+                }
+            }
+            log.info("📈 Rolled up {} to {} ({} user-days){}", from, to, users, backfill ? " [backfill]" : "");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("⚠️ Daily rollup job interrupted");
+        } catch (Exception e) {
+            log.error("❌ Error in Daily Rollup Job", e);
+            throw new JobExecutionException(e);
+        }
+    }
+}
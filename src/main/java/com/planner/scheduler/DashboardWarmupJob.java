@@ -0,0 +1,72 @@
+package com.planner.scheduler;
+
+import com.planner.service.ActiveUserTracker;
+import com.planner.service.DashboardWarmupService;
+import lombok.extern.slf4j.Slf4j;
+import org.quartz.DisallowConcurrentExecution;
+import org.quartz.Job;
+import org.quartz.JobExecutionContext;
+import org.quartz.JobExecutionException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Pre-warms the dashboards of recently active users once a day, after midnight has started the new cache
+ * day and before the morning peak. Users are warmed in batches with a pause in between, so the database sees
+ * a steady trickle instead of the peak's burst.
+ */
+@Component
+@Slf4j
+@DisallowConcurrentExecution
+public class DashboardWarmupJob implements Job {
+
+    @Autowired
+    private ActiveUserTracker activeUserTracker;
+
+    @Autowired
+    private DashboardWarmupService warmupService;
+
+    @Value("${dashboard.warmup.batch-pause:PT2S}")
+    private Duration batchPause;
+
+    @Override
+    public void execute(JobExecutionContext context) throws JobExecutionException {
+        int batchSize = warmupService.getBatchSize();
+
+        try {
+            long pruned = activeUserTracker.pruneInactive();
+            activeUserTracker.snapshotActiveUsers();
+            long total = 0;
+            int warmed;
+            do {
+                warmed = warmupService.warmBatch(total);
+                total += warmed;
+                if (warmed == batchSize) {
+                    Thread.sleep(batchPause.toMillis());
+                }
+            } while (warmed == batchSize);
+
+            log.info("🔥 Warmed dashboards of {} active users ({} inactive dropped)", total, pruned);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("⚠️ Dashboard warmup job interrupted");
+        } catch (Exception e) {
+            log.error("❌ Error in Dashboard Warmup Job", e);
+            throw new JobExecutionException(e);
+        } finally {
+            dropSnapshot();
+        }
+    }
+
+    private void dropSnapshot() {
+        try {
+            activeUserTracker.dropSnapshot();
+        } catch (Exception e) {
+            // Expires on its own
+            log.warn("⚠️ Failed to drop the warmup snapshot: {}", e.getMessage());
+        }
+    }
+}
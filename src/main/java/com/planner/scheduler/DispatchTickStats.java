@@ -0,0 +1,23 @@
+package com.planner.scheduler;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.time.LocalDateTime;
+
+/**
+ * Counters for one dispatcher tick, i.e. one drain of everything that came due at the same time.
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class DispatchTickStats {
+
+    private final LocalDateTime startedAt;
+    private final long durationMillis;
+    private final int chunks;
+    private final int scanned;
+    private final int claimed;
+    private final int failed;
+}
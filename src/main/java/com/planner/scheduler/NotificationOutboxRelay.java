@@ -0,0 +1,418 @@
+package com.planner.scheduler;
+
+import com.planner.model.NotificationOutbox;
+import com.planner.model.Reminder;
+import com.planner.notification.Notification;
+import com.planner.repository.NotificationOutboxRepository;
+import com.planner.service.NotificationService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Drains notification_outbox on its own thread, so a slow or failing channel never holds up the
+ * {@link ReminderDispatcher}.
+ *
+ * Every channel is drained as its own lane: rows are fetched per channel, leased (attempt count bumped,
+ * next attempt pushed past the lease) and handed to the channel without waiting. Each lane has its own
+ * in-flight limit, so a slow channel only ever stops its own lane from pulling more work. Completions are
+ * collected and written back by the relay thread: successes in one UPDATE per round, failures with
+ * exponential backoff and jitter until {@code max-attempts}, after which rows are dead-lettered for an admin
+ * to inspect and replay. A crash mid-send only delays rows until their lease expires, so delivery is
+ * at-least-once. Failures are only written back while the row is still under the lease it was sent with, so
+ * a send that outlived its lease cannot overwrite the state of the node that has leased the row since.
+ *
+ * Every node runs a relay against the same table. Rows are selected {@code FOR UPDATE SKIP LOCKED} and
+ * leased in the same short transaction, so each node takes a disjoint batch and delivery throughput grows
+ * with the number of nodes; rows leased by a node that dies become ready again once the lease expires.
+ *
+ * Per channel it records delivery outcomes, the delivery lag ({@code reminder.delivery.lag}: delivered
+ * minus remindAt, the number users actually feel), leased batch sizes and in-flight deliveries.
+ *
+ * With {@code notification.digest.enabled}, rows in a batch that belong to the same user are coalesced into
+ * a single digest message.
+ */
+@Component
+@Slf4j
+public class NotificationOutboxRelay {
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+    private static final int MARK_SENT_CHUNK = 1000;
+
+    private final Semaphore wakeUp = new Semaphore(0);
+
+    private final Map<String, AtomicInteger> inFlight = new ConcurrentHashMap<>();
+    private final Queue<Long> delivered = new ConcurrentLinkedQueue<>();
+    private final Queue<FailedDelivery> failed = new ConcurrentLinkedQueue<>();
+    private final Map<String, ChannelMeters> channelMeters = new ConcurrentHashMap<>();
+
+    @Autowired
+    private NotificationOutboxRepository outboxRepository;
+
+    @Autowired
+    private NotificationService notificationService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${notification.outbox.batch-size:100}")
+    private int batchSize;
+
+    @Value("${notification.outbox.max-in-flight-per-channel:200}")
+    private int maxInFlightPerChannel;
+
+    @Value("${notification.outbox.poll-interval:PT5S}")
+    private Duration pollInterval;
+
+    @Value("${notification.outbox.lease:PT2M}")
+    private Duration lease;
+
+    @Value("${notification.outbox.max-attempts:8}")
+    private int maxAttempts;
+
+    @Value("${notification.outbox.initial-backoff:PT30S}")
+    private Duration initialBackoff;
+
+    @Value("${notification.outbox.max-backoff:PT1H}")
+    private Duration maxBackoff;
+
+    @Value("${notification.digest.enabled:false}")
+    private boolean digestEnabled;
+
+    private final AtomicLong totalSent = new AtomicLong();
+    private final AtomicLong totalRetried = new AtomicLong();
+    private final AtomicLong totalDeadLettered = new AtomicLong();
+
+    private volatile boolean running;
+    private Thread worker;
+    private TransactionTemplate leaseTransaction;
+
+    @PostConstruct
+    public void start() {
+        leaseTransaction = new TransactionTemplate(transactionManager);
+        running = true;
+        worker = new Thread(this::run, "notification-relay");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        if (worker != null) {
+            worker.interrupt();
+        }
+    }
+
+    /**
+     * Drains immediately instead of waiting for the next poll, e.g. right after the dispatcher claimed a
+     * chunk, a delivery completed or an admin replayed dead letters.
+     */
+    public void wakeUp() {
+        if (wakeUp.availablePermits() == 0) {
+            wakeUp.release();
+        }
+    }
+
+    public long getTotalSent() {
+        return totalSent.get();
+    }
+
+    public long getTotalRetried() {
+        return totalRetried.get();
+    }
+
+    public long getTotalDeadLettered() {
+        return totalDeadLettered.get();
+    }
+
+    /**
+     * Deliveries handed to each channel that have not completed yet.
+     */
+    public Map<String, Integer> getInFlight() {
+        Map<String, Integer> snapshot = new LinkedHashMap<>();
+        inFlight.forEach((channel, count) -> snapshot.put(channel, count.get()));
+        return snapshot;
+    }
+
+    private void run() {
+        while (running) {
+            try {
+                drain();
+                if (wakeUp.tryAcquire(pollInterval.toMillis(), TimeUnit.MILLISECONDS)) {
+                    wakeUp.drainPermits();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                log.error("❌ Error in notification relay loop", e);
+                try {
+                    Thread.sleep(pollInterval.toMillis());
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private void drain() {
+        boolean more;
+        do {
+            more = false;
+            for (String channel : notificationService.getEnabledChannelNames()) {
+                int capacity = maxInFlightPerChannel - inFlight(channel).get();
+                if (capacity <= 0) {
+                    continue;
+                }
+                int limit = Math.min(batchSize, capacity);
+                List<NotificationOutbox> batch = lease(channel, limit);
+                if (batch.isEmpty()) {
+                    continue;
+                }
+                meters(channel).batchSize.record(batch.size());
+                dispatch(channel, batch);
+                more |= batch.size() == limit;
+            }
+            flush();
+        } while (more && running);
+    }
+
+    // The row locks only last until the lease is written; after that the lease itself keeps other nodes away
+    private List<NotificationOutbox> lease(String channel, int limit) {
+        LocalDateTime now = LocalDateTime.now();
+        // Whole seconds, as the column stores them, so the value identifies this lease when writing back
+        LocalDateTime leaseUntil = now.plus(lease).truncatedTo(ChronoUnit.SECONDS);
+        List<NotificationOutbox> batch = leaseTransaction.execute(status -> {
+            List<NotificationOutbox> locked = outboxRepository.lockReady(channel, now, limit);
+            if (!locked.isEmpty()) {
+                List<Long> ids = new ArrayList<>(locked.size());
+                locked.forEach(row -> ids.add(row.getId()));
+                outboxRepository.lease(ids, leaseUntil, now);
+            }
+            return locked;
+        });
+        // Detached by now, so this only tags the rows with the lease they are sent under
+        batch.forEach(row -> row.setNextAttemptAt(leaseUntil));
+        return batch;
+    }
+
+    private void dispatch(String channel, List<NotificationOutbox> batch) {
+        AtomicInteger channelInFlight = inFlight(channel);
+        channelInFlight.addAndGet(batch.size());
+        ChannelMeters meters = meters(channel);
+
+        for (List<NotificationOutbox> rows : digestEnabled ? groupByRecipient(batch) : singles(batch)) {
+            NotificationOutbox first = rows.get(0);
+            List<Reminder> reminders = rows.stream().map(NotificationOutboxRelay::toReminder).toList();
+            notificationService.send(channel, new Notification(first.getUserId(), first.getRecipient(), reminders))
+                    .whenComplete((ignored, e) -> {
+                        if (e == null) {
+                            rows.forEach(row -> delivered.add(row.getId()));
+                            meters.recordDelivered(rows);
+                        } else {
+                            meters.failed.increment(rows.size());
+                            failed.add(new FailedDelivery(rows, e instanceof CompletionException && e.getCause() != null
+                                    ? e.getCause() : e));
+                        }
+                        channelInFlight.addAndGet(-rows.size());
+                        wakeUp();
+                    });
+        }
+    }
+
+    // Writes back everything that completed since the last round; successes in one statement per chunk
+    private void flush() {
+        List<Long> sent = new ArrayList<>();
+        Long id;
+        while ((id = delivered.poll()) != null) {
+            sent.add(id);
+        }
+        for (int from = 0; from < sent.size(); from += MARK_SENT_CHUNK) {
+            outboxRepository.markSent(sent.subList(from, Math.min(from + MARK_SENT_CHUNK, sent.size())),
+                    LocalDateTime.now());
+        }
+        totalSent.addAndGet(sent.size());
+
+        int failures = 0;
+        LocalDateTime now = LocalDateTime.now();
+        FailedDelivery failure;
+        while ((failure = failed.poll()) != null) {
+            recordFailure(failure.rows, failure.error, now);
+            failures += failure.rows.size();
+        }
+
+        if (!sent.isEmpty() || failures > 0) {
+            log.info("📤 Outbox delivered: {} sent, {} failed", sent.size(), failures);
+        }
+    }
+
+    // Rows for the same recipient that became ready together go out as one digest
+    private static List<List<NotificationOutbox>> groupByRecipient(List<NotificationOutbox> batch) {
+        Map<String, List<NotificationOutbox>> byRecipient = new LinkedHashMap<>();
+        for (NotificationOutbox row : batch) {
+            byRecipient.computeIfAbsent(row.getUserId() + ":" + row.getRecipient(), key -> new ArrayList<>()).add(row);
+        }
+        return new ArrayList<>(byRecipient.values());
+    }
+
+    private static List<List<NotificationOutbox>> singles(List<NotificationOutbox> batch) {
+        List<List<NotificationOutbox>> messages = new ArrayList<>(batch.size());
+        batch.forEach(row -> messages.add(List.of(row)));
+        return messages;
+    }
+
+    /**
+     * Rows of a failed digest share one retry time so they are retried as a digest again. A row whose lease
+     * expired before the send failed is left alone; whoever leased it since owns its state.
+     */
+    private void recordFailure(List<NotificationOutbox> rows, Throwable error, LocalDateTime now) {
+        String message = truncate(error.getClass().getSimpleName() + ": " + error.getMessage());
+        LocalDateTime nextAttemptAt = null;
+        for (NotificationOutbox row : rows) {
+            // The lease already counted this attempt
+            int attempts = row.getAttempts() + 1;
+            if (attempts >= maxAttempts) {
+                if (outboxRepository.markDead(row.getId(), row.getNextAttemptAt(), message, now) == 0) {
+                    logLeaseLost(row);
+                    continue;
+                }
+                totalDeadLettered.incrementAndGet();
+                meters(row.getChannel()).deadLettered.increment();
+                log.error("☠️ {} notification {} for reminder {} dead-lettered after {} attempts: {}",
+                        row.getChannel(), row.getId(), row.getReminderId(), attempts, message);
+            } else {
+                if (nextAttemptAt == null) {
+                    nextAttemptAt = now.plus(backoff(attempts));
+                }
+                if (outboxRepository.scheduleRetry(row.getId(), row.getNextAttemptAt(), nextAttemptAt, message, now) == 0) {
+                    logLeaseLost(row);
+                    continue;
+                }
+                totalRetried.incrementAndGet();
+                log.warn("⚠️ {} notification {} for reminder {} failed (attempt {}), retrying at {}: {}",
+                        row.getChannel(), row.getId(), row.getReminderId(), attempts, nextAttemptAt, message);
+            }
+        }
+    }
+
+    private static void logLeaseLost(NotificationOutbox row) {
+        log.warn("⏭️ {} notification {} for reminder {} failed after its lease expired, leaving it to its current holder",
+                row.getChannel(), row.getId(), row.getReminderId());
+    }
+
+    // initial * 2^(attempts - 1), capped, with the upper half randomized so failed batches do not retry in lockstep
+    private Duration backoff(int attempts) {
+        long millis = initialBackoff.toMillis() << Math.min(attempts - 1, 30);
+        millis = Math.min(Math.max(millis, 0), maxBackoff.toMillis());
+        long half = millis / 2;
+        return Duration.ofMillis(half + ThreadLocalRandom.current().nextLong(half + 1));
+    }
+
+    private AtomicInteger inFlight(String channel) {
+        return inFlight.computeIfAbsent(channel, key -> new AtomicInteger());
+    }
+
+    private ChannelMeters meters(String channel) {
+        return channelMeters.computeIfAbsent(channel, key -> new ChannelMeters(key, inFlight(key), meterRegistry));
+    }
+
+    private static Reminder toReminder(NotificationOutbox row) {
+        return Reminder.builder()
+                .id(row.getReminderId())
+                .userId(row.getUserId())
+                .title(row.getTitle())
+                .description(row.getDescription())
+                .remindAt(row.getRemindAt())
+                .build();
+    }
+
+    private static String truncate(String message) {
+        return message.length() <= MAX_ERROR_LENGTH ? message : message.substring(0, MAX_ERROR_LENGTH);
+    }
+
+    private static final class ChannelMeters {
+
+        private final Counter delivered;
+        private final Counter failed;
+        private final Counter deadLettered;
+        private final Timer lag;
+        private final DistributionSummary batchSize;
+
+        private ChannelMeters(String channel, AtomicInteger inFlight, MeterRegistry registry) {
+            this.delivered = deliveryCounter(registry, channel, "success");
+            this.failed = deliveryCounter(registry, channel, "failure");
+            this.deadLettered = deliveryCounter(registry, channel, "dead");
+            this.lag = Timer.builder("reminder.delivery.lag")
+                    .description("Time from a reminder's remindAt until its notification was delivered")
+                    .tag("channel", channel)
+                    .publishPercentileHistogram()
+                    .minimumExpectedValue(Duration.ofMillis(100))
+                    .maximumExpectedValue(Duration.ofHours(6))
+                    .register(registry);
+            this.batchSize = DistributionSummary.builder("notification.outbox.batch.size")
+                    .description("Outbox rows leased per relay round")
+                    .tag("channel", channel)
+                    .baseUnit("rows")
+                    .register(registry);
+            Gauge.builder("notification.outbox.in.flight", inFlight, AtomicInteger::get)
+                    .description("Deliveries handed to the channel that have not completed yet")
+                    .tag("channel", channel)
+                    .register(registry);
+        }
+
+        private void recordDelivered(List<NotificationOutbox> rows) {
+            delivered.increment(rows.size());
+            LocalDateTime now = LocalDateTime.now();
+            for (NotificationOutbox row : rows) {
+                lag.record(Duration.between(row.getRemindAt(), now));
+            }
+        }
+
+        private static Counter deliveryCounter(MeterRegistry registry, String channel, String outcome) {
+            return Counter.builder("notification.delivery")
+                    .description("Notification outcomes per channel, counted per reminder")
+                    .tag("channel", channel)
+                    .tag("outcome", outcome)
+                    .register(registry);
+        }
+    }
+
+    @AllArgsConstructor
+    private static class FailedDelivery {
+        private final List<NotificationOutbox> rows;
+        private final Throwable error;
+    }
+}
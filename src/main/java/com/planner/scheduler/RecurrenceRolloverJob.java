@@ -0,0 +1,44 @@
+package com.planner.scheduler;
+
+import com.planner.service.RecurrenceService;
+import lombok.extern.slf4j.Slf4j;
+import org.quartz.DisallowConcurrentExecution;
+import org.quartz.Job;
+import org.quartz.JobExecutionContext;
+import org.quartz.JobExecutionException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+
+@Component
+@Slf4j
+@DisallowConcurrentExecution
+public class RecurrenceRolloverJob implements Job {
+
+    @Autowired
+    private RecurrenceService recurrenceService;
+
+    @Override
+    public void execute(JobExecutionContext context) throws JobExecutionException {
+        LocalDateTime now = LocalDateTime.now();
+        int batchSize = recurrenceService.getBatchSize();
+
+        try {
+            int total = 0;
+            int processed;
+            do {
+                // Each batch commits on its own so a long rollover never holds locks on many series
+                processed = recurrenceService.rolloverBatch(now);
+                total += processed;
+            } while (processed == batchSize);
+
+            if (total > 0) {
+                log.info("🔁 Recurrence rollover topped up {} series", total);
+            }
+        } catch (Exception e) {
+            log.error("❌ Error in Recurrence Rollover Job", e);
+            throw new JobExecutionException(e);
+        }
+    }
+}
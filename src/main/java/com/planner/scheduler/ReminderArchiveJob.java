@@ -0,0 +1,55 @@
+package com.planner.scheduler;
+
+import com.planner.service.ReminderArchiveService;
+import lombok.extern.slf4j.Slf4j;
+import org.quartz.DisallowConcurrentExecution;
+import org.quartz.Job;
+import org.quartz.JobExecutionContext;
+import org.quartz.JobExecutionException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+@Component
+@Slf4j
+@DisallowConcurrentExecution
+public class ReminderArchiveJob implements Job {
+
+    @Autowired
+    private ReminderArchiveService archiveService;
+
+    @Value("${reminder.archive.batch-pause:PT0.1S}")
+    private Duration batchPause;
+
+    @Override
+    public void execute(JobExecutionContext context) throws JobExecutionException {
+        LocalDateTime now = LocalDateTime.now();
+        int batchSize = archiveService.getBatchSize();
+
+        try {
+            int total = 0;
+            int archived;
+            do {
+                // Each batch commits on its own; the pause keeps a large first run from saturating the primary
+                archived = archiveService.archiveBatch(now);
+                total += archived;
+                if (archived == batchSize) {
+                    Thread.sleep(batchPause.toMillis());
+                }
+            } while (archived == batchSize);
+
+            if (total > 0) {
+                log.info("🗄️ Archived {} sent reminders due before {}", total, archiveService.getArchiveCutoff(now));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("⚠️ Reminder archive job interrupted");
+        } catch (Exception e) {
+            log.error("❌ Error in Reminder Archive Job", e);
+            throw new JobExecutionException(e);
+        }
+    }
+}
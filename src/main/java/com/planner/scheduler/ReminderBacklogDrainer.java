@@ -0,0 +1,267 @@
+package com.planner.scheduler;
+
+import com.planner.repository.ReminderDueTime;
+import com.planner.repository.ReminderRepository;
+import com.planner.service.ReminderClaimService;
+import com.planner.service.ReminderClaimService.ChunkResult;
+import com.planner.service.ReminderClaimService.CollapseResult;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Catch-up mode: drains reminders that are overdue by more than {@code reminder.dispatch.takeover-after},
+ * i.e. the backlog left by downtime or by a node that died before claiming what it had queued.
+ *
+ * The backlog is paged oldest-first with a keyset query and claimed at {@code reminder.catch-up.rate}
+ * messages per second (outbox rows, i.e. one per reminder and channel, or per digest and channel), so a long outage turns into a steady trickle instead of one huge load and a burst
+ * that gets the SMTP relay to throttle us. Reminders older than {@code stale-after} are handled by the
+ * {@code stale-policy} first: sent one by one like the rest ({@code SEND}), collapsed into one "missed
+ * reminders" message per user ({@code DIGEST}) or marked sent without notifying anyone ({@code SKIP}).
+ *
+ * Runs from the clustered {@link ReminderSchedulerJob}, so only one drain is active in the whole cluster;
+ * claims lock rows with {@code SKIP LOCKED}, so it never competes with the dispatchers for a reminder.
+ */
+@Component
+@Slf4j
+public class ReminderBacklogDrainer {
+
+    public enum StalePolicy {
+        SEND, DIGEST, SKIP
+    }
+
+    private static final LocalDateTime EPOCH = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    @Autowired
+    private ReminderRepository reminderRepository;
+
+    @Autowired
+    private ReminderClaimService claimService;
+
+    @Autowired
+    private NotificationOutboxRelay outboxRelay;
+
+    @Value("${reminder.dispatch.takeover-after:PT2M}")
+    private Duration takeoverAfter;
+
+    @Value("${reminder.dispatch.chunk-size:200}")
+    private int chunkSize;
+
+    @Value("${reminder.catch-up.rate:50}")
+    private double rate;
+
+    @Value("${reminder.catch-up.stale-after:PT6H}")
+    private Duration staleAfter;
+
+    @Value("${reminder.catch-up.stale-policy:DIGEST}")
+    private StalePolicy stalePolicy;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+    private volatile boolean stopping;
+    private volatile LocalDateTime runStartedAt;
+    private volatile LocalDateTime runFinishedAt;
+
+    private final AtomicLong runSent = new AtomicLong();
+    private final AtomicLong runCollapsed = new AtomicLong();
+    private final AtomicLong runSkipped = new AtomicLong();
+
+    @PostConstruct
+    public void validate() {
+        if (!(rate > 0) || Double.isInfinite(rate)) {
+            throw new IllegalStateException("reminder.catch-up.rate must be a positive number, got " + rate);
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        stopping = true;
+    }
+
+    /**
+     * Drains everything that was already overdue by more than {@code takeover-after} at {@code now}.
+     * Returns the number of reminders handled; reminders that become overdue meanwhile are left to the next run.
+     */
+    public long drain(LocalDateTime now) throws InterruptedException {
+        if (!running.compareAndSet(false, true)) {
+            log.warn("⚠️ Reminder catch-up already running since {}, skipping", runStartedAt);
+            return 0;
+        }
+        runStartedAt = now;
+        runSent.set(0);
+        runCollapsed.set(0);
+        runSkipped.set(0);
+        try {
+            LocalDateTime cutoff = getCutoff(now);
+            LocalDateTime staleBefore = getStaleBefore(now);
+            Pacer pacer = new Pacer(rate);
+
+            if (stalePolicy == StalePolicy.SKIP) {
+                skipStale(staleBefore);
+            } else if (stalePolicy == StalePolicy.DIGEST) {
+                collapseStale(staleBefore, pacer);
+            }
+            // With SEND this covers the stale reminders too, they are simply the oldest
+            sendOldestFirst(cutoff, pacer);
+
+            return runSent.get() + runCollapsed.get() + runSkipped.get();
+        } finally {
+            runFinishedAt = LocalDateTime.now();
+            running.set(false);
+        }
+    }
+
+    public LocalDateTime getCutoff(LocalDateTime now) {
+        return now.minus(takeoverAfter);
+    }
+
+    public LocalDateTime getStaleBefore(LocalDateTime now) {
+        LocalDateTime staleBefore = now.minus(staleAfter);
+        LocalDateTime cutoff = getCutoff(now);
+        return staleBefore.isBefore(cutoff) ? staleBefore : cutoff;
+    }
+
+    public boolean isRunning() {
+        return running.get();
+    }
+
+    public LocalDateTime getRunStartedAt() {
+        return runStartedAt;
+    }
+
+    public LocalDateTime getRunFinishedAt() {
+        return runFinishedAt;
+    }
+
+    public long getRunSent() {
+        return runSent.get();
+    }
+
+    public long getRunCollapsed() {
+        return runCollapsed.get();
+    }
+
+    public long getRunSkipped() {
+        return runSkipped.get();
+    }
+
+    public double getRate() {
+        return rate;
+    }
+
+    public StalePolicy getStalePolicy() {
+        return stalePolicy;
+    }
+
+    private void sendOldestFirst(LocalDateTime cutoff, Pacer pacer) throws InterruptedException {
+        LocalDateTime cursorAt = EPOCH;
+        long cursorId = 0;
+        List<ReminderDueTime> page;
+        do {
+            page = reminderRepository.findUnsentDueBeforeAfterCursor(cutoff, cursorAt, cursorId,
+                    PageRequest.of(0, pageSize()));
+            if (page.isEmpty() || stopping) {
+                return;
+            }
+            List<Long> ids = new ArrayList<>(page.size());
+            page.forEach(reminder -> ids.add(reminder.getId()));
+            ChunkResult result = claimService.claimChunk(ids);
+            int claimed = result.getClaimedIds().size();
+            if (claimed > 0) {
+                outboxRelay.wakeUp();
+            }
+            runSent.addAndGet(claimed);
+
+            ReminderDueTime last = page.get(page.size() - 1);
+            cursorAt = last.getRemindAt();
+            cursorId = last.getId();
+            pacer.acquire(result.getMessages());
+        } while (page.size() == pageSize());
+    }
+
+    // One message per user, so users are paged instead of reminders
+    private void collapseStale(LocalDateTime staleBefore, Pacer pacer) throws InterruptedException {
+        long afterUserId = 0;
+        List<Long> userIds;
+        do {
+            userIds = reminderRepository.findUserIdsWithUnsentDueBefore(staleBefore, afterUserId,
+                    PageRequest.of(0, pageSize()));
+            if (userIds.isEmpty() || stopping) {
+                return;
+            }
+            CollapseResult result = claimService.collapseStale(userIds, staleBefore);
+            if (result.getClaimed() > 0) {
+                outboxRelay.wakeUp();
+            }
+            runCollapsed.addAndGet(result.getClaimed());
+
+            afterUserId = userIds.get(userIds.size() - 1);
+            pacer.acquire(result.getMessages());
+        } while (userIds.size() == pageSize());
+    }
+
+    // Nothing is sent, so skipping is not rate limited
+    private void skipStale(LocalDateTime staleBefore) {
+        LocalDateTime cursorAt = EPOCH;
+        long cursorId = 0;
+        List<ReminderDueTime> page;
+        do {
+            page = reminderRepository.findUnsentDueBeforeAfterCursor(staleBefore, cursorAt, cursorId,
+                    PageRequest.of(0, chunkSize));
+            if (page.isEmpty() || stopping) {
+                return;
+            }
+            List<Long> ids = new ArrayList<>(page.size());
+            page.forEach(reminder -> ids.add(reminder.getId()));
+            int skipped = claimService.skipChunk(ids).getClaimedIds().size();
+            runSkipped.addAndGet(skipped);
+            if (skipped > 0) {
+                log.info("⏭️ Skipped {} reminders older than {}", skipped, staleBefore);
+            }
+
+            ReminderDueTime last = page.get(page.size() - 1);
+            cursorAt = last.getRemindAt();
+            cursorId = last.getId();
+        } while (page.size() == chunkSize);
+    }
+
+    // About a second's worth of reminders per claim, so the relay gets a steady stream rather than bursts
+    private int pageSize() {
+        return (int) Math.max(1, Math.min(chunkSize, rate));
+    }
+
+    /**
+     * Spaces out claims so that, on average, no more than {@code perSecond} outbox rows are written per second
+     * since the drain started.
+     */
+    private static final class Pacer {
+
+        private final long startNanos = System.nanoTime();
+        private final double perSecond;
+        private long issued;
+
+        private Pacer(double perSecond) {
+            this.perSecond = perSecond;
+        }
+
+        private void acquire(int permits) throws InterruptedException {
+            issued += permits;
+            long dueNanos = startNanos + (long) (issued * 1_000_000_000d / perSecond);
+            long waitNanos = dueNanos - System.nanoTime();
+            if (waitNanos > 0) {
+                TimeUnit.NANOSECONDS.sleep(waitNanos);
+            }
+        }
+    }
+}
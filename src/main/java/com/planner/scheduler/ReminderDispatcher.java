@@ -0,0 +1,404 @@
+package com.planner.scheduler;
+
+import com.planner.repository.ReminderDueTime;
+import com.planner.repository.ReminderRepository;
+import com.planner.service.ReminderClaimService;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory delay queue of reminders due within the lookahead window.
+ *
+ * Every {@code refill-interval} the dispatcher thread extends the window with an indexed range query over
+ * only the slice of time that has not been loaded yet ([horizon, now + lookahead)), and
+ * {@code ReminderService} pushes creates, updates and deletes straight into the queue. The dispatcher thread
+ * wakes when the head of the queue comes due, so reminders fire within a second of {@code remindAt} instead
+ * of on the next minute tick. Due reminders are claimed into the notification outbox;
+ * {@link NotificationOutboxRelay} delivers them.
+ *
+ * Every node runs its own dispatcher over the same reminders. Claims lock the reminder rows with
+ * {@code SKIP LOCKED}, so whichever node gets there first claims a reminder and the others skip it instead
+ * of sending it again. Reminders overdue by more than {@code takeover-after} are never loaded here: the
+ * backlog left by downtime, or by a node that died before claiming what only it had queued, is drained at a
+ * controlled rate by {@link ReminderBacklogDrainer}.
+ */
+@Component
+@Slf4j
+public class ReminderDispatcher {
+
+    private final DelayQueue<QueuedReminder> queue = new DelayQueue<>();
+
+    // Current queue entry per reminder; an entry that is no longer mapped here is stale and skipped
+    private final Map<Long, QueuedReminder> queued = new ConcurrentHashMap<>();
+
+    // Reminders taken off the queue whose claim has not finished yet
+    private final Set<Long> inFlight = ConcurrentHashMap.newKeySet();
+
+    @Autowired
+    private ReminderRepository reminderRepository;
+
+    @Autowired
+    private ReminderClaimService claimService;
+
+    @Autowired
+    private NotificationOutboxRelay outboxRelay;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${reminder.dispatch.lookahead:PT5M}")
+    private Duration lookahead;
+
+    @Value("${reminder.dispatch.retry-delay:PT1M}")
+    private Duration retryDelay;
+
+    @Value("${reminder.dispatch.chunk-size:200}")
+    private int chunkSize;
+
+    @Value("${reminder.dispatch.refill-interval:PT1M}")
+    private Duration refillInterval;
+
+    @Value("${reminder.dispatch.takeover-after:PT2M}")
+    private Duration takeoverAfter;
+
+    private final AtomicLong totalScanned = new AtomicLong();
+    private final AtomicLong totalClaimed = new AtomicLong();
+    private final AtomicLong totalFailed = new AtomicLong();
+    private volatile DispatchTickStats lastTick;
+    private volatile LocalDateTime lastRefillAt;
+
+    // Refreshed on every refill so scrapes never hit the database
+    private volatile long dueUnsent;
+
+    private Timer tickTimer;
+    private DistributionSummary tickBatchSize;
+
+    // Everything due before this instant has been loaded; null until the first refill
+    private volatile LocalDateTime horizon;
+
+    private volatile boolean running;
+    private Thread worker;
+    private long nextRefillAt;
+
+    @PostConstruct
+    public void start() {
+        registerMeters();
+        running = true;
+        worker = new Thread(this::run, "reminder-dispatcher");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        if (worker != null) {
+            worker.interrupt();
+        }
+    }
+
+    /**
+     * Loads the part of the lookahead window that has not been loaded yet. The first call also picks up
+     * reminders that came due less than {@code takeover-after} ago; anything older is catch-up backlog.
+     */
+    public synchronized int refill(LocalDateTime now) {
+        LocalDateTime until = now.plus(lookahead);
+        int loaded = load(horizon != null ? horizon : now.minus(takeoverAfter), until);
+        horizon = until;
+        return loaded;
+    }
+
+    /**
+     * Queues a created or rescheduled reminder once the surrounding transaction commits. Reminders beyond
+     * the loaded window are left to the next refill.
+     */
+    public void schedule(Long reminderId, LocalDateTime remindAt) {
+        afterCommit(() -> {
+            LocalDateTime loadedUntil = horizon;
+            if (loadedUntil != null && remindAt.isBefore(loadedUntil)) {
+                enqueue(reminderId, remindAt);
+            } else {
+                cancel(reminderId);
+            }
+        });
+    }
+
+    /**
+     * Loads reminders that were inserted directly (e.g. by the recurrence rollover) and fall inside the
+     * already loaded window.
+     */
+    public void reloadFrom(LocalDateTime from) {
+        afterCommit(() -> {
+            LocalDateTime loadedUntil = horizon;
+            if (loadedUntil != null && from.isBefore(loadedUntil)) {
+                load(from, loadedUntil);
+            }
+        });
+    }
+
+    public void cancel(Long reminderId) {
+        queued.computeIfPresent(reminderId, (id, entry) -> {
+            queue.remove(entry);
+            return null;
+        });
+    }
+
+    public int getQueuedCount() {
+        return queued.size();
+    }
+
+    public DispatchTickStats getLastTick() {
+        return lastTick;
+    }
+
+    public LocalDateTime getLastRefillAt() {
+        return lastRefillAt;
+    }
+
+    public LocalDateTime getHorizon() {
+        return horizon;
+    }
+
+    public long getDueUnsent() {
+        return dueUnsent;
+    }
+
+    public long getTotalScanned() {
+        return totalScanned.get();
+    }
+
+    public long getTotalClaimed() {
+        return totalClaimed.get();
+    }
+
+    public long getTotalFailed() {
+        return totalFailed.get();
+    }
+
+    // Pages through [from, to) in fixed-size keyset chunks so a large window never becomes one huge result set
+    private int load(LocalDateTime from, LocalDateTime to) {
+        LocalDateTime cursorAt = from;
+        long cursorId = 0;
+        int loaded = 0;
+        List<ReminderDueTime> page;
+        do {
+            page = reminderRepository.findUnsentDueBeforeAfterCursor(to, cursorAt, cursorId, PageRequest.of(0, chunkSize));
+            for (ReminderDueTime reminder : page) {
+                enqueue(reminder.getId(), reminder.getRemindAt());
+            }
+            if (!page.isEmpty()) {
+                ReminderDueTime last = page.get(page.size() - 1);
+                cursorAt = last.getRemindAt();
+                cursorId = last.getId();
+            }
+            loaded += page.size();
+        } while (page.size() == chunkSize);
+        return loaded;
+    }
+
+    private void enqueue(Long reminderId, LocalDateTime remindAt) {
+        if (inFlight.contains(reminderId)) {
+            return;
+        }
+        long dueAtMillis = toEpochMillis(remindAt);
+        queued.compute(reminderId, (id, previous) -> {
+            if (previous != null) {
+                if (previous.dueAtMillis == dueAtMillis) {
+                    return previous;
+                }
+                queue.remove(previous);
+            }
+            QueuedReminder entry = new QueuedReminder(id, dueAtMillis);
+            queue.add(entry);
+            return entry;
+        });
+    }
+
+    private void run() {
+        while (running) {
+            try {
+                refillIfDue();
+                QueuedReminder head = queue.poll(1, TimeUnit.SECONDS);
+                if (head == null) {
+                    continue;
+                }
+
+                // Take everything that is due in one go
+                List<QueuedReminder> due = new ArrayList<>();
+                due.add(head);
+                queue.drainTo(due);
+
+                List<Long> reminderIds = new ArrayList<>(due.size());
+                for (QueuedReminder entry : due) {
+                    if (queued.remove(entry.reminderId, entry)) {
+                        inFlight.add(entry.reminderId);
+                        reminderIds.add(entry.reminderId);
+                    }
+                }
+                if (!reminderIds.isEmpty()) {
+                    dispatch(reminderIds);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                log.error("❌ Error in reminder dispatcher loop", e);
+            }
+        }
+    }
+
+    // The window is per node, so it is refilled here rather than by a clustered Quartz job that fires on one node
+    private void refillIfDue() {
+        long nowMillis = System.currentTimeMillis();
+        if (nowMillis < nextRefillAt) {
+            return;
+        }
+        nextRefillAt = nowMillis + refillInterval.toMillis();
+        LocalDateTime now = LocalDateTime.now();
+        int loaded = refill(now);
+        dueUnsent = reminderRepository.countByIsSentFalseAndRemindAtBefore(now);
+        lastRefillAt = now;
+        log.info("⏰ Reminder window refilled: {} loaded, {} queued. Totals: {} scanned, {} claimed, {} failed",
+                loaded, getQueuedCount(), getTotalScanned(), getTotalClaimed(), getTotalFailed());
+    }
+
+    /**
+     * Claims the due reminders into the notification outbox chunk by chunk and wakes the relay. Claiming is
+     * a few bulk statements per chunk, so the dispatcher thread never waits on a notification channel.
+     */
+    private void dispatch(List<Long> reminderIds) {
+        LocalDateTime startedAt = LocalDateTime.now();
+        long start = System.nanoTime();
+        int chunks = 0;
+        int scanned = 0;
+        int claimed = 0;
+        int failed = 0;
+
+        for (int from = 0; from < reminderIds.size(); from += chunkSize) {
+            List<Long> chunk = reminderIds.subList(from, Math.min(from + chunkSize, reminderIds.size()));
+            chunks++;
+            try {
+                ReminderClaimService.ChunkResult result = claimService.claimChunk(chunk);
+                scanned += result.getScanned();
+                claimed += result.getClaimedIds().size();
+            } catch (Exception e) {
+                log.error("❌ Error claiming reminder chunk of {}", chunk.size(), e);
+                failed += chunk.size();
+                scheduleRetries(chunk);
+            } finally {
+                chunk.forEach(inFlight::remove);
+            }
+        }
+        if (claimed > 0) {
+            outboxRelay.wakeUp();
+        }
+
+        long elapsedNanos = System.nanoTime() - start;
+        tickTimer.record(elapsedNanos, TimeUnit.NANOSECONDS);
+        tickBatchSize.record(reminderIds.size());
+        lastTick = new DispatchTickStats(startedAt, elapsedNanos / 1_000_000, chunks, scanned, claimed, failed);
+        totalScanned.addAndGet(scanned);
+        totalClaimed.addAndGet(claimed);
+        totalFailed.addAndGet(failed);
+        log.info("✅ Dispatched reminders: {}", lastTick);
+    }
+
+    private void registerMeters() {
+        tickTimer = Timer.builder("reminder.dispatch.tick")
+                .description("Time to claim everything that came due at the same time")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        tickBatchSize = DistributionSummary.builder("reminder.dispatch.batch.size")
+                .description("Reminders that came due together in one dispatcher tick")
+                .baseUnit("reminders")
+                .register(meterRegistry);
+        Gauge.builder("reminder.dispatch.queued", queued, Map::size)
+                .description("Reminders held in this instance's lookahead window")
+                .register(meterRegistry);
+        Gauge.builder("reminder.due.unsent", this, ReminderDispatcher::getDueUnsent)
+                .description("Reminders past their remindAt that have not been claimed yet, as of the last refill")
+                .register(meterRegistry);
+        FunctionCounter.builder("reminder.dispatch.reminders", totalClaimed, AtomicLong::get)
+                .description("Reminders handled by this instance's dispatcher")
+                .tag("outcome", "claimed")
+                .register(meterRegistry);
+        FunctionCounter.builder("reminder.dispatch.reminders", totalFailed, AtomicLong::get)
+                .description("Reminders handled by this instance's dispatcher")
+                .tag("outcome", "failed")
+                .register(meterRegistry);
+    }
+
+    private void scheduleRetries(List<Long> reminderIds) {
+        long retryAt = System.currentTimeMillis() + retryDelay.toMillis();
+        for (Long reminderId : reminderIds) {
+            queued.computeIfAbsent(reminderId, id -> {
+                QueuedReminder retry = new QueuedReminder(id, retryAt);
+                queue.add(retry);
+                return retry;
+            });
+        }
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private static long toEpochMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private static final class QueuedReminder implements Delayed {
+
+        private final Long reminderId;
+        private final long dueAtMillis;
+
+        private QueuedReminder(Long reminderId, long dueAtMillis) {
+            this.reminderId = reminderId;
+            this.dueAtMillis = dueAtMillis;
+        }
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(dueAtMillis - System.currentTimeMillis(), TimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            return Long.compare(dueAtMillis, ((QueuedReminder) other).dueAtMillis);
+        }
+    }
+}
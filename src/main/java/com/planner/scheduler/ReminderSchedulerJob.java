@@ -1,11 +1,7 @@
 package com.planner.scheduler;
 
-import com.planner.model.Reminder;
-import com.planner.model.User;
-import com.planner.repository.ReminderRepository;
-import com.planner.repository.UserRepository;
-import com.planner.service.NotificationService;
 import lombok.extern.slf4j.Slf4j;
+import org.quartz.DisallowConcurrentExecution;
 import org.quartz.Job;
 import org.quartz.JobExecutionContext;
 import org.quartz.JobExecutionException;
@@ -13,61 +9,36 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 import java.time.LocalDateTime;
-import java.util.List;
 
+/**
+ * Runs the catch-up drain of overdue reminders. Quartz runs clustered and the job disallows concurrent
+ * execution, so at most one drain is active in the whole cluster even when a drain outlasts the trigger
+ * interval. Each node refills its own {@link ReminderDispatcher} window.
+ */
 @Component
 @Slf4j
+@DisallowConcurrentExecution
 public class ReminderSchedulerJob implements Job {
 
     @Autowired
-    private ReminderRepository reminderRepository;
-
-    @Autowired
-    private UserRepository userRepository;
-
-    @Autowired
-    private NotificationService notificationService;
+    private ReminderBacklogDrainer backlogDrainer;
 
     @Override
     public void execute(JobExecutionContext context) throws JobExecutionException {
-        log.info("⏰ Reminder Scheduler Job Started at {}", LocalDateTime.now());
-
         try {
-            LocalDateTime now = LocalDateTime.now();
-            List<Reminder> pendingReminders = reminderRepository.findPendingReminders(now);
-
-            log.info("Found {} pending reminders to process", pendingReminders.size());
-
-            for (Reminder reminder : pendingReminders) {
-                try {
-                    // Get user email
-                    User user = userRepository.findById(reminder.getUserId())
-                            .orElse(null);
-
-                    if (user != null) {
-                        // Send notification
-                        notificationService.sendReminderNotification(reminder, user.getEmail());
-
-                        // Mark as sent
-                        reminder.setIsSent(true);
-                        reminderRepository.save(reminder);
-
-                        log.info("✅ Processed reminder ID: {} for user: {}",
-                                reminder.getId(), user.getEmail());
-                    } else {
-                        log.warn("⚠️ User not found for reminder ID: {}", reminder.getId());
-                    }
-                } catch (Exception e) {
-                    log.error("❌ Error processing reminder ID: {}", reminder.getId(), e);
-                }
+            long start = System.currentTimeMillis();
+            long drained = backlogDrainer.drain(LocalDateTime.now());
+            if (drained > 0) {
+                log.info("⏰ Reminder catch-up drained {} overdue reminders in {} ms: {} sent, {} collapsed, {} skipped",
+                        drained, System.currentTimeMillis() - start, backlogDrainer.getRunSent(),
+                        backlogDrainer.getRunCollapsed(), backlogDrainer.getRunSkipped());
             }
-
-            log.info("✅ Reminder Scheduler Job Completed. Processed {} reminders",
-                    pendingReminders.size());
-
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("⚠️ Reminder catch-up interrupted");
         } catch (Exception e) {
             log.error("❌ Fatal error in Reminder Scheduler Job", e);
             throw new JobExecutionException(e);
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,36 @@
+package com.planner.scheduler;
+
+import com.planner.service.UserCounterService;
+import lombok.extern.slf4j.Slf4j;
+import org.quartz.DisallowConcurrentExecution;
+import org.quartz.Job;
+import org.quartz.JobExecutionContext;
+import org.quartz.JobExecutionException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Recounts one batch of users per run, oldest reconciliation first, so every user's counters are checked
+ * against the source tables once per full cycle without ever scanning everything at once.
+ */
+@Component
+@Slf4j
+@DisallowConcurrentExecution
+public class UserCounterReconcileJob implements Job {
+
+    @Autowired
+    private UserCounterService userCounterService;
+
+    @Override
+    public void execute(JobExecutionContext context) throws JobExecutionException {
+        try {
+            int drifted = userCounterService.reconcileBatch();
+            if (drifted > 0) {
+                log.warn("🧮 Repaired drifted counters of {} users", drifted);
+            }
+        } catch (Exception e) {
+            log.error("❌ Error in User Counter Reconcile Job", e);
+            throw new JobExecutionException(e);
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.planner.security;
 
+import com.planner.service.ActiveUserTracker;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -23,20 +24,30 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private static final Logger logger = LoggerFactory.getLogger(JwtAuthenticationFilter.class);
 
+    private static final String EVENTS_PATH = "/api/events";
+
     @Autowired
     private JwtTokenProvider tokenProvider;
 
     @Autowired
     private UserDetailsService userDetailsService;
 
+    @Autowired
+    private ActiveUserTracker activeUserTracker;
+
     @Override
     protected void doFilterInternal(HttpServletRequest request,
                                     HttpServletResponse response,
                                     FilterChain filterChain) throws ServletException, IOException {
         try {
             String jwt = getJwtFromRequest(request);
+            boolean fromUrl = jwt == null;
+            if (fromUrl) {
+                jwt = getStreamTokenFromRequest(request);
+            }
 
-            if (StringUtils.hasText(jwt) && tokenProvider.validateToken(jwt)) {
+            // Stream tokens open the event stream and nothing else, and only they are accepted in the URL
+            if (StringUtils.hasText(jwt) && tokenProvider.validateToken(jwt) && tokenProvider.isStreamToken(jwt) == fromUrl) {
                 String email = tokenProvider.getEmailFromToken(jwt);
 
                 UserDetails userDetails = userDetailsService.loadUserByUsername(email);
@@ -49,6 +60,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                 authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
 
                 SecurityContextHolder.getContext().setAuthentication(authentication);
+                activeUserTracker.recordActivity(email);
             }
         } catch (Exception ex) {
             logger.error("Could not set user authentication in security context", ex);
@@ -64,4 +76,9 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
         return null;
     }
+
+    // Browsers' EventSource cannot set headers, so the event stream takes a stream token as a parameter
+    private String getStreamTokenFromRequest(HttpServletRequest request) {
+        return EVENTS_PATH.equals(request.getRequestURI()) ? request.getParameter("access_token") : null;
+    }
 }
\ No newline at end of file
@@ -17,12 +17,18 @@ public class JwtTokenProvider {
 
     private static final Logger logger = LoggerFactory.getLogger(JwtTokenProvider.class);
 
+    private static final String SCOPE_CLAIM = "scope";
+    private static final String STREAM_SCOPE = "events";
+
     @Value("${jwt.secret}")
     private String jwtSecret;
 
     @Value("${jwt.expiration}")
     private long jwtExpiration;
 
+    @Value("${jwt.stream-expiration:60000}")
+    private long streamExpiration;
+
     private SecretKey getSigningKey() {
         byte[] keyBytes = jwtSecret.getBytes();
         return Keys.hmacShaKeyFor(keyBytes);
@@ -53,6 +59,40 @@ public class JwtTokenProvider {
                 .compact();
     }
 
+    /**
+     * A short-lived token that only opens the event stream. Browsers' EventSource cannot set headers, so
+     * this token travels in the URL instead of the session token.
+     */
+    public String generateStreamToken(String email) {
+        Date now = new Date();
+        Date expiryDate = new Date(now.getTime() + streamExpiration);
+
+        return Jwts.builder()
+                .setSubject(email)
+                .claim(SCOPE_CLAIM, STREAM_SCOPE)
+                .setIssuedAt(now)
+                .setExpiration(expiryDate)
+                .signWith(getSigningKey(), SignatureAlgorithm.HS512)
+                .compact();
+    }
+
+    public long getStreamExpiration() {
+        return streamExpiration;
+    }
+
+    /**
+     * Whether a token that {@link #validateToken validates} is a stream token.
+     */
+    public boolean isStreamToken(String token) {
+        Claims claims = Jwts.parserBuilder()
+                .setSigningKey(getSigningKey())
+                .build()
+                .parseClaimsJws(token)
+                .getBody();
+
+        return STREAM_SCOPE.equals(claims.get(SCOPE_CLAIM, String.class));
+    }
+
     public String getEmailFromToken(String token) {
         Claims claims = Jwts.parserBuilder()
                 .setSigningKey(getSigningKey())
@@ -0,0 +1,103 @@
+package com.planner.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Recently active users, as a Redis sorted set of emails scored by the time they were last seen. Fed by the
+ * authentication filter and read by the dashboard warmer, through a snapshot taken when its run starts.
+ *
+ * Each node records a user at most once per {@code dashboard.warmup.record-interval}, so an active session
+ * costs one {@code ZADD} every few minutes rather than one per request.
+ */
+@Service
+@Slf4j
+public class ActiveUserTracker {
+
+    public static final String ACTIVE_USERS_KEY = "dashboard:active-users";
+    public static final String WARMUP_SNAPSHOT_KEY = "dashboard:warmup-users";
+
+    private static final Duration SNAPSHOT_TTL = Duration.ofDays(1);
+
+    // Bounds the per-node throttle; clearing it only costs a few extra ZADDs
+    private static final int MAX_THROTTLED = 10_000;
+
+    @Autowired
+    private StringRedisTemplate redisTemplate;
+
+    @Value("${dashboard.warmup.active-within:P7D}")
+    private Duration activeWithin;
+
+    @Value("${dashboard.warmup.record-interval:PT5M}")
+    private Duration recordInterval;
+
+    private final Map<String, Long> lastRecorded = new ConcurrentHashMap<>();
+
+    public void recordActivity(String email) {
+        long now = System.currentTimeMillis();
+        Long last = lastRecorded.get(email);
+        if (last != null && now - last < recordInterval.toMillis()) {
+            return;
+        }
+        if (lastRecorded.size() >= MAX_THROTTLED) {
+            lastRecorded.clear();
+        }
+        lastRecorded.put(email, now);
+
+        try {
+            redisTemplate.opsForZSet().add(ACTIVE_USERS_KEY, email, now);
+        } catch (Exception e) {
+            // Tracking is best effort; the user is simply not pre-warmed
+            log.warn("⚠️ Failed to record activity of {}: {}", email, e.getMessage());
+        }
+    }
+
+    /**
+     * Drops users not seen within {@code dashboard.warmup.active-within}.
+     *
+     * @return the number of users dropped
+     */
+    public long pruneInactive() {
+        Long removed = redisTemplate.opsForZSet().removeRangeByScore(ACTIVE_USERS_KEY, 0, activeSince());
+        return removed != null ? removed : 0;
+    }
+
+    /**
+     * Copies the users active now into a snapshot for a warmup run to page through. Logins keep re-scoring
+     * the live set while a paced run is under way, which would shift its pages; the snapshot stays as it is.
+     *
+     * @return the number of users in the snapshot
+     */
+    public long snapshotActiveUsers() {
+        Long size = redisTemplate.opsForZSet().rangeAndStoreByScore(ACTIVE_USERS_KEY, WARMUP_SNAPSHOT_KEY,
+                Range.closed(activeSince(), (double) System.currentTimeMillis()));
+        // Outlives any run, but does not linger if the run dies before dropping it
+        redisTemplate.expire(WARMUP_SNAPSHOT_KEY, SNAPSHOT_TTL);
+        return size != null ? size : 0;
+    }
+
+    // One page of the snapshot, least recently seen first
+    public List<String> getSnapshotUsers(long offset, int count) {
+        Set<String> emails = redisTemplate.opsForZSet().range(WARMUP_SNAPSHOT_KEY, offset, offset + count - 1);
+        return emails != null ? new ArrayList<>(emails) : List.of();
+    }
+
+    public void dropSnapshot() {
+        redisTemplate.delete(WARMUP_SNAPSHOT_KEY);
+    }
+
+    private double activeSince() {
+        return System.currentTimeMillis() - activeWithin.toMillis();
+    }
+}
@@ -31,6 +31,9 @@ public class AuthService {
     @Autowired
     private JwtTokenProvider tokenProvider;
 
+    @Autowired
+    private UserCounterService userCounterService;
+
     @Transactional
     public AuthResponse signup(SignupRequest request) {
         if (userRepository.existsByEmail(request.getEmail())) {
@@ -44,6 +47,7 @@ public class AuthService {
                 .build();
 
         User savedUser = userRepository.save(user);
+        userCounterService.userCreated(savedUser.getId());
 
         String token = tokenProvider.generateTokenFromEmail(savedUser.getEmail());
 
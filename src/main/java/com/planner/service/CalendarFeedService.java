@@ -0,0 +1,330 @@
+package com.planner.service;
+
+import com.planner.exception.ResourceNotFoundException;
+import com.planner.model.Reminder;
+import com.planner.model.Schedule;
+import com.planner.model.Task;
+import com.planner.model.User;
+import com.planner.repository.ReminderRepository;
+import com.planner.repository.ScheduleRepository;
+import com.planner.repository.TaskRepository;
+import com.planner.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.ByteArrayOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Read-only iCalendar subscription feed.
+ *
+ * Calendar apps poll the feed every few minutes, so the hot path is two Redis reads: token -> user and
+ * the user's feed revision. The revision is bumped by {@link #touch(Long)} on every calendar change and
+ * doubles as the ETag, which lets unchanged polls end in a 304 without any database access. Rendered
+ * feeds are cached as raw bytes under their revision; cache misses are streamed from the database.
+ */
+@Service
+@Slf4j
+public class CalendarFeedService {
+
+    private static final String TOKEN_KEY = "ical:token:";
+    private static final String REVISION_KEY = "ical:rev:";
+    private static final String MODIFIED_KEY = "ical:modified:";
+    private static final String FEED_KEY = "ical:feed:";
+    private static final Duration TOKEN_TTL = Duration.ofDays(1);
+
+    private final SecureRandom secureRandom = new SecureRandom();
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private ScheduleRepository scheduleRepository;
+
+    @Autowired
+    private ReminderRepository reminderRepository;
+
+    @Autowired
+    private StringRedisTemplate stringRedisTemplate;
+
+    @Autowired
+    private RedisTemplate<String, byte[]> byteArrayRedisTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${calendar.feed.cache-ttl:PT1H}")
+    private Duration cacheTtl;
+
+    @Value("${calendar.feed.max-cached-bytes:1048576}")
+    private int maxCachedBytes;
+
+    @Transactional
+    public String rotateFeedToken(Long userId) {
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
+
+        if (user.getFeedToken() != null) {
+            stringRedisTemplate.delete(TOKEN_KEY + user.getFeedToken());
+        }
+
+        byte[] bytes = new byte[32];
+        secureRandom.nextBytes(bytes);
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+        user.setFeedToken(token);
+        userRepository.save(user);
+        log.info("Issued calendar feed token for user: {}", userId);
+        return token;
+    }
+
+    /**
+     * Resolves a feed token to the feed's current revision, hitting the database only when the
+     * token mapping is not cached.
+     */
+    public FeedState resolve(String token) {
+        String cachedUserId = stringRedisTemplate.opsForValue().get(TOKEN_KEY + token);
+        Long userId;
+        if (cachedUserId != null) {
+            userId = Long.valueOf(cachedUserId);
+        } else {
+            userId = userRepository.findByFeedToken(token)
+                    .orElseThrow(() -> new ResourceNotFoundException("Calendar feed not found"))
+                    .getId();
+            stringRedisTemplate.opsForValue().set(TOKEN_KEY + token, userId.toString(), TOKEN_TTL);
+        }
+
+        List<String> values = stringRedisTemplate.opsForValue()
+                .multiGet(List.of(REVISION_KEY + userId, MODIFIED_KEY + userId));
+        if (values == null || values.get(0) == null || values.get(1) == null) {
+            initializeRevision(userId);
+            values = stringRedisTemplate.opsForValue()
+                    .multiGet(List.of(REVISION_KEY + userId, MODIFIED_KEY + userId));
+        }
+        return new FeedState(userId, Long.parseLong(values.get(0)), Long.parseLong(values.get(1)));
+    }
+
+    /**
+     * Marks the user's feed as changed. Cached renders of older revisions simply stop being read.
+     */
+    public void touch(Long userId) {
+        initializeRevision(userId);
+        stringRedisTemplate.opsForValue().increment(REVISION_KEY + userId);
+        stringRedisTemplate.opsForValue().set(MODIFIED_KEY + userId, String.valueOf(System.currentTimeMillis()));
+    }
+
+    public void writeFeed(FeedState state, OutputStream out) throws IOException {
+        String feedKey = FEED_KEY + state.getUserId() + ":" + state.getRevision();
+        byte[] cached = byteArrayRedisTemplate.opsForValue().get(feedKey);
+        if (cached != null) {
+            out.write(cached);
+            return;
+        }
+
+        CapturingOutputStream capture = new CapturingOutputStream(out, maxCachedBytes);
+        render(state.getUserId(), capture);
+        if (!capture.isOverflowed()) {
+            byteArrayRedisTemplate.opsForValue().set(feedKey, capture.toByteArray(), cacheTtl);
+        }
+    }
+
+    // Seeded with the wall clock so a lost Redis key can never bring back an ETag a client already holds
+    private void initializeRevision(Long userId) {
+        String now = String.valueOf(System.currentTimeMillis());
+        stringRedisTemplate.opsForValue().setIfAbsent(REVISION_KEY + userId, now);
+        stringRedisTemplate.opsForValue().setIfAbsent(MODIFIED_KEY + userId, now);
+    }
+
+    private void render(Long userId, OutputStream out) throws IOException {
+        BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        ICalendarWriter ical = new ICalendarWriter(writer);
+
+        ical.property("BEGIN", "VCALENDAR");
+        ical.property("VERSION", "2.0");
+        ical.property("PRODID", "-//Planner//Planner Backend//EN");
+        ical.property("CALSCALE", "GREGORIAN");
+        ical.property("METHOD", "PUBLISH");
+        ical.text("X-WR-CALNAME", "Planner");
+
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        readOnly.executeWithoutResult(status -> {
+            try {
+                try (Stream<Schedule> schedules = scheduleRepository.streamByUserId(userId)) {
+                    for (Iterator<Schedule> it = schedules.iterator(); it.hasNext(); ) {
+                        Schedule schedule = it.next();
+                        writeSchedule(ical, schedule);
+                        entityManager.detach(schedule);
+                    }
+                }
+                try (Stream<Task> tasks = taskRepository.streamByUserIdAndDueDateIsNotNull(userId)) {
+                    for (Iterator<Task> it = tasks.iterator(); it.hasNext(); ) {
+                        Task task = it.next();
+                        writeTask(ical, task);
+                        entityManager.detach(task);
+                    }
+                }
+                try (Stream<Reminder> reminders = reminderRepository.streamByUserId(userId)) {
+                    for (Iterator<Reminder> it = reminders.iterator(); it.hasNext(); ) {
+                        Reminder reminder = it.next();
+                        writeReminder(ical, reminder);
+                        entityManager.detach(reminder);
+                    }
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+
+        ical.property("END", "VCALENDAR");
+        ical.flush();
+    }
+
+    private void writeSchedule(ICalendarWriter ical, Schedule schedule) throws IOException {
+        ical.property("BEGIN", "VEVENT");
+        ical.property("UID", "schedule-" + schedule.getId() + "@planner");
+        ical.utcTimestamp("DTSTAMP", stampOf(schedule.getUpdatedAt(), schedule.getCreatedAt()));
+        ical.dateTime("DTSTART", schedule.getStartTime());
+        ical.dateTime("DTEND", schedule.getEndTime());
+        ical.text("SUMMARY", schedule.getTitle());
+        ical.text("DESCRIPTION", schedule.getDescription());
+        ical.text("LOCATION", schedule.getLocation());
+        ical.property("END", "VEVENT");
+    }
+
+    private void writeTask(ICalendarWriter ical, Task task) throws IOException {
+        ical.property("BEGIN", "VTODO");
+        ical.property("UID", "task-" + task.getId() + "@planner");
+        ical.utcTimestamp("DTSTAMP", stampOf(task.getUpdatedAt(), task.getCreatedAt()));
+        ical.date("DUE", task.getDueDate());
+        ical.text("SUMMARY", task.getTitle());
+        ical.text("DESCRIPTION", task.getDescription());
+        ical.property("PRIORITY", toICalPriority(task.getPriority()));
+        ical.property("STATUS", toICalStatus(task.getStatus()));
+        ical.property("END", "VTODO");
+    }
+
+    private void writeReminder(ICalendarWriter ical, Reminder reminder) throws IOException {
+        ical.property("BEGIN", "VEVENT");
+        ical.property("UID", "reminder-" + reminder.getId() + "@planner");
+        ical.utcTimestamp("DTSTAMP", stampOf(reminder.getUpdatedAt(), reminder.getCreatedAt()));
+        ical.dateTime("DTSTART", reminder.getRemindAt());
+        ical.text("SUMMARY", reminder.getTitle());
+        ical.text("DESCRIPTION", reminder.getDescription());
+        if (!Boolean.TRUE.equals(reminder.getIsSent())) {
+            ical.property("BEGIN", "VALARM");
+            ical.property("ACTION", "DISPLAY");
+            ical.property("TRIGGER", "PT0S");
+            ical.text("DESCRIPTION", reminder.getTitle());
+            ical.property("END", "VALARM");
+        }
+        ical.property("END", "VEVENT");
+    }
+
+    private LocalDateTime stampOf(LocalDateTime updatedAt, LocalDateTime createdAt) {
+        if (updatedAt != null) {
+            return updatedAt;
+        }
+        return createdAt != null ? createdAt : LocalDateTime.now();
+    }
+
+    private String toICalPriority(String priority) {
+        if ("HIGH".equals(priority)) {
+            return "1";
+        }
+        return "LOW".equals(priority) ? "9" : "5";
+    }
+
+    private String toICalStatus(String status) {
+        if ("COMPLETED".equals(status)) {
+            return "COMPLETED";
+        }
+        return "IN_PROGRESS".equals(status) ? "IN-PROCESS" : "NEEDS-ACTION";
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class FeedState {
+        private final Long userId;
+        private final long revision;
+        private final long lastModified;
+    }
+
+    /**
+     * Passes everything through and keeps a copy until the limit is exceeded; feeds larger than the limit
+     * are streamed every time instead of being cached.
+     */
+    private static class CapturingOutputStream extends FilterOutputStream {
+
+        private final ByteArrayOutputStream copy = new ByteArrayOutputStream();
+        private final int limit;
+        private boolean overflowed;
+
+        CapturingOutputStream(OutputStream out, int limit) {
+            super(out);
+            this.limit = limit;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            if (reserve(1)) {
+                copy.write(b);
+            }
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            if (reserve(len)) {
+                copy.write(b, off, len);
+            }
+        }
+
+        boolean isOverflowed() {
+            return overflowed;
+        }
+
+        byte[] toByteArray() {
+            return copy.toByteArray();
+        }
+
+        private boolean reserve(int len) {
+            if (!overflowed && copy.size() + len > limit) {
+                overflowed = true;
+                copy.reset();
+            }
+            return !overflowed;
+        }
+    }
+}
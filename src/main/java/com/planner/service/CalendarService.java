@@ -0,0 +1,134 @@
+package com.planner.service;
+
+import com.planner.dto.response.CalendarMonthResponse;
+import com.planner.exception.BadRequestException;
+import com.planner.repository.ArchivedReminderRepository;
+import com.planner.repository.DailyCount;
+import com.planner.repository.ReminderRepository;
+import com.planner.repository.ScheduleRepository;
+import com.planner.repository.TaskRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Service;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+@Service
+@Slf4j
+public class CalendarService {
+
+    public static final int GRID_DAYS = 42;
+
+    public static final String MONTH_CACHE = "calendar-month";
+
+    // Well inside the DATE range MySQL accepts, including the days a grid shows of the adjacent months
+    private static final int MIN_YEAR = 1900;
+    private static final int MAX_YEAR = 2999;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private ScheduleRepository scheduleRepository;
+
+    @Autowired
+    private ReminderRepository reminderRepository;
+
+    @Autowired
+    private ArchivedReminderRepository archivedReminderRepository;
+
+    @Autowired
+    private ReminderArchiveService reminderArchiveService;
+
+    @Cacheable(value = MONTH_CACHE, key = "#userId + ':' + #year + '-' + #month", sync = true)
+    public CalendarMonthResponse getMonthView(Long userId, int year, int month) {
+        if (month < 1 || month > 12) {
+            throw new BadRequestException("Month must be between 1 and 12");
+        }
+        if (year < MIN_YEAR || year > MAX_YEAR) {
+            throw new BadRequestException("Year must be between " + MIN_YEAR + " and " + MAX_YEAR);
+        }
+        log.info("Fetching calendar month {}-{} for user: {}", year, month, userId);
+
+        YearMonth yearMonth = YearMonth.of(year, month);
+        LocalDate gridStart = gridStart(yearMonth);
+        LocalDate gridEnd = gridStart.plusDays(GRID_DAYS - 1);
+
+        int[] taskCounts = new int[GRID_DAYS];
+        int[] scheduleCounts = new int[GRID_DAYS];
+        int[] reminderCounts = new int[GRID_DAYS];
+
+        fill(taskCounts, gridStart, taskRepository.countByUserIdPerDueDate(userId, gridStart, gridEnd));
+        fill(scheduleCounts, gridStart, scheduleRepository.countByUserIdPerStartDate(
+                userId, gridStart.atStartOfDay(), gridEnd.plusDays(1).atStartOfDay()));
+        fill(reminderCounts, gridStart, reminderRepository.countByUserIdPerRemindDate(
+                userId, gridStart.atStartOfDay(), gridEnd.plusDays(1).atStartOfDay()));
+        // Only grids reaching back past the retention period can have reminders in the archive
+        if (gridStart.atStartOfDay().isBefore(reminderArchiveService.getArchiveCutoff(LocalDateTime.now()))) {
+            fill(reminderCounts, gridStart, archivedReminderRepository.countByUserIdPerRemindDate(
+                    userId, gridStart.atStartOfDay(), gridEnd.plusDays(1).atStartOfDay()));
+        }
+
+        List<CalendarMonthResponse.CalendarDay> days = new ArrayList<>(GRID_DAYS);
+        for (int i = 0; i < GRID_DAYS; i++) {
+            LocalDate date = gridStart.plusDays(i);
+            days.add(CalendarMonthResponse.CalendarDay.builder()
+                    .date(date)
+                    .inMonth(date.getMonthValue() == month)
+                    .taskCount(taskCounts[i])
+                    .scheduleCount(scheduleCounts[i])
+                    .reminderCount(reminderCounts[i])
+                    .build());
+        }
+
+        return CalendarMonthResponse.builder()
+                .year(year)
+                .month(month)
+                .gridStart(gridStart)
+                .gridEnd(gridEnd)
+                .days(days)
+                .build();
+    }
+
+    /**
+     * Keys of the cached month grids that show one of the given days: its own month as well as the
+     * leading/trailing weeks of the neighbouring months.
+     */
+    public Set<String> monthKeys(Long userId, Collection<LocalDate> days) {
+        Set<String> keys = new LinkedHashSet<>();
+        for (LocalDate day : days) {
+            YearMonth own = YearMonth.from(day);
+            for (YearMonth candidate : List.of(own.minusMonths(1), own, own.plusMonths(1))) {
+                long offset = ChronoUnit.DAYS.between(gridStart(candidate), day);
+                if (offset >= 0 && offset < GRID_DAYS) {
+                    keys.add(userId + ":" + candidate.getYear() + "-" + candidate.getMonthValue());
+                }
+            }
+        }
+        return keys;
+    }
+
+    private LocalDate gridStart(YearMonth yearMonth) {
+        return yearMonth.atDay(1).with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+    }
+
+    private void fill(int[] slots, LocalDate gridStart, List<DailyCount> counts) {
+        for (DailyCount count : counts) {
+            int offset = (int) ChronoUnit.DAYS.between(gridStart, count.getDay());
+            if (offset >= 0 && offset < GRID_DAYS) {
+                slots[offset] += (int) count.getTotal();
+            }
+        }
+    }
+}
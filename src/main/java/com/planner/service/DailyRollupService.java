@@ -0,0 +1,127 @@
+package com.planner.service;
+
+import com.planner.config.QuartzConfig;
+import com.planner.dto.response.ProductivityTrendResponse;
+import com.planner.exception.BadRequestException;
+import com.planner.model.DailyRollup;
+import com.planner.repository.DailyRollupRepository;
+import com.planner.scheduler.DailyRollupJob;
+import lombok.extern.slf4j.Slf4j;
+import org.quartz.JobDataMap;
+import org.quartz.JobKey;
+import org.quartz.Scheduler;
+import org.quartz.SchedulerException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Per-user daily activity in {@code daily_rollups}, so a 90-day trend reads at most 90 rows instead of
+ * scanning the user's history.
+ *
+ * A day is rolled up for all users at once after it is over, from range scans of that one day. Rolling a day
+ * up again replaces it, so the job re-rolls the last {@code rollup.lookback-days} days (catching reminders
+ * the backlog drain sent after midnight and a missed run), and a backfill can be repeated safely.
+ */
+@Service
+@Slf4j
+public class DailyRollupService {
+
+    public static final int MAX_TREND_DAYS = 366;
+
+    @Autowired
+    private DailyRollupRepository rollupRepository;
+
+    @Autowired
+    private Scheduler scheduler;
+
+    @Value("${rollup.lookback-days:2}")
+    private int lookbackDays;
+
+    /**
+     * Replaces every user's rollup of one day.
+     *
+     * @return the number of users active that day
+     */
+    @Transactional
+    public int rollUp(LocalDate day) {
+        rollupRepository.deleteByDay(day);
+        return rollupRepository.insertDay(day, day.atStartOfDay(), day.plusDays(1).atStartOfDay());
+    }
+
+    // A day without a row had no activity, so the series is filled with zeros
+    public ProductivityTrendResponse getTrend(Long userId, int days) {
+        if (days < 1 || days > MAX_TREND_DAYS) {
+            throw new BadRequestException("Days must be between 1 and " + MAX_TREND_DAYS);
+        }
+        log.info("Fetching {}-day productivity trend for user: {}", days, userId);
+
+        LocalDate endDate = LocalDate.now().minusDays(1);
+        LocalDate startDate = endDate.minusDays(days - 1);
+        List<DailyRollup> rollups = rollupRepository.findByUserIdAndDayBetweenOrderByDay(userId, startDate, endDate);
+
+        List<ProductivityTrendResponse.DayPoint> points = new ArrayList<>(days);
+        ProductivityTrendResponse.DayPoint totals = new ProductivityTrendResponse.DayPoint();
+        int next = 0;
+        for (LocalDate date = startDate; !date.isAfter(endDate); date = date.plusDays(1)) {
+            ProductivityTrendResponse.DayPoint point = ProductivityTrendResponse.DayPoint.builder().date(date).build();
+            if (next < rollups.size() && rollups.get(next).getDay().equals(date)) {
+                DailyRollup rollup = rollups.get(next++);
+                point.setTasksCreated(rollup.getTasksCreated());
+                point.setTasksCompleted(rollup.getTasksCompleted());
+                point.setRemindersSent(rollup.getRemindersSent());
+                point.setScheduledMinutes(rollup.getScheduledMinutes());
+            }
+            totals.setTasksCreated(totals.getTasksCreated() + point.getTasksCreated());
+            totals.setTasksCompleted(totals.getTasksCompleted() + point.getTasksCompleted());
+            totals.setRemindersSent(totals.getRemindersSent() + point.getRemindersSent());
+            totals.setScheduledMinutes(totals.getScheduledMinutes() + point.getScheduledMinutes());
+            points.add(point);
+        }
+
+        return ProductivityTrendResponse.builder()
+                .startDate(startDate)
+                .endDate(endDate)
+                .points(points)
+                .totals(totals)
+                .build();
+    }
+
+    /**
+     * Queues a backfill of {@code [from, to]} on the rollup job, which rolls it up one day per transaction.
+     * Days not over yet are left to the nightly run. A backfill holds the job, so it is limited to the days a
+     * trend can show.
+     */
+    public LocalDate backfill(LocalDate from, LocalDate to) {
+        LocalDate yesterday = LocalDate.now().minusDays(1);
+        LocalDate end = to == null || to.isAfter(yesterday) ? yesterday : to;
+        if (from.isAfter(end)) {
+            throw new BadRequestException("Backfill must start on or before " + end);
+        }
+        LocalDate earliest = yesterday.minusDays(MAX_TREND_DAYS - 1);
+        if (from.isBefore(earliest)) {
+            throw new BadRequestException("Backfill cannot start before " + earliest
+                    + ", the first day of the longest trend");
+        }
+
+        JobDataMap data = new JobDataMap();
+        data.put(DailyRollupJob.FROM, from.toString());
+        data.put(DailyRollupJob.TO, end.toString());
+        try {
+            scheduler.triggerJob(JobKey.jobKey(QuartzConfig.DAILY_ROLLUP_JOB), data);
+        } catch (SchedulerException e) {
+            throw new IllegalStateException("Cannot queue rollup backfill", e);
+        }
+        log.info("📈 Queued rollup backfill from {} to {}", from, end);
+        return end;
+    }
+
+    public int getLookbackDays() {
+        return lookbackDays;
+    }
+}
@@ -1,21 +1,29 @@
 package com.planner.service;
 
+import com.planner.cache.DashboardKeyGenerator;
 import com.planner.dto.response.*;
+import com.planner.model.UserCounter;
 import com.planner.repository.ReminderRepository;
 import com.planner.repository.ScheduleRepository;
 import com.planner.repository.TaskRepository;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
 import java.time.LocalDate;
-import java.time.LocalDateTime;
-import java.time.LocalTime;
-import java.util.LinkedHashMap;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
 
 @Service
 @Slf4j
@@ -39,95 +47,70 @@ public class DashboardService {
     @Autowired
     private ReminderRepository reminderRepository;
 
-    @Cacheable(value = "dashboard-today", key = "#userId")
+    @Autowired
+    private UserCounterService userCounterService;
+
+    @Autowired
+    @Qualifier("dashboardExecutor")
+    private Executor dashboardExecutor;
+
+    @Value("${dashboard.fan-out.deadline:PT2S}")
+    private Duration fanOutDeadline;
+
+    /**
+     * The lists, the user's counters and the time-based schedule counts are independent, so they run
+     * concurrently on the bounded dashboard executor and the request waits for the slowest of them instead of
+     * their sum. Sections that fail or miss the deadline are left empty and listed in {@code unavailable};
+     * such a partial dashboard is returned but not cached (see {@code RedisConfig}).
+     */
+    @Cacheable(value = "dashboard-today", keyGenerator = DashboardKeyGenerator.NAME, sync = true)
     public DashboardResponse getTodayDashboard(Long userId) {
         log.info("Fetching today's dashboard for user: {}", userId);
 
         LocalDate today = LocalDate.now();
-
-        // Get today's data
-        List<TaskResponse> todayTasks = taskService.getTasksForToday(userId);
-        List<ScheduleResponse> todaySchedules = scheduleService.getSchedulesForToday(userId);
-        List<ReminderResponse> todayReminders = reminderService.getTodayReminders(userId);
-
-        // Build summary
-        DashboardSummary summary = buildSummary(userId);
+        long deadlineNanos = System.nanoTime() + fanOutDeadline.toNanos();
+
+        CompletableFuture<List<TaskResponse>> tasks = fetch(() -> taskService.getTasksForToday(userId));
+        CompletableFuture<List<ScheduleResponse>> schedules = fetch(() -> scheduleService.getSchedulesForToday(userId));
+        CompletableFuture<List<ReminderResponse>> reminders = fetch(() -> reminderService.getTodayReminders(userId));
+        CompletableFuture<UserCounter> counters = fetch(() -> userCounterService.getCounters(userId));
+        CompletableFuture<DashboardSummary> scheduleCounts = fetch(() -> countSchedules(userId));
+
+        List<String> unavailable = new ArrayList<>();
+        List<TaskResponse> todayTasks = await(tasks, "tasks", deadlineNanos, unavailable);
+        List<ScheduleResponse> todaySchedules = await(schedules, "schedules", deadlineNanos, unavailable);
+        List<ReminderResponse> todayReminders = await(reminders, "reminders", deadlineNanos, unavailable);
+        DashboardSummary summary = mergeSummary(
+                await(counters, "summary.counters", deadlineNanos, unavailable),
+                await(scheduleCounts, "summary.schedules", deadlineNanos, unavailable));
 
         return DashboardResponse.builder()
                 .date(today)
                 .summary(summary)
-                .tasks(todayTasks)
-                .schedules(todaySchedules)
-                .reminders(todayReminders)
+                .tasks(todayTasks != null ? todayTasks : List.of())
+                .schedules(todaySchedules != null ? todaySchedules : List.of())
+                .reminders(todayReminders != null ? todayReminders : List.of())
+                .partial(!unavailable.isEmpty())
+                .unavailable(unavailable)
                 .build();
     }
 
-    @Cacheable(value = "dashboard-week", key = "#userId")
+    /**
+     * Three column-pruned queries over the same seven-day window, mapped straight into responses, then one
+     * pass per list to bucket the rows by day (see {@link WeeklyDashboardAssembler}).
+     */
+    @Cacheable(value = "dashboard-week", keyGenerator = DashboardKeyGenerator.NAME, sync = true)
     public WeeklyDashboardResponse getWeeklyDashboard(Long userId) {
         log.info("Fetching weekly dashboard for user: {}", userId);
 
-        LocalDate today = LocalDate.now();
-        LocalDate endDate = today.plusDays(7);
-
-        // Get week's data
-        List<TaskResponse> weekTasks = taskService.getTasksForWeek(userId);
-        List<ScheduleResponse> weekSchedules = scheduleService.getSchedulesForWeek(userId);
-        List<ReminderResponse> weekReminders = reminderService.getUpcomingReminders(userId);
-
-        // Group by date
-        Map<LocalDate, WeeklyDashboardResponse.DayData> dailyData = new LinkedHashMap<>();
-
-        for (int i = 0; i < 7; i++) {
-            LocalDate date = today.plusDays(i);
-
-            List<TaskResponse> dayTasks = weekTasks.stream()
-                    .filter(t -> t.getDueDate() != null && t.getDueDate().equals(date))
-                    .collect(Collectors.toList());
-
-            List<ScheduleResponse> daySchedules = weekSchedules.stream()
-                    .filter(s -> s.getStartTime().toLocalDate().equals(date))
-                    .collect(Collectors.toList());
-
-            List<ReminderResponse> dayReminders = weekReminders.stream()
-                    .filter(r -> r.getRemindAt().toLocalDate().equals(date))
-                    .collect(Collectors.toList());
-
-            dailyData.put(date, WeeklyDashboardResponse.DayData.builder()
-                    .taskCount(dayTasks.size())
-                    .scheduleCount(daySchedules.size())
-                    .reminderCount(dayReminders.size())
-                    .tasks(dayTasks)
-                    .schedules(daySchedules)
-                    .reminders(dayReminders)
-                    .build());
-        }
-
-        // Build weekly summary
-        long completedTasks = weekTasks.stream()
-                .filter(t -> "COMPLETED".equals(t.getStatus()))
-                .count();
-
-        long pendingTasks = weekTasks.stream()
-                .filter(t -> !"COMPLETED".equals(t.getStatus()))
-                .count();
-
-        WeeklyDashboardResponse.WeeklySummary summary = WeeklyDashboardResponse.WeeklySummary.builder()
-                .totalTasks(weekTasks.size())
-                .totalSchedules(weekSchedules.size())
-                .totalReminders(weekReminders.size())
-                .completedTasks((int) completedTasks)
-                .pendingTasks((int) pendingTasks)
-                .build();
-
-        return WeeklyDashboardResponse.builder()
-                .startDate(today)
-                .endDate(endDate)
-                .dailyData(dailyData)
-                .summary(summary)
-                .build();
+        WeekWindow week = WeekWindow.startingOn(LocalDate.now());
+        return WeeklyDashboardAssembler.assemble(week,
+                taskRepository.findResponsesByUserIdAndDueDateInWindow(userId, week.getFirstDay(), week.getEndDay()),
+                scheduleRepository.findResponsesByUserIdAndStartTimeInWindow(userId, week.getStart(), week.getEnd()),
+                reminderRepository.findUnsentResponsesByUserIdInWindow(userId, week.getStart(), week.getEnd()));
     }
 
-    @Cacheable(value = "dashboard-stats", key = "#userId")
+    @Cacheable(value = "dashboard-stats", keyGenerator = DashboardKeyGenerator.NAME, sync = true)
     public ProductivityStatsResponse getProductivityStats(Long userId) {
         log.info("Fetching productivity stats for user: {}", userId);
 
@@ -136,19 +119,14 @@ public class DashboardService {
         ReminderStatsResponse reminderStats = reminderService.getReminderStats(userId);
 
         // Schedule stats
-        long totalSchedules = scheduleRepository.findByUserId(userId).size();
-        long todaySchedules = scheduleRepository.findTodaySchedules(userId).size();
-
-        LocalDateTime startOfWeek = LocalDateTime.now().with(LocalTime.MIN);
-        LocalDateTime endOfWeek = startOfWeek.plusDays(7);
-        long weekSchedules = scheduleRepository.findByUserIdAndStartTimeBetween(
-                userId, startOfWeek, endOfWeek).size();
+        DashboardSummary scheduleCounts = countSchedules(userId);
+        long totalSchedules = userCounterService.getCounters(userId).getSchedulesTotal();
 
         ProductivityStatsResponse.ScheduleStatsResponse scheduleStats =
                 ProductivityStatsResponse.ScheduleStatsResponse.builder()
                         .totalSchedules(totalSchedules)
-                        .todaySchedules(todaySchedules)
-                        .weekSchedules(weekSchedules)
+                        .todaySchedules(scheduleCounts.getTodaySchedules())
+                        .weekSchedules(scheduleCounts.getWeekSchedules())
                         .build();
 
         // Overall stats
@@ -173,38 +151,55 @@ public class DashboardService {
                 .build();
     }
 
-    private DashboardSummary buildSummary(Long userId) {
-        // Task stats
-        long totalTasks = taskRepository.findByUserId(userId).size();
-        long pendingTasks = taskRepository.countByUserIdAndStatus(userId, "PENDING");
-        long inProgressTasks = taskRepository.countByUserIdAndStatus(userId, "IN_PROGRESS");
-        long completedTasks = taskRepository.countByUserIdAndStatus(userId, "COMPLETED");
-
-        // Schedule stats
-        long totalSchedules = scheduleRepository.findByUserId(userId).size();
-        long todaySchedules = scheduleRepository.findTodaySchedules(userId).size();
-
-        LocalDateTime startOfWeek = LocalDateTime.now().with(LocalTime.MIN);
-        LocalDateTime endOfWeek = startOfWeek.plusDays(7);
-        long weekSchedules = scheduleRepository.findByUserIdAndStartTimeBetween(
-                userId, startOfWeek, endOfWeek).size();
-
-        // Reminder stats
-        long totalReminders = reminderRepository.findByUserId(userId).size();
-        long pendingReminders = reminderRepository.countByUserIdAndIsSent(userId, false);
-        long sentReminders = reminderRepository.countByUserIdAndIsSent(userId, true);
+    // Only the counts that depend on the current time; everything else comes from the user's counters
+    private DashboardSummary countSchedules(Long userId) {
+        WeekWindow week = WeekWindow.startingOn(LocalDate.now());
+        return DashboardSummary.builder()
+                .todaySchedules(scheduleRepository.countTodaySchedules(userId))
+                .weekSchedules(scheduleRepository.countByUserIdAndStartTimeInWindow(userId, week.getStart(), week.getEnd()))
+                .build();
+    }
 
+    // A missing group contributes zeros
+    private static DashboardSummary mergeSummary(UserCounter counters, DashboardSummary schedules) {
+        counters = counters != null ? counters : new UserCounter();
+        schedules = schedules != null ? schedules : new DashboardSummary();
         return DashboardSummary.builder()
-                .totalTasks(totalTasks)
-                .pendingTasks(pendingTasks)
-                .inProgressTasks(inProgressTasks)
-                .completedTasks(completedTasks)
-                .totalSchedules(totalSchedules)
-                .todaySchedules(todaySchedules)
-                .weekSchedules(weekSchedules)
-                .totalReminders(totalReminders)
-                .pendingReminders(pendingReminders)
-                .sentReminders(sentReminders)
+                .totalTasks(counters.getTasksTotal())
+                .pendingTasks(counters.getTasksPending())
+                .inProgressTasks(counters.getTasksInProgress())
+                .completedTasks(counters.getTasksCompleted())
+                .totalSchedules(counters.getSchedulesTotal())
+                .todaySchedules(schedules.getTodaySchedules())
+                .weekSchedules(schedules.getWeekSchedules())
+                .totalReminders(counters.getRemindersPending() + counters.getRemindersSent())
+                .pendingReminders(counters.getRemindersPending())
+                .sentReminders(counters.getRemindersSent())
                 .build();
     }
-}
\ No newline at end of file
+
+    private <T> CompletableFuture<T> fetch(Supplier<T> query) {
+        try {
+            return CompletableFuture.supplyAsync(query, dashboardExecutor);
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    // Waits no longer than what is left of the request's deadline; null means the section is unavailable
+    private <T> T await(CompletableFuture<T> future, String section, long deadlineNanos, List<String> unavailable) {
+        try {
+            return future.get(Math.max(0, deadlineNanos - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            // Cancelling keeps a still-queued query from taking a connection for a response that is already gone
+            future.cancel(false);
+            log.warn("⚠️ Dashboard section {} missed the {} deadline", section, fanOutDeadline);
+        } catch (ExecutionException e) {
+            log.warn("⚠️ Dashboard section {} failed: {}", section, e.getCause().toString());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        unavailable.add(section);
+        return null;
+    }
+}
@@ -0,0 +1,59 @@
+package com.planner.service;
+
+import com.planner.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * Computes the today and week dashboards of recently active users ahead of the morning peak, so the first
+ * request of the day is served from the (date-keyed) cache. Users whose dashboards are already cached cost
+ * one cache read each.
+ */
+@Service
+@Slf4j
+public class DashboardWarmupService {
+
+    @Autowired
+    private ActiveUserTracker activeUserTracker;
+
+    @Autowired
+    private DashboardService dashboardService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Value("${dashboard.warmup.batch-size:50}")
+    private int batchSize;
+
+    /**
+     * Warms one page of the active users snapshot (see {@link ActiveUserTracker#snapshotActiveUsers()}), one user
+     * after another so the batch never takes more connections than a
+     * single dashboard request.
+     *
+     * @return the number of users in the page; fewer than the batch size means it was the last one
+     */
+    public int warmBatch(long offset) {
+        List<String> emails = activeUserTracker.getSnapshotUsers(offset, batchSize);
+        if (emails.isEmpty()) {
+            return 0;
+        }
+        for (Long userId : userRepository.findIdsByEmailIn(emails)) {
+            try {
+                dashboardService.getTodayDashboard(userId);
+                dashboardService.getWeeklyDashboard(userId);
+            } catch (Exception e) {
+                // The user's first request computes it instead
+                log.warn("⚠️ Failed to warm dashboards of user {}: {}", userId, e.getMessage());
+            }
+        }
+        return emails.size();
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+}
@@ -0,0 +1,100 @@
+package com.planner.service;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Minimal RFC 5545 writer: escapes text values and folds content lines at 75 octets.
+ * Writes straight through to the underlying writer so feeds never have to be held in memory.
+ */
+class ICalendarWriter {
+
+    private static final DateTimeFormatter DATE_TIME = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss");
+    private static final DateTimeFormatter DATE = DateTimeFormatter.ofPattern("yyyyMMdd");
+    private static final int MAX_LINE_OCTETS = 75;
+
+    private final Writer out;
+
+    ICalendarWriter(Writer out) {
+        this.out = out;
+    }
+
+    void property(String name, String value) throws IOException {
+        line(name + ":" + value);
+    }
+
+    void text(String name, String value) throws IOException {
+        if (value != null && !value.isEmpty()) {
+            line(name + ":" + escape(value));
+        }
+    }
+
+    // Planner times are stored without a zone, so they are emitted as floating local times
+    void dateTime(String name, LocalDateTime value) throws IOException {
+        line(name + ":" + DATE_TIME.format(value));
+    }
+
+    void date(String name, LocalDate value) throws IOException {
+        line(name + ";VALUE=DATE:" + DATE.format(value));
+    }
+
+    void utcTimestamp(String name, LocalDateTime value) throws IOException {
+        line(name + ":" + DATE_TIME.format(value.atOffset(ZoneOffset.UTC)) + "Z");
+    }
+
+    void flush() throws IOException {
+        out.flush();
+    }
+
+    private void line(String content) throws IOException {
+        int octets = 0;
+        for (int i = 0; i < content.length(); ) {
+            int codePoint = content.codePointAt(i);
+            int width = utf8Width(codePoint);
+            if (octets + width > MAX_LINE_OCTETS) {
+                out.write("\r\n ");
+                octets = 1;
+            }
+            out.write(Character.toChars(codePoint));
+            octets += width;
+            i += Character.charCount(codePoint);
+        }
+        out.write("\r\n");
+    }
+
+    private static int utf8Width(int codePoint) {
+        if (codePoint < 0x80) {
+            return 1;
+        }
+        if (codePoint < 0x800) {
+            return 2;
+        }
+        return codePoint < 0x10000 ? 3 : 4;
+    }
+
+    private static String escape(String value) {
+        StringBuilder escaped = new StringBuilder(value.length() + 16);
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '\\':
+                case ';':
+                case ',':
+                    escaped.append('\\').append(c);
+                    break;
+                case '\n':
+                    escaped.append("\\n");
+                    break;
+                case '\r':
+                    break;
+                default:
+                    escaped.append(c);
+            }
+        }
+        return escaped.toString();
+    }
+}
@@ -0,0 +1,62 @@
+package com.planner.service;
+
+import com.planner.dto.response.InAppNotificationResponse;
+import com.planner.exception.ResourceNotFoundException;
+import com.planner.model.InAppNotification;
+import com.planner.repository.InAppNotificationRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Service
+public class InAppNotificationService {
+
+    private static final int INBOX_SIZE = 50;
+
+    @Autowired
+    private InAppNotificationRepository inAppNotificationRepository;
+
+    public List<InAppNotificationResponse> getRecentNotifications(Long userId) {
+        return inAppNotificationRepository.findByUserIdOrderByCreatedAtDesc(userId, PageRequest.of(0, INBOX_SIZE))
+                .stream()
+                .map(this::mapToResponse)
+                .collect(Collectors.toList());
+    }
+
+    public long getUnreadCount(Long userId) {
+        return inAppNotificationRepository.countByUserIdAndReadAtIsNull(userId);
+    }
+
+    @Transactional
+    public void markAsRead(Long userId, Long notificationId) {
+        // Nothing updated: either already read, or not this user's notification
+        if (inAppNotificationRepository.markRead(userId, notificationId, LocalDateTime.now()) == 0
+                && inAppNotificationRepository.findById(notificationId)
+                .filter(notification -> notification.getUserId().equals(userId))
+                .isEmpty()) {
+            throw new ResourceNotFoundException("Notification not found with id: " + notificationId);
+        }
+    }
+
+    @Transactional
+    public int markAllAsRead(Long userId) {
+        return inAppNotificationRepository.markAllRead(userId, LocalDateTime.now());
+    }
+
+    private InAppNotificationResponse mapToResponse(InAppNotification notification) {
+        return InAppNotificationResponse.builder()
+                .id(notification.getId())
+                .reminderId(notification.getReminderId())
+                .title(notification.getTitle())
+                .body(notification.getBody())
+                .remindAt(notification.getRemindAt())
+                .read(notification.getReadAt() != null)
+                .createdAt(notification.getCreatedAt())
+                .build();
+    }
+}
@@ -0,0 +1,99 @@
+package com.planner.service;
+
+import com.planner.dto.response.OutboxEntryResponse;
+import com.planner.dto.response.OutboxStatsResponse;
+import com.planner.exception.BadRequestException;
+import com.planner.exception.ResourceNotFoundException;
+import com.planner.model.NotificationOutbox;
+import com.planner.repository.NotificationOutboxRepository;
+import com.planner.scheduler.NotificationOutboxRelay;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Admin view of the notification outbox: inspect dead letters and put them back in the queue.
+ */
+@Service
+@Slf4j
+public class NotificationOutboxService {
+
+    private static final int MAX_PAGE_SIZE = 200;
+
+    @Autowired
+    private NotificationOutboxRepository outboxRepository;
+
+    @Autowired
+    private NotificationOutboxRelay outboxRelay;
+
+    public Page<OutboxEntryResponse> getDeadLetters(int page, int size) {
+        if (page < 0 || size < 1 || size > MAX_PAGE_SIZE) {
+            throw new BadRequestException("Page must be >= 0 and size between 1 and " + MAX_PAGE_SIZE);
+        }
+        return outboxRepository.findByStatusOrderByUpdatedAtDesc(NotificationOutbox.DEAD, PageRequest.of(page, size))
+                .map(this::mapToResponse);
+    }
+
+    public OutboxEntryResponse getEntry(Long id) {
+        return outboxRepository.findById(id)
+                .map(this::mapToResponse)
+                .orElseThrow(() -> new ResourceNotFoundException("Outbox entry not found with id: " + id));
+    }
+
+    public OutboxEntryResponse replayDeadLetter(Long id) {
+        NotificationOutbox entry = outboxRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Outbox entry not found with id: " + id));
+        if (!NotificationOutbox.DEAD.equals(entry.getStatus())) {
+            throw new BadRequestException("Only dead-lettered entries can be replayed");
+        }
+
+        outboxRepository.replayDead(List.of(id), LocalDateTime.now());
+        outboxRelay.wakeUp();
+        log.info("🔁 Replaying dead-lettered notification {}", id);
+        return getEntry(id);
+    }
+
+    public int replayAllDeadLetters() {
+        int replayed = outboxRepository.replayAllDead(LocalDateTime.now());
+        if (replayed > 0) {
+            outboxRelay.wakeUp();
+        }
+        log.info("🔁 Replaying {} dead-lettered notifications", replayed);
+        return replayed;
+    }
+
+    public OutboxStatsResponse getStats() {
+        return OutboxStatsResponse.builder()
+                .pending(outboxRepository.countByStatus(NotificationOutbox.PENDING))
+                .sent(outboxRepository.countByStatus(NotificationOutbox.SENT))
+                .dead(outboxRepository.countByStatus(NotificationOutbox.DEAD))
+                .relaySent(outboxRelay.getTotalSent())
+                .relayRetried(outboxRelay.getTotalRetried())
+                .relayDeadLettered(outboxRelay.getTotalDeadLettered())
+                .build();
+    }
+
+    private OutboxEntryResponse mapToResponse(NotificationOutbox entry) {
+        return OutboxEntryResponse.builder()
+                .id(entry.getId())
+                .reminderId(entry.getReminderId())
+                .userId(entry.getUserId())
+                .channel(entry.getChannel())
+                .recipient(entry.getRecipient())
+                .title(entry.getTitle())
+                .remindAt(entry.getRemindAt())
+                .status(entry.getStatus())
+                .attempts(entry.getAttempts())
+                .nextAttemptAt(entry.getNextAttemptAt())
+                .lastError(entry.getLastError())
+                .sentAt(entry.getSentAt())
+                .createdAt(entry.getCreatedAt())
+                .updatedAt(entry.getUpdatedAt())
+                .build();
+    }
+}
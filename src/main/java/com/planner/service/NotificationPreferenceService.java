@@ -0,0 +1,92 @@
+package com.planner.service;
+
+import com.planner.dto.request.NotificationPreferenceRequest;
+import com.planner.dto.response.NotificationPreferenceResponse;
+import com.planner.exception.BadRequestException;
+import com.planner.model.NotificationPreference;
+import com.planner.notification.WebhookTargetPolicy;
+import com.planner.repository.NotificationPreferenceRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.net.URI;
+import java.net.UnknownHostException;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+@Service
+public class NotificationPreferenceService {
+
+    @Autowired
+    private NotificationPreferenceRepository preferenceRepository;
+
+    @Autowired
+    private WebhookTargetPolicy webhookTargetPolicy;
+
+    public NotificationPreference getPreference(Long userId) {
+        return preferenceRepository.findById(userId)
+                .orElseGet(() -> NotificationPreference.defaults(userId));
+    }
+
+    /**
+     * Preferences for several users in one query; users without a stored row get the defaults.
+     */
+    public Map<Long, NotificationPreference> getPreferences(Collection<Long> userIds) {
+        Map<Long, NotificationPreference> preferences = new HashMap<>();
+        preferenceRepository.findAllById(userIds).forEach(p -> preferences.put(p.getUserId(), p));
+        for (Long userId : userIds) {
+            preferences.computeIfAbsent(userId, NotificationPreference::defaults);
+        }
+        return preferences;
+    }
+
+    public NotificationPreferenceResponse getPreferenceResponse(Long userId) {
+        return mapToResponse(getPreference(userId));
+    }
+
+    @Transactional
+    public NotificationPreferenceResponse updatePreference(Long userId, NotificationPreferenceRequest request) {
+        String webhookUrl = request.getWebhookUrl() != null && !request.getWebhookUrl().isBlank()
+                ? request.getWebhookUrl().trim() : null;
+        if (Boolean.TRUE.equals(request.getWebhookEnabled()) && webhookUrl == null) {
+            throw new BadRequestException("Webhook URL is required when webhooks are enabled");
+        }
+        if (webhookUrl != null) {
+            validateWebhookUrl(webhookUrl);
+        }
+
+        NotificationPreference preference = getPreference(userId);
+        preference.setEmailEnabled(request.getEmailEnabled());
+        preference.setInAppEnabled(request.getInAppEnabled());
+        preference.setWebhookEnabled(request.getWebhookEnabled());
+        preference.setWebhookUrl(webhookUrl);
+        return mapToResponse(preferenceRepository.save(preference));
+    }
+
+    private void validateWebhookUrl(String webhookUrl) {
+        URI uri;
+        try {
+            uri = URI.create(webhookUrl);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Webhook URL is not a valid URL");
+        }
+        try {
+            webhookTargetPolicy.check(uri);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException(e.getMessage());
+        } catch (UnknownHostException e) {
+            throw new BadRequestException("Webhook host " + uri.getHost() + " cannot be resolved");
+        }
+    }
+
+    private NotificationPreferenceResponse mapToResponse(NotificationPreference preference) {
+        return NotificationPreferenceResponse.builder()
+                .emailEnabled(preference.getEmailEnabled())
+                .inAppEnabled(preference.getInAppEnabled())
+                .webhookEnabled(preference.getWebhookEnabled())
+                .webhookUrl(preference.getWebhookUrl())
+                .build();
+    }
+}
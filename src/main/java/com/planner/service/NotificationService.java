@@ -1,81 +1,99 @@
 package com.planner.service;
+
+import com.planner.model.NotificationPreference;
 import com.planner.model.Reminder;
+import com.planner.notification.Notification;
+import com.planner.notification.NotificationChannel;
+import jakarta.annotation.PostConstruct;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.mail.SimpleMailMessage;
-import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Routes notifications to the registered {@link NotificationChannel}s.
+ */
 @Service
 @Slf4j
 public class NotificationService {
 
-    @Autowired(required = false)
-    private JavaMailSender mailSender;
-
-    @Value("${notification.email.enabled:false}")
-    private boolean emailEnabled;
-
-    @Value("${notification.email.from}")
-    private String fromEmail;
+    @Autowired
+    private List<NotificationChannel> channels;
 
-    @Value("${notification.console.enabled:true}")
-    private boolean consoleEnabled;
+    @Autowired
+    private NotificationPreferenceService preferenceService;
 
-    public void sendReminderNotification(Reminder reminder, String userEmail) {
-        log.info("Sending reminder notification for: {}", reminder.getTitle());
+    private final Map<String, NotificationChannel> enabledChannels = new LinkedHashMap<>();
 
-        // Console notification (always for demo)
-        if (consoleEnabled) {
-            sendConsoleNotification(reminder);
+    @PostConstruct
+    public void init() {
+        for (NotificationChannel channel : channels) {
+            if (channel.isEnabled()) {
+                enabledChannels.put(channel.getName(), channel);
+            }
         }
+        log.info("Notification channels enabled: {}", enabledChannels.keySet());
+    }
 
-        // Email notification (if configured)
-        if (emailEnabled && mailSender != null) {
-            try {
-                sendEmailNotification(reminder, userEmail);
-            } catch (Exception e) {
-                log.error("Failed to send email notification: {}", e.getMessage());
-                // Fallback to console if email fails
-                log.warn("Email failed, notification logged to console instead");
+    public List<String> getEnabledChannelNames() {
+        return new ArrayList<>(enabledChannels.keySet());
+    }
+
+    /**
+     * Channel name to recipient address for every enabled channel the user is reachable on.
+     */
+    public Map<String, String> resolveRecipients(Long userId, String email, NotificationPreference preference) {
+        Map<String, String> recipients = new LinkedHashMap<>();
+        for (NotificationChannel channel : enabledChannels.values()) {
+            String recipient = channel.resolveRecipient(userId, email, preference);
+            if (recipient != null) {
+                recipients.put(channel.getName(), recipient);
             }
         }
+        return recipients;
     }
 
-    private void sendConsoleNotification(Reminder reminder) {
-        log.info("╔════════════════════════════════════════════════════════════╗");
-        log.info("║               🔔 REMINDER NOTIFICATION                    ║");
-        log.info("╠════════════════════════════════════════════════════════════╣");
-        log.info("║ Title: {}", String.format("%-50s", reminder.getTitle()) + "║");
-        log.info("║ Description: {}", String.format("%-44s",
-                reminder.getDescription() != null ? reminder.getDescription() : "N/A") + "║");
-        log.info("║ Time: {}", String.format("%-51s", reminder.getRemindAt()) + "║");
-        log.info("╚════════════════════════════════════════════════════════════╝");
+    /**
+     * Hands the notification to one channel and returns immediately; the future fails if the channel is
+     * unknown or disabled, or if delivery failed.
+     */
+    public CompletableFuture<Void> send(String channelName, Notification notification) {
+        NotificationChannel channel = enabledChannels.get(channelName);
+        if (channel == null) {
+            return CompletableFuture.failedFuture(
+                    new IllegalStateException("Notification channel not available: " + channelName));
+        }
+        try {
+            return channel.send(notification);
+        } catch (Exception e) {
+            return CompletableFuture.failedFuture(e);
+        }
     }
 
-    private void sendEmailNotification(Reminder reminder, String toEmail) {
-        SimpleMailMessage message = new SimpleMailMessage();
-        message.setFrom(fromEmail);
-        message.setTo(toEmail);
-        message.setSubject("🔔 Reminder: " + reminder.getTitle());
-        message.setText(buildEmailBody(reminder));
+    /**
+     * Sends one reminder right away on every channel the user is reachable on, concurrently, and waits for
+     * all of them. Channel failures are logged, not thrown.
+     */
+    public void sendReminderNotification(Reminder reminder, String userEmail) {
+        log.info("Sending reminder notification for: {}", reminder.getTitle());
+        NotificationPreference preference = preferenceService.getPreference(reminder.getUserId());
 
-        mailSender.send(message);
-        log.info("Email notification sent to: {}", toEmail);
-    }
+        List<CompletableFuture<Void>> deliveries = new ArrayList<>();
+        resolveRecipients(reminder.getUserId(), userEmail, preference).forEach((channelName, recipient) ->
+                deliveries.add(send(channelName, new Notification(reminder.getUserId(), recipient, List.of(reminder)))
+                        .whenComplete((ignored, e) -> {
+                            if (e != null) {
+                                log.error("Failed to send {} notification: {}", channelName, e.getMessage());
+                            }
+                        })));
 
-    private String buildEmailBody(Reminder reminder) {
-        StringBuilder body = new StringBuilder();
-        body.append("Hello,\n\n");
-        body.append("This is a reminder notification:\n\n");
-        body.append("Title: ").append(reminder.getTitle()).append("\n");
-        if (reminder.getDescription() != null) {
-            body.append("Description: ").append(reminder.getDescription()).append("\n");
-        }
-        body.append("Scheduled Time: ").append(reminder.getRemindAt()).append("\n\n");
-        body.append("Best regards,\n");
-        body.append("Planner Team");
-        return body.toString();
+        CompletableFuture.allOf(deliveries.toArray(new CompletableFuture[0]))
+                .exceptionally(e -> null)
+                .join();
     }
-}
\ No newline at end of file
+}
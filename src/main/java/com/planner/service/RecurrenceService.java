@@ -0,0 +1,364 @@
+package com.planner.service;
+
+import com.planner.dto.request.RecurrenceRequest;
+import com.planner.dto.response.RecurrenceResponse;
+import com.planner.event.ChangeType;
+import com.planner.event.DomainChangeEvent;
+import com.planner.event.ReminderChangedEvent;
+import com.planner.event.TaskChangedEvent;
+import com.planner.exception.BadRequestException;
+import com.planner.exception.ResourceNotFoundException;
+import com.planner.model.RecurringSeries;
+import com.planner.realtime.EventPublisher;
+import com.planner.repository.RecurringSeriesRepository;
+import com.planner.repository.ReminderRepository;
+import com.planner.repository.TaskRepository;
+import com.planner.scheduler.ReminderDispatcher;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Recurrence definitions for tasks and reminders.
+ *
+ * A series never stores its full expansion: only the next {@code recurrence.instances-ahead}
+ * occurrences are materialized as ordinary task/reminder rows, and the rollover job tops the
+ * series up as instances come due. Instances carry (series_id, occurrence_at), which is unique,
+ * so re-running a rollover is harmless.
+ */
+@Service
+@Slf4j
+public class RecurrenceService {
+
+    private static final String INSERT_REMINDER_SQL =
+            "INSERT IGNORE INTO reminders (user_id, title, description, remind_at, is_sent, series_id, occurrence_at) " +
+                    "VALUES (?, ?, ?, ?, FALSE, ?, ?)";
+
+    private static final String INSERT_TASK_SQL =
+            "INSERT IGNORE INTO tasks (user_id, title, description, status, priority, due_date, series_id, occurrence_at) " +
+                    "VALUES (?, ?, ?, 'PENDING', ?, ?, ?, ?)";
+
+    @Autowired
+    private RecurringSeriesRepository seriesRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private ReminderRepository reminderRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ApplicationEventPublisher applicationEventPublisher;
+
+    @Autowired
+    private EventPublisher eventPublisher;
+
+    @Autowired
+    private ReminderDispatcher reminderDispatcher;
+
+    @Autowired
+    private UserCounterService userCounterService;
+
+    @Value("${recurrence.instances-ahead:5}")
+    private int instancesAhead;
+
+    @Value("${recurrence.batch-size:100}")
+    private int batchSize;
+
+    @Transactional
+    public RecurrenceResponse createSeries(Long userId, RecurrenceRequest request) {
+        if (request.getEndsAt() != null && request.getEndsAt().isBefore(request.getStartsAt())) {
+            throw new BadRequestException("End time must be after start time");
+        }
+
+        RecurringSeries series = RecurringSeries.builder()
+                .userId(userId)
+                .itemType(request.getItemType())
+                .title(request.getTitle())
+                .description(request.getDescription())
+                .priority(request.getPriority() != null ? request.getPriority() : "MEDIUM")
+                .frequency(request.getFrequency())
+                .intervalCount(request.getInterval() != null ? request.getInterval() : 1)
+                .startsAt(request.getStartsAt())
+                .endsAt(request.getEndsAt())
+                .nextIndex(0)
+                .active(true)
+                .build();
+
+        // Materialize the first instances right away so they show up without waiting for the job
+        LocalDateTime now = LocalDateTime.now();
+        RecurringSeries savedSeries = seriesRepository.save(series);
+        List<LocalDateTime> occurrences = advance(savedSeries, now);
+        insertInstances(savedSeries.getItemType(), occurrences.stream()
+                .map(occurrenceAt -> toRow(savedSeries, occurrenceAt))
+                .collect(Collectors.toList()));
+        seriesRepository.save(savedSeries);
+        applicationEventPublisher.publishEvent(changeEvent(savedSeries.getItemType(), userId, ChangeType.CREATED,
+                toDates(occurrences)));
+        eventPublisher.publish(userId, "recurrence.created", savedSeries.getId());
+
+        log.info("Created {} series with ID: {} for user: {} ({} instances)",
+                savedSeries.getItemType(), savedSeries.getId(), userId, occurrences.size());
+        return mapToResponse(savedSeries);
+    }
+
+    public List<RecurrenceResponse> getSeriesByUser(Long userId) {
+        return seriesRepository.findByUserId(userId).stream()
+                .map(this::mapToResponse)
+                .collect(Collectors.toList());
+    }
+
+    public RecurrenceResponse getSeriesById(Long userId, Long seriesId) {
+        RecurringSeries series = seriesRepository.findByIdAndUserId(seriesId, userId)
+                .orElseThrow(() -> new ResourceNotFoundException("Recurring series not found with id: " + seriesId));
+        return mapToResponse(series);
+    }
+
+    /**
+     * Stops a series. Already materialized instances are kept unless
+     * {@code deleteFutureInstances} is set, in which case pending instances that are not yet due are removed.
+     */
+    @Transactional
+    public void stopSeries(Long userId, Long seriesId, boolean deleteFutureInstances) {
+        RecurringSeries series = seriesRepository.findByIdAndUserId(seriesId, userId)
+                .orElseThrow(() -> new ResourceNotFoundException("Recurring series not found with id: " + seriesId));
+
+        LocalDateTime now = LocalDateTime.now();
+        List<LocalDate> futureDates = new ArrayList<>();
+        if (deleteFutureInstances) {
+            for (long index = firstIndexAfter(series, now); index < series.getNextIndex(); index++) {
+                futureDates.add(occurrenceAt(series, index).toLocalDate());
+            }
+        }
+
+        series.setActive(false);
+        series.setRolloverAt(null);
+        seriesRepository.save(series);
+
+        if (deleteFutureInstances) {
+            int deleted = "TASK".equals(series.getItemType())
+                    ? taskRepository.deletePendingSeriesInstancesAfter(seriesId, now)
+                    : reminderRepository.deleteUnsentSeriesInstancesAfter(seriesId, now);
+            if ("TASK".equals(series.getItemType())) {
+                userCounterService.pendingTasksAdded(userId, -deleted);
+            } else {
+                userCounterService.pendingRemindersAdded(userId, -deleted);
+            }
+            if (deleted > 0) {
+                applicationEventPublisher.publishEvent(changeEvent(series.getItemType(), userId, ChangeType.DELETED,
+                        futureDates));
+            }
+            log.info("Deleted {} future instances of series ID: {}", deleted, seriesId);
+        }
+
+        eventPublisher.publish(userId, "recurrence.stopped", seriesId);
+        log.info("Stopped series with ID: {} for user: {}", seriesId, userId);
+    }
+
+    /**
+     * Tops up one batch of series whose rollover time has passed.
+     *
+     * @return the number of series processed; less than the batch size once nothing is left to do
+     */
+    @Transactional
+    public int rolloverBatch(LocalDateTime now) {
+        List<RecurringSeries> dueSeries = seriesRepository.findDueForRollover(now, PageRequest.of(0, batchSize));
+        if (dueSeries.isEmpty()) {
+            return 0;
+        }
+
+        List<Object[]> taskRows = new ArrayList<>();
+        List<Object[]> reminderRows = new ArrayList<>();
+        Map<Long, Set<LocalDate>> taskDatesByUser = new HashMap<>();
+        Map<Long, Set<LocalDate>> reminderDatesByUser = new HashMap<>();
+
+        for (RecurringSeries series : dueSeries) {
+            boolean isTask = "TASK".equals(series.getItemType());
+            List<LocalDateTime> occurrences = advance(series, now);
+            for (LocalDateTime occurrenceAt : occurrences) {
+                (isTask ? taskRows : reminderRows).add(toRow(series, occurrenceAt));
+            }
+            if (!occurrences.isEmpty()) {
+                (isTask ? taskDatesByUser : reminderDatesByUser)
+                        .computeIfAbsent(series.getUserId(), id -> new HashSet<>()).addAll(toDates(occurrences));
+            }
+        }
+
+        insertInstances("TASK", taskRows);
+        insertInstances("REMINDER", reminderRows);
+        seriesRepository.saveAll(dueSeries);
+
+        taskDatesByUser.forEach((userId, dates) -> applicationEventPublisher.publishEvent(
+                new TaskChangedEvent(userId, ChangeType.CREATED, dates)));
+        reminderDatesByUser.forEach((userId, dates) -> applicationEventPublisher.publishEvent(
+                new ReminderChangedEvent(userId, ChangeType.CREATED, dates)));
+
+        Set<Long> userIds = new HashSet<>(taskDatesByUser.keySet());
+        userIds.addAll(reminderDatesByUser.keySet());
+        userIds.forEach(userId -> eventPublisher.publish(userId, "recurrence.rolled-over", null));
+
+        log.debug("Rolled over {} series ({} tasks, {} reminders)",
+                dueSeries.size(), taskRows.size(), reminderRows.size());
+        return dueSeries.size();
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    /**
+     * Returns every occurrence needed to keep {@code instancesAhead} future instances,
+     * and moves the series' cursor and rollover time past them.
+     */
+    private List<LocalDateTime> advance(RecurringSeries series, LocalDateTime now) {
+        long firstFuture = firstIndexAfter(series, now);
+        long target = firstFuture + instancesAhead;
+
+        // Occurrences that were missed entirely (e.g. a series starting in the past) are skipped
+        long index = Math.max(series.getNextIndex(), firstFuture);
+        List<LocalDateTime> occurrences = new ArrayList<>();
+        while (index < target) {
+            LocalDateTime occurrenceAt = occurrenceAt(series, index);
+            if (isPastEnd(series, occurrenceAt)) {
+                break;
+            }
+            occurrences.add(occurrenceAt);
+            index++;
+        }
+
+        series.setNextIndex((int) Math.max(series.getNextIndex(), index));
+        series.setRolloverAt(isPastEnd(series, occurrenceAt(series, series.getNextIndex()))
+                ? null
+                : occurrenceAt(series, firstFuture));
+        return occurrences;
+    }
+
+    private long firstIndexAfter(RecurringSeries series, LocalDateTime now) {
+        if (series.getStartsAt().isAfter(now)) {
+            return 0;
+        }
+        long index = unitOf(series).between(series.getStartsAt(), now) / series.getIntervalCount();
+        while (!occurrenceAt(series, index).isAfter(now)) {
+            index++;
+        }
+        return index;
+    }
+
+    // Computed from the start rather than the previous occurrence so monthly series don't drift (31st -> 28th -> 28th)
+    private LocalDateTime occurrenceAt(RecurringSeries series, long index) {
+        return series.getStartsAt().plus(index * series.getIntervalCount(), unitOf(series));
+    }
+
+    private ChronoUnit unitOf(RecurringSeries series) {
+        switch (series.getFrequency()) {
+            case "DAILY":
+                return ChronoUnit.DAYS;
+            case "WEEKLY":
+                return ChronoUnit.WEEKS;
+            case "MONTHLY":
+                return ChronoUnit.MONTHS;
+            default:
+                throw new BadRequestException("Invalid frequency: " + series.getFrequency());
+        }
+    }
+
+    private boolean isPastEnd(RecurringSeries series, LocalDateTime occurrenceAt) {
+        return series.getEndsAt() != null && occurrenceAt.isAfter(series.getEndsAt());
+    }
+
+    private List<LocalDate> toDates(List<LocalDateTime> occurrences) {
+        return occurrences.stream().map(LocalDateTime::toLocalDate).collect(Collectors.toList());
+    }
+
+    private Object[] toRow(RecurringSeries series, LocalDateTime occurrenceAt) {
+        Timestamp occurrence = Timestamp.valueOf(occurrenceAt);
+        if ("TASK".equals(series.getItemType())) {
+            return new Object[]{series.getUserId(), series.getTitle(), series.getDescription(),
+                    series.getPriority(), Date.valueOf(occurrenceAt.toLocalDate()), series.getId(), occurrence};
+        }
+        return new Object[]{series.getUserId(), series.getTitle(), series.getDescription(),
+                occurrence, series.getId(), occurrence};
+    }
+
+    private void insertInstances(String itemType, List<Object[]> rows) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        if ("TASK".equals(itemType)) {
+            countInserted(jdbcTemplate.batchUpdate(INSERT_TASK_SQL, rows), rows)
+                    .forEach(userCounterService::pendingTasksAdded);
+            return;
+        }
+
+        countInserted(jdbcTemplate.batchUpdate(INSERT_REMINDER_SQL, rows), rows)
+                .forEach(userCounterService::pendingRemindersAdded);
+        // Instances may land inside the dispatcher's already loaded window
+        LocalDateTime earliest = rows.stream()
+                .map(row -> ((Timestamp) row[3]).toLocalDateTime())
+                .min(LocalDateTime::compareTo)
+                .orElseThrow();
+        reminderDispatcher.reloadFrom(earliest);
+    }
+
+    /**
+     * Instances inserted per user. A rewritten batch reports {@code SUCCESS_NO_INFO} instead of 0/1, which is
+     * counted as inserted: instances are only ever generated past the series' cursor, so an ignored duplicate
+     * is rare, and the reconciler repairs it.
+     */
+    private Map<Long, Long> countInserted(int[] results, List<Object[]> rows) {
+        Map<Long, Long> insertedByUser = new HashMap<>();
+        for (int i = 0; i < results.length; i++) {
+            if (results[i] != 0) {
+                insertedByUser.merge((Long) rows.get(i)[0], 1L, Long::sum);
+            }
+        }
+        return insertedByUser;
+    }
+
+    private static DomainChangeEvent changeEvent(String itemType, Long userId, ChangeType type, List<LocalDate> days) {
+        return "TASK".equals(itemType)
+                ? new TaskChangedEvent(userId, type, days)
+                : new ReminderChangedEvent(userId, type, days);
+    }
+
+    private RecurrenceResponse mapToResponse(RecurringSeries series) {
+        return RecurrenceResponse.builder()
+                .id(series.getId())
+                .userId(series.getUserId())
+                .itemType(series.getItemType())
+                .title(series.getTitle())
+                .description(series.getDescription())
+                .priority(series.getPriority())
+                .frequency(series.getFrequency())
+                .interval(series.getIntervalCount())
+                .startsAt(series.getStartsAt())
+                .endsAt(series.getEndsAt())
+                .nextOccurrenceIndex(series.getNextIndex())
+                .nextRolloverAt(series.getRolloverAt())
+                .active(series.getActive())
+                .createdAt(series.getCreatedAt())
+                .updatedAt(series.getUpdatedAt())
+                .build();
+    }
+}
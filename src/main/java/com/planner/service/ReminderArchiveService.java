@@ -0,0 +1,66 @@
+package com.planner.service;
+
+import com.planner.event.ChangeType;
+import com.planner.event.ReminderChangedEvent;
+import com.planner.repository.ReminderRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Moves sent reminders older than {@code reminder.archive.retention} from {@code reminders} to
+ * {@code reminders_archive}, so the hot table and its indexes only hold what the dispatcher and the
+ * everyday per-user queries need. Reads go to the archive only when a caller explicitly asks for history.
+ */
+@Service
+@Slf4j
+public class ReminderArchiveService {
+
+    @Autowired
+    private ReminderRepository reminderRepository;
+
+    @Autowired
+    private ApplicationEventPublisher applicationEventPublisher;
+
+    @Value("${reminder.archive.retention:P30D}")
+    private Duration retention;
+
+    @Value("${reminder.archive.batch-size:500}")
+    private int batchSize;
+
+    /**
+     * Archives one batch and commits, so each transaction only locks {@code batch-size} rows for the time
+     * of an INSERT ... SELECT and a DELETE by primary key. The owners' reminder lists are invalidated once
+     * the batch commits.
+     */
+    @Transactional
+    public int archiveBatch(LocalDateTime now) {
+        List<Long> ids = reminderRepository.lockSentDueBefore(getArchiveCutoff(now), batchSize);
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        reminderRepository.countByUserIdForIdIn(ids).forEach(count -> applicationEventPublisher.publishEvent(
+                new ReminderChangedEvent(count.getUserId(), ChangeType.ARCHIVED, List.of())));
+        reminderRepository.copyToArchive(ids, now);
+        reminderRepository.deleteByIdIn(ids);
+        return ids.size();
+    }
+
+    /**
+     * Sent reminders due before this instant may already live in the archive.
+     */
+    public LocalDateTime getArchiveCutoff(LocalDateTime now) {
+        return now.minus(retention);
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+}
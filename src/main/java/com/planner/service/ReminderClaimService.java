@@ -0,0 +1,334 @@
+package com.planner.service;
+
+import com.planner.event.ChangeType;
+import com.planner.event.ReminderChangedEvent;
+import com.planner.model.NotificationPreference;
+import com.planner.model.Reminder;
+import com.planner.notification.ReminderTemplates;
+import com.planner.realtime.EventPublisher;
+import com.planner.repository.DueReminder;
+import com.planner.repository.ReminderRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Claims a chunk of due reminders handed over by the dispatcher.
+ *
+ * Claiming writes one notification_outbox row per reminder and channel the owner is reachable on, and
+ * marks the reminders sent in the same transaction, so a reminder is either still unsent or guaranteed to
+ * have its outbox rows; delivery is left to {@code NotificationOutboxRelay}. A chunk costs five statements
+ * regardless of its size, plus one counter update per owner: the row lock, the join that loads the reminders
+ * with their owners' emails, one preferences lookup, one batched INSERT and one bulk UPDATE.
+ *
+ * Every node's dispatcher queues the same reminders, so the chunk is first locked with
+ * {@code FOR UPDATE SKIP LOCKED}: only the rows this transaction managed to lock are claimed, and a reminder
+ * another node is claiming at the same moment is skipped here and is already sent once that node commits.
+ */
+@Service
+@Slf4j
+public class ReminderClaimService {
+
+    private static final String INSERT_OUTBOX =
+            "INSERT INTO notification_outbox (reminder_id, user_id, channel, recipient, title, description, " +
+                    "remind_at, status, attempts, next_attempt_at) VALUES (?, ?, ?, ?, ?, ?, ?, 'PENDING', 0, ?)";
+
+    private static final int MAX_SUMMARY_LINES = 20;
+
+    @Autowired
+    private ReminderRepository reminderRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ApplicationEventPublisher applicationEventPublisher;
+
+    @Autowired
+    private NotificationService notificationService;
+
+    @Autowired
+    private NotificationPreferenceService preferenceService;
+
+    @Autowired
+    private EventPublisher eventPublisher;
+
+    @Autowired
+    private UserCounterService userCounterService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${reminder.dispatch.chunk-size:200}")
+    private int chunkSize;
+
+    @Value("${notification.digest.enabled:false}")
+    private boolean digestEnabled;
+
+    @Value("${notification.digest.window:PT1M}")
+    private Duration digestWindow;
+
+    private TransactionTemplate transactionTemplate;
+
+    @PostConstruct
+    public void init() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Transactional
+    public ChunkResult claimChunk(List<Long> reminderIds) {
+        List<Long> locked = reminderRepository.lockUnsentByIdIn(reminderIds);
+        if (locked.isEmpty()) {
+            return new ChunkResult(0, List.of(), 0);
+        }
+
+        // Re-read: reminders may have been sent, edited or deleted since they were queued
+        List<DueReminder> due = reminderRepository.findUnsentWithEmailByIdIn(locked);
+        if (due.isEmpty()) {
+            return new ChunkResult(0, List.of(), 0);
+        }
+
+        Set<Long> userIds = new HashSet<>();
+        due.forEach(item -> userIds.add(item.getReminder().getUserId()));
+        Map<Long, NotificationPreference> preferences = preferenceService.getPreferences(userIds);
+
+        // One row per reminder and channel the owner is reachable on
+        List<OutboxRow> rows = new ArrayList<>(due.size() * 2);
+        for (DueReminder item : due) {
+            Reminder reminder = item.getReminder();
+            notificationService.resolveRecipients(reminder.getUserId(), item.getEmail(), preferences.get(reminder.getUserId()))
+                    .forEach((channel, recipient) -> rows.add(new OutboxRow(reminder, channel, recipient)));
+        }
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        insertOutbox(rows, now, true);
+        return new ChunkResult(due.size(), markClaimed(due, now.toLocalDateTime(), true), rows.size());
+    }
+
+    /**
+     * Claims every unsent reminder of the given users that was due before {@code before} as a single
+     * "missed reminders" notification per user and channel, instead of one message per reminder. Used by
+     * the catch-up drain for reminders too stale to be worth sending one by one.
+     *
+     * A user's backlog can be arbitrarily large, so the reminders are locked and marked sent at most
+     * {@code chunk-size} at a time, each chunk in a transaction of its own. The digests are built beforehand
+     * from each user's count and latest reminders and written with the first chunk, so every reminder that is
+     * marked sent is covered by a digest; after a crash part-way the rest are still unsent and the next drain
+     * collapses them again.
+     *
+     * Realtime clients get one {@code reminder.missed} event per user rather than a {@code reminder.due}
+     * for every collapsed reminder.
+     */
+    public CollapseResult collapseStale(List<Long> userIds, LocalDateTime before) {
+        Map<Long, Reminder> summaries = new LinkedHashMap<>();
+        // Users reachable on no channel get no digest, but their reminders are claimed all the same
+        List<OutboxRow> digests = digests(userIds, before, summaries);
+
+        Map<Long, Long> claimedByUser = new HashMap<>();
+        int claimed = 0;
+        int[] chunk;
+        do {
+            boolean first = claimed == 0;
+            // {locked, claimed}
+            chunk = transactionTemplate.execute(status -> {
+                List<Long> ids = reminderRepository.lockUnsentByUserIdInDueBefore(userIds, before, chunkSize);
+                List<DueReminder> due = ids.isEmpty() ? List.of() : reminderRepository.findUnsentWithEmailByIdIn(ids);
+                if (due.isEmpty()) {
+                    return new int[]{ids.size(), 0};
+                }
+                Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+                if (first && !digests.isEmpty()) {
+                    insertOutbox(digests, now, false);
+                }
+                due.forEach(item -> claimedByUser.merge(item.getReminder().getUserId(), 1L, Long::sum));
+                return new int[]{ids.size(), markClaimed(due, now.toLocalDateTime(), false).size()};
+            });
+            claimed += chunk[1];
+        } while (chunk[0] == chunkSize && chunk[1] > 0);
+
+        // Outside the chunk transactions, so these go out right away
+        claimedByUser.forEach((userId, count) -> {
+            Reminder summary = summaries.get(userId);
+            if (summary != null) {
+                eventPublisher.publish(userId, "reminder.missed", summary.getId(), Map.of(
+                        "title", summary.getTitle(),
+                        "count", count));
+            }
+        });
+        return new CollapseResult(claimed, claimed > 0 ? digests.size() : 0);
+    }
+
+    /**
+     * One outbox row per user and channel, describing the user's unsent reminders due before {@code before};
+     * reads their count and only the most recent ones. Each user's summary is also put in {@code summaries}.
+     */
+    private List<OutboxRow> digests(List<Long> userIds, LocalDateTime before, Map<Long, Reminder> summaries) {
+        Map<Long, Long> totals = new HashMap<>();
+        reminderRepository.countUnsentByUserIdInDueBefore(userIds, before)
+                .forEach(count -> totals.put(count.getUserId(), count.getTotal()));
+        if (totals.isEmpty()) {
+            return List.of();
+        }
+        List<Long> latestIds = reminderRepository.findLatestUnsentIdsByUserIdInDueBefore(userIds, before, MAX_SUMMARY_LINES);
+        if (latestIds.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, List<DueReminder>> byUser = new LinkedHashMap<>();
+        reminderRepository.findUnsentWithEmailByIdIn(latestIds).forEach(item ->
+                byUser.computeIfAbsent(item.getReminder().getUserId(), id -> new ArrayList<>()).add(item));
+        Map<Long, NotificationPreference> preferences = preferenceService.getPreferences(byUser.keySet());
+
+        List<OutboxRow> rows = new ArrayList<>(byUser.size() * 2);
+        byUser.forEach((userId, items) -> {
+            Reminder summary = summarize(items, totals.getOrDefault(userId, (long) items.size()));
+            summaries.put(userId, summary);
+            notificationService.resolveRecipients(userId, items.get(0).getEmail(), preferences.get(userId))
+                    .forEach((channel, recipient) -> rows.add(new OutboxRow(summary, channel, recipient)));
+        });
+        return rows;
+    }
+
+    /**
+     * Marks reminders sent without notifying anyone; the catch-up drain's policy for reminders that are
+     * too old to be worth delivering at all.
+     */
+    @Transactional
+    public ChunkResult skipChunk(List<Long> reminderIds) {
+        List<Long> locked = reminderRepository.lockUnsentByIdIn(reminderIds);
+        if (locked.isEmpty()) {
+            return new ChunkResult(0, List.of(), 0);
+        }
+        Map<Long, Long> sentByUser = new HashMap<>();
+        reminderRepository.countByUserIdForIdIn(locked).forEach(count -> sentByUser.put(count.getUserId(), count.getTotal()));
+        reminderRepository.markSent(locked, LocalDateTime.now());
+        userCounterService.remindersSent(sentByUser);
+        // Skipped reminders are long past, so only the users' counts and lists change
+        sentByUser.keySet().forEach(userId -> applicationEventPublisher.publishEvent(
+                new ReminderChangedEvent(userId, ChangeType.STATUS_CHANGED, List.of())));
+        return new ChunkResult(locked.size(), locked, 0);
+    }
+
+    private void insertOutbox(List<OutboxRow> rows, Timestamp now, boolean holdForDigest) {
+        jdbcTemplate.batchUpdate(INSERT_OUTBOX, rows, rows.size(), (ps, row) -> {
+            ps.setLong(1, row.reminder.getId());
+            ps.setLong(2, row.reminder.getUserId());
+            ps.setString(3, row.channel);
+            ps.setString(4, row.recipient);
+            ps.setString(5, row.reminder.getTitle());
+            ps.setString(6, row.reminder.getDescription());
+            ps.setTimestamp(7, Timestamp.valueOf(row.reminder.getRemindAt()));
+            ps.setTimestamp(8, holdForDigest ? readyAt(row.reminder.getRemindAt(), now) : now);
+        });
+    }
+
+    private List<Long> markClaimed(List<DueReminder> due, LocalDateTime now, boolean announce) {
+        List<Long> claimed = new ArrayList<>(due.size());
+        Map<Long, Long> sentByUser = new HashMap<>();
+        Map<Long, Set<LocalDate>> daysByUser = new HashMap<>();
+        due.forEach(item -> {
+            Reminder reminder = item.getReminder();
+            claimed.add(reminder.getId());
+            sentByUser.merge(reminder.getUserId(), 1L, Long::sum);
+            daysByUser.computeIfAbsent(reminder.getUserId(), id -> new HashSet<>()).add(reminder.getRemindAt().toLocalDate());
+        });
+        reminderRepository.markSent(claimed, now);
+        userCounterService.remindersSent(sentByUser);
+        daysByUser.forEach((userId, days) -> applicationEventPublisher.publishEvent(
+                new ReminderChangedEvent(userId, ChangeType.STATUS_CHANGED, days)));
+
+        if (!announce) {
+            return claimed;
+        }
+        // Published after commit, like the cache invalidation above
+        for (DueReminder item : due) {
+            Reminder reminder = item.getReminder();
+            eventPublisher.publish(reminder.getUserId(), "reminder.due", reminder.getId(), Map.of(
+                    "title", reminder.getTitle(),
+                    "remindAt", reminder.getRemindAt().toString()));
+        }
+        return claimed;
+    }
+
+    // The outbox row points at the most recent reminder; the description lists the latest ones of all {@code total}
+    // through the same template as the digest email
+    private static Reminder summarize(List<DueReminder> latest, long total) {
+        latest.sort(Comparator.comparing((DueReminder item) -> item.getReminder().getRemindAt())
+                .thenComparing(item -> item.getReminder().getId()));
+        Reminder last = latest.get(latest.size() - 1).getReminder();
+        if (total == 1) {
+            return last;
+        }
+
+        List<Reminder> reminders = latest.stream().map(DueReminder::getReminder).toList();
+        return Reminder.builder()
+                .id(last.getId())
+                .userId(last.getUserId())
+                .title("You missed " + total + " reminders")
+                .description(ReminderTemplates.renderList(reminders, total - reminders.size()))
+                .remindAt(last.getRemindAt())
+                .build();
+    }
+
+    /**
+     * With digests enabled, holds each row until the end of its remindAt window so that a user's reminders
+     * due in the same window become ready together and the relay can send them as one message. Windows are
+     * aligned to the clock, so reminders set on a window boundary (e.g. 9:00 with a one-minute window) are
+     * not delayed at all.
+     */
+    private Timestamp readyAt(LocalDateTime remindAt, Timestamp now) {
+        if (!digestEnabled) {
+            return now;
+        }
+        long windowMillis = digestWindow.toMillis();
+        long remindAtMillis = remindAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        long windowEnd = Math.floorDiv(remindAtMillis + windowMillis - 1, windowMillis) * windowMillis;
+        return windowEnd > now.getTime() ? new Timestamp(windowEnd) : now;
+    }
+
+    @AllArgsConstructor
+    private static class OutboxRow {
+        private final Reminder reminder;
+        private final String channel;
+        private final String recipient;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class ChunkResult {
+        private final int scanned;
+        private final List<Long> claimedIds;
+        // Outbox rows written, i.e. messages that will go out
+        private final int messages;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class CollapseResult {
+        private final int claimed;
+        private final int messages;
+    }
+}
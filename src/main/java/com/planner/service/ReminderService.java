@@ -3,20 +3,29 @@ package com.planner.service;
 import com.planner.dto.request.ReminderRequest;
 import com.planner.dto.response.ReminderResponse;
 import com.planner.dto.response.ReminderStatsResponse;
+import com.planner.event.ChangeType;
+import com.planner.event.ReminderChangedEvent;
 import com.planner.exception.BadRequestException;
 import com.planner.exception.ResourceNotFoundException;
+import com.planner.model.ArchivedReminder;
 import com.planner.model.Reminder;
 import com.planner.model.User;
+import com.planner.model.UserCounter;
+import com.planner.realtime.EventPublisher;
+import com.planner.repository.ArchivedReminderRepository;
 import com.planner.repository.ReminderRepository;
 import com.planner.repository.UserRepository;
+import com.planner.scheduler.ReminderDispatcher;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -27,12 +36,27 @@ public class ReminderService {
     @Autowired
     private ReminderRepository reminderRepository;
 
+    @Autowired
+    private ArchivedReminderRepository archivedReminderRepository;
+
     @Autowired
     private UserRepository userRepository;
 
     @Autowired
     private NotificationService notificationService;
 
+    @Autowired
+    private ApplicationEventPublisher applicationEventPublisher;
+
+    @Autowired
+    private EventPublisher eventPublisher;
+
+    @Autowired
+    private ReminderDispatcher reminderDispatcher;
+
+    @Autowired
+    private UserCounterService userCounterService;
+
     /**
      * Manually trigger notification for a reminder (for testing)
      */
@@ -48,14 +72,19 @@ public class ReminderService {
         notificationService.sendReminderNotification(reminder, user.getEmail());
 
         // Mark as sent
+        if (!reminder.getIsSent()) {
+            userCounterService.remindersSent(userId, 1);
+            applicationEventPublisher.publishEvent(new ReminderChangedEvent(userId, ChangeType.STATUS_CHANGED,
+                    reminder.getRemindAt().toLocalDate()));
+        }
         reminder.setIsSent(true);
         reminderRepository.save(reminder);
+        reminderDispatcher.cancel(reminderId);
 
         log.info("Manually sent reminder ID: {} for user: {}", reminderId, userId);
     }
 
     @Transactional
-    @CacheEvict(value = {"user-reminders", "reminder-stats"}, key = "#userId")
     public ReminderResponse createReminder(Long userId, ReminderRequest request) {
         // Validate that remind time is in the future
         if (request.getRemindAt().isBefore(LocalDateTime.now())) {
@@ -71,11 +100,16 @@ public class ReminderService {
                 .build();
 
         Reminder savedReminder = reminderRepository.save(reminder);
+        userCounterService.pendingRemindersAdded(userId, 1);
+        applicationEventPublisher.publishEvent(new ReminderChangedEvent(userId, ChangeType.CREATED,
+                savedReminder.getRemindAt().toLocalDate()));
+        eventPublisher.publish(userId, "reminder.created", savedReminder.getId());
+        reminderDispatcher.schedule(savedReminder.getId(), savedReminder.getRemindAt());
         log.info("Created reminder with ID: {} for user: {}", savedReminder.getId(), userId);
         return mapToResponse(savedReminder);
     }
 
-    @Cacheable(value = "user-reminders", key = "#userId")
+    @Cacheable(value = "user-reminders", key = "#userId", sync = true)
     public List<ReminderResponse> getAllRemindersByUser(Long userId) {
         log.info("Fetching all reminders for user: {}", userId);
         List<Reminder> reminders = reminderRepository.findByUserId(userId);
@@ -115,16 +149,23 @@ public class ReminderService {
                 .collect(Collectors.toList());
     }
 
-    public List<ReminderResponse> getSentReminders(Long userId) {
-        log.info("Fetching sent reminders for user: {}", userId);
+    /**
+     * Sent reminders still in the hot table; older history lives in the archive and is only read when
+     * {@code includeArchived} is set.
+     */
+    public List<ReminderResponse> getSentReminders(Long userId, boolean includeArchived) {
+        log.info("Fetching sent reminders for user: {} (archived: {})", userId, includeArchived);
         List<Reminder> reminders = reminderRepository.findByUserIdAndIsSent(userId, true);
-        return reminders.stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+        List<ReminderResponse> responses = new ArrayList<>(reminders.size());
+        reminders.forEach(reminder -> responses.add(mapToResponse(reminder)));
+        if (includeArchived) {
+            archivedReminderRepository.findByUserIdOrderByRemindAtDesc(userId)
+                    .forEach(reminder -> responses.add(mapToResponse(reminder)));
+        }
+        return responses;
     }
 
     @Transactional
-    @CacheEvict(value = {"user-reminders", "reminder-stats"}, key = "#userId")
     public ReminderResponse updateReminder(Long userId, Long reminderId, ReminderRequest request) {
         Reminder reminder = reminderRepository.findByIdAndUserId(reminderId, userId)
                 .orElseThrow(() -> new ResourceNotFoundException("Reminder not found with id: " + reminderId));
@@ -134,47 +175,78 @@ public class ReminderService {
             throw new BadRequestException("Reminder time must be in the future");
         }
 
+        LocalDate previousDate = reminder.getRemindAt().toLocalDate();
         reminder.setTitle(request.getTitle());
         reminder.setDescription(request.getDescription());
         reminder.setRemindAt(request.getRemindAt());
 
         Reminder updatedReminder = reminderRepository.save(reminder);
+        applicationEventPublisher.publishEvent(new ReminderChangedEvent(userId, ChangeType.UPDATED,
+                previousDate, updatedReminder.getRemindAt().toLocalDate()));
+        eventPublisher.publish(userId, "reminder.updated", reminderId);
+        if (!updatedReminder.getIsSent()) {
+            reminderDispatcher.schedule(reminderId, updatedReminder.getRemindAt());
+        }
         log.info("Updated reminder with ID: {} for user: {}", reminderId, userId);
         return mapToResponse(updatedReminder);
     }
 
     @Transactional
-    @CacheEvict(value = {"user-reminders", "reminder-stats"}, key = "#userId")
     public ReminderResponse markAsSent(Long userId, Long reminderId) {
         Reminder reminder = reminderRepository.findByIdAndUserId(reminderId, userId)
                 .orElseThrow(() -> new ResourceNotFoundException("Reminder not found with id: " + reminderId));
 
+        if (!reminder.getIsSent()) {
+            userCounterService.remindersSent(userId, 1);
+            applicationEventPublisher.publishEvent(new ReminderChangedEvent(userId, ChangeType.STATUS_CHANGED,
+                    reminder.getRemindAt().toLocalDate()));
+        }
         reminder.setIsSent(true);
         Reminder updatedReminder = reminderRepository.save(reminder);
+        reminderDispatcher.cancel(reminderId);
+        eventPublisher.publish(userId, "reminder.updated", reminderId);
         log.info("Marked reminder as sent: {} for user: {}", reminderId, userId);
         return mapToResponse(updatedReminder);
     }
 
     @Transactional
-    @CacheEvict(value = {"user-reminders", "reminder-stats"}, key = "#userId")
     public void deleteReminder(Long userId, Long reminderId) {
         Reminder reminder = reminderRepository.findByIdAndUserId(reminderId, userId)
                 .orElseThrow(() -> new ResourceNotFoundException("Reminder not found with id: " + reminderId));
 
         reminderRepository.delete(reminder);
+        userCounterService.reminderDeleted(userId, reminder.getIsSent());
+        applicationEventPublisher.publishEvent(new ReminderChangedEvent(userId, ChangeType.DELETED,
+                reminder.getRemindAt().toLocalDate()));
+        reminderDispatcher.cancel(reminderId);
+        eventPublisher.publish(userId, "reminder.deleted", reminderId);
         log.info("Deleted reminder with ID: {} for user: {}", reminderId, userId);
     }
 
-    @Cacheable(value = "reminder-stats", key = "#userId")
+    // Sent reminders include the archived ones
+    @Cacheable(value = "reminder-stats", key = "#userId", sync = true)
     public ReminderStatsResponse getReminderStats(Long userId) {
-        long total = reminderRepository.findByUserId(userId).size();
-        long pending = reminderRepository.countByUserIdAndIsSent(userId, false);
-        long sent = reminderRepository.countByUserIdAndIsSent(userId, true);
+        UserCounter counters = userCounterService.getCounters(userId);
 
         return ReminderStatsResponse.builder()
-                .totalReminders(total)
-                .pendingReminders(pending)
-                .sentReminders(sent)
+                .totalReminders(counters.getRemindersPending() + counters.getRemindersSent())
+                .pendingReminders(counters.getRemindersPending())
+                .sentReminders(counters.getRemindersSent())
+                .build();
+    }
+
+    private ReminderResponse mapToResponse(ArchivedReminder reminder) {
+        return ReminderResponse.builder()
+                .id(reminder.getId())
+                .userId(reminder.getUserId())
+                .title(reminder.getTitle())
+                .description(reminder.getDescription())
+                .remindAt(reminder.getRemindAt())
+                .isSent(true)
+                .archived(true)
+                .seriesId(reminder.getSeriesId())
+                .createdAt(reminder.getCreatedAt())
+                .updatedAt(reminder.getUpdatedAt())
                 .build();
     }
 
@@ -186,6 +258,8 @@ public class ReminderService {
                 .description(reminder.getDescription())
                 .remindAt(reminder.getRemindAt())
                 .isSent(reminder.getIsSent())
+                .archived(false)
+                .seriesId(reminder.getSeriesId())
                 .createdAt(reminder.getCreatedAt())
                 .updatedAt(reminder.getUpdatedAt())
                 .build();
@@ -3,14 +3,17 @@ package com.planner.service;
 
 import com.planner.dto.request.ScheduleRequest;
 import com.planner.dto.response.ScheduleResponse;
+import com.planner.event.ChangeType;
+import com.planner.event.ScheduleChangedEvent;
 import com.planner.exception.BadRequestException;
 import com.planner.exception.ResourceNotFoundException;
 import com.planner.model.Schedule;
+import com.planner.realtime.EventPublisher;
 import com.planner.repository.ScheduleRepository;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -27,8 +30,16 @@ public class ScheduleService {
     @Autowired
     private ScheduleRepository scheduleRepository;
 
+    @Autowired
+    private ApplicationEventPublisher applicationEventPublisher;
+
+    @Autowired
+    private EventPublisher eventPublisher;
+
+    @Autowired
+    private UserCounterService userCounterService;
+
     @Transactional
-    @CacheEvict(value = "user-schedules", key = "#userId")
     public ScheduleResponse createSchedule(Long userId, ScheduleRequest request) {
         // Validate that end time is after start time
         if (request.getEndTime().isBefore(request.getStartTime())) {
@@ -45,11 +56,15 @@ public class ScheduleService {
                 .build();
 
         Schedule savedSchedule = scheduleRepository.save(schedule);
+        userCounterService.scheduleCreated(userId);
+        applicationEventPublisher.publishEvent(new ScheduleChangedEvent(userId, ChangeType.CREATED,
+                savedSchedule.getStartTime().toLocalDate()));
+        eventPublisher.publish(userId, "schedule.created", savedSchedule.getId());
         log.info("Created schedule with ID: {} for user: {}", savedSchedule.getId(), userId);
         return mapToResponse(savedSchedule);
     }
 
-    @Cacheable(value = "user-schedules", key = "#userId")
+    @Cacheable(value = "user-schedules", key = "#userId", sync = true)
     public List<ScheduleResponse> getAllSchedulesByUser(Long userId) {
         log.info("Fetching all schedules for user: {}", userId);
         List<Schedule> schedules = scheduleRepository.findByUserId(userId);
@@ -74,11 +89,10 @@ public class ScheduleService {
 
     public List<ScheduleResponse> getSchedulesForWeek(Long userId) {
         log.info("Fetching week's schedules for user: {}", userId);
-        LocalDateTime startOfWeek = LocalDateTime.now().with(LocalTime.MIN);
-        LocalDateTime endOfWeek = startOfWeek.plusDays(7);
+        WeekWindow week = WeekWindow.startingOn(LocalDate.now());
 
-        List<Schedule> schedules = scheduleRepository.findByUserIdAndStartTimeBetween(
-                userId, startOfWeek, endOfWeek
+        List<Schedule> schedules = scheduleRepository.findByUserIdAndStartTimeInWindow(
+                userId, week.getStart(), week.getEnd()
         );
         return schedules.stream()
                 .map(this::mapToResponse)
@@ -100,7 +114,6 @@ public class ScheduleService {
     }
 
     @Transactional
-    @CacheEvict(value = "user-schedules", key = "#userId")
     public ScheduleResponse updateSchedule(Long userId, Long scheduleId, ScheduleRequest request) {
         Schedule schedule = scheduleRepository.findByIdAndUserId(scheduleId, userId)
                 .orElseThrow(() -> new ResourceNotFoundException("Schedule not found with id: " + scheduleId));
@@ -110,6 +123,7 @@ public class ScheduleService {
             throw new BadRequestException("End time must be after start time");
         }
 
+        LocalDate previousDate = schedule.getStartTime().toLocalDate();
         schedule.setTitle(request.getTitle());
         schedule.setDescription(request.getDescription());
         schedule.setStartTime(request.getStartTime());
@@ -117,17 +131,23 @@ public class ScheduleService {
         schedule.setLocation(request.getLocation());
 
         Schedule updatedSchedule = scheduleRepository.save(schedule);
+        applicationEventPublisher.publishEvent(new ScheduleChangedEvent(userId, ChangeType.UPDATED,
+                previousDate, updatedSchedule.getStartTime().toLocalDate()));
+        eventPublisher.publish(userId, "schedule.updated", scheduleId);
         log.info("Updated schedule with ID: {} for user: {}", scheduleId, userId);
         return mapToResponse(updatedSchedule);
     }
 
     @Transactional
-    @CacheEvict(value = "user-schedules", key = "#userId")
     public void deleteSchedule(Long userId, Long scheduleId) {
         Schedule schedule = scheduleRepository.findByIdAndUserId(scheduleId, userId)
                 .orElseThrow(() -> new ResourceNotFoundException("Schedule not found with id: " + scheduleId));
 
         scheduleRepository.delete(schedule);
+        userCounterService.scheduleDeleted(userId);
+        applicationEventPublisher.publishEvent(new ScheduleChangedEvent(userId, ChangeType.DELETED,
+                schedule.getStartTime().toLocalDate()));
+        eventPublisher.publish(userId, "schedule.deleted", scheduleId);
         log.info("Deleted schedule with ID: {} for user: {}", scheduleId, userId);
     }
 
@@ -2,14 +2,18 @@ package com.planner.service;
 import com.planner.dto.request.TaskRequest;
 import com.planner.dto.response.TaskResponse;
 import com.planner.dto.response.TaskStatsResponse;
+import com.planner.event.ChangeType;
+import com.planner.event.TaskChangedEvent;
 import com.planner.exception.BadRequestException;
 import com.planner.exception.ResourceNotFoundException;
 import com.planner.model.Task;
+import com.planner.model.UserCounter;
+import com.planner.realtime.EventPublisher;
 import com.planner.repository.TaskRepository;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -24,8 +28,16 @@ public class TaskService {
     @Autowired
     private TaskRepository taskRepository;
 
+    @Autowired
+    private ApplicationEventPublisher applicationEventPublisher;
+
+    @Autowired
+    private EventPublisher eventPublisher;
+
+    @Autowired
+    private UserCounterService userCounterService;
+
     @Transactional
-    @CacheEvict(value = {"user-tasks", "task-stats"}, key = "#userId")
     public TaskResponse createTask(Long userId, TaskRequest request) {
         Task task = Task.builder()
                 .userId(userId)
@@ -37,11 +49,14 @@ public class TaskService {
                 .build();
 
         Task savedTask = taskRepository.save(task);
+        userCounterService.taskCreated(userId, savedTask.getStatus());
+        applicationEventPublisher.publishEvent(new TaskChangedEvent(userId, ChangeType.CREATED, savedTask.getDueDate()));
+        eventPublisher.publish(userId, "task.created", savedTask.getId());
         log.info("Created task with ID: {} for user: {}", savedTask.getId(), userId);
         return mapToResponse(savedTask);
     }
 
-    @Cacheable(value = "user-tasks", key = "#userId")
+    @Cacheable(value = "user-tasks", key = "#userId", sync = true)
     public List<TaskResponse> getAllTasksByUser(Long userId) {
         log.info("Fetching all tasks for user: {}", userId);
         List<Task> tasks = taskRepository.findByUserId(userId);
@@ -92,20 +107,20 @@ public class TaskService {
     }
 
     public List<TaskResponse> getTasksForWeek(Long userId) {
-        LocalDate startDate = LocalDate.now();
-        LocalDate endDate = startDate.plusDays(7);
-        List<Task> tasks = taskRepository.findByUserIdAndDueDateBetween(userId, startDate, endDate);
+        WeekWindow week = WeekWindow.startingOn(LocalDate.now());
+        List<Task> tasks = taskRepository.findByUserIdAndDueDateBetween(userId, week.getFirstDay(), week.getLastDay());
         return tasks.stream()
                 .map(this::mapToResponse)
                 .collect(Collectors.toList());
     }
 
     @Transactional
-    @CacheEvict(value = {"user-tasks", "task-stats"}, key = "#userId")
     public TaskResponse updateTask(Long userId, Long taskId, TaskRequest request) {
         Task task = taskRepository.findByIdAndUserId(taskId, userId)
                 .orElseThrow(() -> new ResourceNotFoundException("Task not found with id: " + taskId));
 
+        LocalDate previousDueDate = task.getDueDate();
+        String previousStatus = task.getStatus();
         task.setTitle(request.getTitle());
         task.setDescription(request.getDescription());
 
@@ -120,12 +135,15 @@ public class TaskService {
         task.setDueDate(request.getDueDate());
 
         Task updatedTask = taskRepository.save(task);
+        userCounterService.taskStatusChanged(userId, previousStatus, updatedTask.getStatus());
+        ChangeType change = previousStatus.equals(updatedTask.getStatus()) ? ChangeType.UPDATED : ChangeType.STATUS_CHANGED;
+        applicationEventPublisher.publishEvent(new TaskChangedEvent(userId, change, previousDueDate, updatedTask.getDueDate()));
+        eventPublisher.publish(userId, "task.updated", taskId);
         log.info("Updated task with ID: {} for user: {}", taskId, userId);
         return mapToResponse(updatedTask);
     }
 
     @Transactional
-    @CacheEvict(value = {"user-tasks", "task-stats"}, key = "#userId")
     public TaskResponse updateTaskStatus(Long userId, Long taskId, String status) {
         if (!isValidStatus(status)) {
             throw new BadRequestException("Invalid status: " + status);
@@ -134,34 +152,37 @@ public class TaskService {
         Task task = taskRepository.findByIdAndUserId(taskId, userId)
                 .orElseThrow(() -> new ResourceNotFoundException("Task not found with id: " + taskId));
 
+        String previousStatus = task.getStatus();
         task.setStatus(status);
         Task updatedTask = taskRepository.save(task);
+        userCounterService.taskStatusChanged(userId, previousStatus, status);
+        applicationEventPublisher.publishEvent(new TaskChangedEvent(userId, ChangeType.STATUS_CHANGED, updatedTask.getDueDate()));
+        eventPublisher.publish(userId, "task.updated", taskId);
         log.info("Updated task status to {} for task ID: {}", status, taskId);
         return mapToResponse(updatedTask);
     }
 
     @Transactional
-    @CacheEvict(value = {"user-tasks", "task-stats"}, key = "#userId")
     public void deleteTask(Long userId, Long taskId) {
         Task task = taskRepository.findByIdAndUserId(taskId, userId)
                 .orElseThrow(() -> new ResourceNotFoundException("Task not found with id: " + taskId));
 
         taskRepository.delete(task);
+        userCounterService.taskDeleted(userId, task.getStatus());
+        applicationEventPublisher.publishEvent(new TaskChangedEvent(userId, ChangeType.DELETED, task.getDueDate()));
+        eventPublisher.publish(userId, "task.deleted", taskId);
         log.info("Deleted task with ID: {} for user: {}", taskId, userId);
     }
 
-    @Cacheable(value = "task-stats", key = "#userId")
+    @Cacheable(value = "task-stats", key = "#userId", sync = true)
     public TaskStatsResponse getTaskStats(Long userId) {
-        long total = taskRepository.findByUserId(userId).size();
-        long pending = taskRepository.countByUserIdAndStatus(userId, "PENDING");
-        long inProgress = taskRepository.countByUserIdAndStatus(userId, "IN_PROGRESS");
-        long completed = taskRepository.countByUserIdAndStatus(userId, "COMPLETED");
+        UserCounter counters = userCounterService.getCounters(userId);
 
         return TaskStatsResponse.builder()
-                .totalTasks(total)
-                .pendingTasks(pending)
-                .inProgressTasks(inProgress)
-                .completedTasks(completed)
+                .totalTasks(counters.getTasksTotal())
+                .pendingTasks(counters.getTasksPending())
+                .inProgressTasks(counters.getTasksInProgress())
+                .completedTasks(counters.getTasksCompleted())
                 .build();
     }
 
@@ -174,6 +195,7 @@ public class TaskService {
                 .status(task.getStatus())
                 .priority(task.getPriority())
                 .dueDate(task.getDueDate())
+                .seriesId(task.getSeriesId())
                 .createdAt(task.getCreatedAt())
                 .updatedAt(task.getUpdatedAt())
                 .build();
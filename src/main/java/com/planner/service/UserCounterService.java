@@ -0,0 +1,227 @@
+package com.planner.service;
+
+import com.planner.event.CountersChangedEvent;
+import com.planner.model.UserCounter;
+import com.planner.repository.CounterSnapshot;
+import com.planner.repository.UserCounterRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Per-user summary counts in {@code user_counters}, so a dashboard summary is one primary-key read instead of
+ * a dozen {@code COUNT(*)}s over the user's tasks, schedules and reminders.
+ *
+ * Every write path that changes a count applies a relative delta in its own transaction, so the counters
+ * commit or roll back together with the change they describe. Writes that bypass the services (the seeder,
+ * manual SQL, an {@code INSERT IGNORE} whose outcome the batched driver does not report) can still make
+ * them drift; the reconciler recounts users in the background and repairs whatever it finds, and a user
+ * without a counter row yet gets one on first read.
+ */
+@Service
+@Slf4j
+public class UserCounterService {
+
+    @Autowired
+    private UserCounterRepository counterRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ApplicationEventPublisher applicationEventPublisher;
+
+    @Value("${counters.reconcile.batch-size:200}")
+    private int reconcileBatchSize;
+
+    private TransactionTemplate transactionTemplate;
+
+    @PostConstruct
+    public void init() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    // New users start with a counted (empty) row, so every later write is tracked
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void userCreated(Long userId) {
+        counterRepository.save(UserCounter.builder().userId(userId).reconciledAt(LocalDateTime.now()).build());
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void taskCreated(Long userId, String status) {
+        long[] statuses = taskStatusDelta(status, 1);
+        apply(userId, 1, statuses[0], statuses[1], statuses[2], 0, 0, 0);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void taskStatusChanged(Long userId, String from, String to) {
+        if (Objects.equals(from, to)) {
+            return;
+        }
+        long[] removed = taskStatusDelta(from, -1);
+        long[] added = taskStatusDelta(to, 1);
+        apply(userId, 0, removed[0] + added[0], removed[1] + added[1], removed[2] + added[2], 0, 0, 0);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void taskDeleted(Long userId, String status) {
+        long[] statuses = taskStatusDelta(status, -1);
+        apply(userId, -1, statuses[0], statuses[1], statuses[2], 0, 0, 0);
+    }
+
+    // Series instances are always created and deleted while still pending
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void pendingTasksAdded(Long userId, long count) {
+        apply(userId, count, count, 0, 0, 0, 0, 0);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void scheduleCreated(Long userId) {
+        apply(userId, 0, 0, 0, 0, 1, 0, 0);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void scheduleDeleted(Long userId) {
+        apply(userId, 0, 0, 0, 0, -1, 0, 0);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void pendingRemindersAdded(Long userId, long count) {
+        apply(userId, 0, 0, 0, 0, 0, count, 0);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void remindersSent(Long userId, long count) {
+        apply(userId, 0, 0, 0, 0, 0, -count, count);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void remindersSent(Map<Long, Long> countsByUser) {
+        countsByUser.forEach(this::remindersSent);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void reminderDeleted(Long userId, boolean sent) {
+        apply(userId, 0, 0, 0, 0, 0, sent ? 0 : -1, sent ? -1 : 0);
+    }
+
+    /**
+     * The user's counters; a user who has none yet (signed up before counters existed and not reached by
+     * the reconciler so far) is counted on the spot.
+     */
+    public UserCounter getCounters(Long userId) {
+        UserCounter counter = counterRepository.findById(userId).orElse(null);
+        if (counter != null) {
+            return counter;
+        }
+        try {
+            return transactionTemplate.execute(status -> recount(userId).counter);
+        } catch (DataIntegrityViolationException e) {
+            // Another request created the row first
+            return counterRepository.findById(userId).orElseThrow(() -> e);
+        }
+    }
+
+    /**
+     * Recounts one batch of users, those never counted or reconciled longest ago first.
+     *
+     * @return the number of users whose counters had drifted
+     */
+    public int reconcileBatch() {
+        List<Long> userIds = counterRepository.findUserIdsDueForReconcile(PageRequest.of(0, reconcileBatchSize));
+        int drifted = 0;
+        for (Long userId : userIds) {
+            // Each user in a transaction of its own, so a counter row is only locked for one recount
+            if (Boolean.TRUE.equals(transactionTemplate.execute(status -> recount(userId).drifted))) {
+                drifted++;
+            }
+        }
+        return drifted;
+    }
+
+    public int getReconcileBatchSize() {
+        return reconcileBatchSize;
+    }
+
+    /**
+     * Locks the counter row before counting, so a writer that has already applied its delta is waited for
+     * (and then included in the count), while one that has not yet is blocked until the recount commits and
+     * then applies its delta on top of it.
+     */
+    private Recount recount(Long userId) {
+        UserCounter counter = counterRepository.lockByUserId(userId)
+                .orElseGet(() -> UserCounter.builder().userId(userId).build());
+        CounterSnapshot actual = counterRepository.countFromSource(userId);
+
+        boolean drifted = counter.getReconciledAt() != null && !matches(counter, actual);
+        if (drifted) {
+            log.warn("⚠️ Counters of user {} had drifted: {} (actual: tasks {}/{}/{}/{}, schedules {}, reminders {}/{})",
+                    userId, counter, actual.getTasksTotal(), actual.getTasksPending(), actual.getTasksInProgress(),
+                    actual.getTasksCompleted(), actual.getSchedulesTotal(), actual.getRemindersPending(),
+                    actual.getRemindersSent());
+            applicationEventPublisher.publishEvent(new CountersChangedEvent(userId));
+        }
+        counter.setTasksTotal(actual.getTasksTotal());
+        counter.setTasksPending(actual.getTasksPending());
+        counter.setTasksInProgress(actual.getTasksInProgress());
+        counter.setTasksCompleted(actual.getTasksCompleted());
+        counter.setSchedulesTotal(actual.getSchedulesTotal());
+        counter.setRemindersPending(actual.getRemindersPending());
+        counter.setRemindersSent(actual.getRemindersSent());
+        counter.setReconciledAt(LocalDateTime.now());
+        return new Recount(counterRepository.save(counter), drifted);
+    }
+
+    private void apply(Long userId, long tasksTotal, long tasksPending, long tasksInProgress, long tasksCompleted,
+                       long schedulesTotal, long remindersPending, long remindersSent) {
+        counterRepository.applyDelta(userId, tasksTotal, tasksPending, tasksInProgress, tasksCompleted,
+                schedulesTotal, remindersPending, remindersSent);
+    }
+
+    // {pending, inProgress, completed}; statuses outside the three still count towards the total
+    private static long[] taskStatusDelta(String status, long delta) {
+        long[] statuses = new long[3];
+        if ("PENDING".equals(status)) {
+            statuses[0] = delta;
+        } else if ("IN_PROGRESS".equals(status)) {
+            statuses[1] = delta;
+        } else if ("COMPLETED".equals(status)) {
+            statuses[2] = delta;
+        }
+        return statuses;
+    }
+
+    private static boolean matches(UserCounter counter, CounterSnapshot actual) {
+        return counter.getTasksTotal() == actual.getTasksTotal()
+                && counter.getTasksPending() == actual.getTasksPending()
+                && counter.getTasksInProgress() == actual.getTasksInProgress()
+                && counter.getTasksCompleted() == actual.getTasksCompleted()
+                && counter.getSchedulesTotal() == actual.getSchedulesTotal()
+                && counter.getRemindersPending() == actual.getRemindersPending()
+                && counter.getRemindersSent() == actual.getRemindersSent();
+    }
+
+    private static final class Recount {
+        private final UserCounter counter;
+        private final boolean drifted;
+
+        private Recount(UserCounter counter, boolean drifted) {
+            this.counter = counter;
+            this.drifted = drifted;
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.planner.service;
+
+import lombok.Getter;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * The seven days starting today, as every "this week" view uses them: {@code [firstDay, endDay)}, i.e.
+ * {@code [start, end)} in time. Dates and times are compared against the same bounds so a task due on the
+ * last day and a schedule starting late that evening land in the same week.
+ */
+@Getter
+public final class WeekWindow {
+
+    public static final int DAYS = 7;
+
+    private final LocalDate firstDay;
+    private final LocalDate endDay;
+    private final long firstEpochDay;
+
+    private WeekWindow(LocalDate firstDay) {
+        this.firstDay = firstDay;
+        this.endDay = firstDay.plusDays(DAYS);
+        this.firstEpochDay = firstDay.toEpochDay();
+    }
+
+    public static WeekWindow startingOn(LocalDate firstDay) {
+        return new WeekWindow(firstDay);
+    }
+
+    public LocalDate getLastDay() {
+        return endDay.minusDays(1);
+    }
+
+    public LocalDateTime getStart() {
+        return firstDay.atStartOfDay();
+    }
+
+    public LocalDateTime getEnd() {
+        return endDay.atStartOfDay();
+    }
+
+    public boolean contains(LocalDate day) {
+        return offsetOf(day) >= 0;
+    }
+
+    /**
+     * The day's slot in the window (0 for the first day), or -1 outside it.
+     */
+    public int offsetOf(LocalDate day) {
+        long offset = day.toEpochDay() - firstEpochDay;
+        return offset >= 0 && offset < DAYS ? (int) offset : -1;
+    }
+}
@@ -0,0 +1,142 @@
+package com.planner.benchmark;
+
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.jsontype.BasicPolymorphicTypeValidator;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.planner.cache.CacheValueSerializer;
+import com.planner.dto.response.TaskResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cached value serialization of a user's task list ({@code items} tasks): the previous default-typed JSON
+ * against typed Smile, uncompressed and LZ4-compressed. Payload sizes are printed once per fork.
+ *
+ * Run with {@code mvn test-compile} and then
+ * {@code java -cp target/test-classes:target/classes:$(mvn -q dependency:build-classpath -Dmdep.outputFile=/dev/stdout) com.planner.benchmark.CacheSerializationBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CacheSerializationBenchmark {
+
+    private static final String[] STATUSES = {"PENDING", "IN_PROGRESS", "COMPLETED"};
+    private static final String[] PRIORITIES = {"LOW", "MEDIUM", "HIGH"};
+
+    @Param("1000")
+    private int items;
+
+    private List<TaskResponse> tasks;
+    private GenericJackson2JsonRedisSerializer json;
+    private CacheValueSerializer smile;
+    private CacheValueSerializer smileLz4;
+    private byte[] jsonPayload;
+    private byte[] smilePayload;
+    private byte[] smileLz4Payload;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        LocalDateTime created = LocalDateTime.of(2025, 1, 6, 9, 0);
+        tasks = new ArrayList<>(items);
+        for (long id = 1; id <= items; id++) {
+            tasks.add(TaskResponse.builder()
+                    .id(100_000 + id)
+                    .userId(42L)
+                    .title("Task " + id + " - follow up on item " + random.nextInt(1000))
+                    .description(random.nextInt(3) == 0 ? null : "Notes for task " + id + ": check the details and reply")
+                    .status(STATUSES[random.nextInt(STATUSES.length)])
+                    .priority(PRIORITIES[random.nextInt(PRIORITIES.length)])
+                    .dueDate(LocalDate.of(2025, 3, 1).plusDays(random.nextInt(90)))
+                    .createdAt(created.plusMinutes(random.nextInt(100_000)))
+                    .updatedAt(created.plusMinutes(100_000 + random.nextInt(100_000)))
+                    .build());
+        }
+
+        json = new GenericJackson2JsonRedisSerializer(previousMapper());
+        ObjectMapper smileMapper = CacheValueSerializer.smileMapper();
+        JavaType type = smileMapper.getTypeFactory().constructCollectionType(List.class, TaskResponse.class);
+        smile = new CacheValueSerializer(smileMapper, type, 0);
+        smileLz4 = new CacheValueSerializer(smileMapper, type, 2048);
+
+        jsonPayload = json.serialize(tasks);
+        smilePayload = smile.serialize(tasks);
+        smileLz4Payload = smileLz4.serialize(tasks);
+        System.out.printf("%nPayload bytes for %d tasks: json=%d smile=%d smile+lz4=%d%n",
+                items, jsonPayload.length, smilePayload.length, smileLz4Payload.length);
+    }
+
+    @Benchmark
+    public byte[] jsonSerialize() {
+        return json.serialize(tasks);
+    }
+
+    @Benchmark
+    public Object jsonDeserialize() {
+        return json.deserialize(jsonPayload);
+    }
+
+    @Benchmark
+    public byte[] smileSerialize() {
+        return smile.serialize(tasks);
+    }
+
+    @Benchmark
+    public Object smileDeserialize() {
+        return smile.deserialize(smilePayload);
+    }
+
+    @Benchmark
+    public byte[] smileLz4Serialize() {
+        return smileLz4.serialize(tasks);
+    }
+
+    @Benchmark
+    public Object smileLz4Deserialize() {
+        return smileLz4.deserialize(smileLz4Payload);
+    }
+
+    // The cache value mapper RedisConfig used before typed serializers
+    private static ObjectMapper previousMapper() {
+        ObjectMapper objectMapper = new ObjectMapper();
+        objectMapper.registerModule(new JavaTimeModule());
+        objectMapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        objectMapper.activateDefaultTyping(
+                BasicPolymorphicTypeValidator.builder().allowIfBaseType(Object.class).build(),
+                ObjectMapper.DefaultTyping.NON_FINAL,
+                JsonTypeInfo.As.PROPERTY);
+        return objectMapper;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(CacheSerializationBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
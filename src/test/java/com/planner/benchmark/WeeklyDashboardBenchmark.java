@@ -0,0 +1,129 @@
+package com.planner.benchmark;
+
+import com.planner.dto.response.ReminderResponse;
+import com.planner.dto.response.ScheduleResponse;
+import com.planner.dto.response.TaskResponse;
+import com.planner.dto.response.WeeklyDashboardResponse;
+import com.planner.service.WeekWindow;
+import com.planner.service.WeeklyDashboardAssembler;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Weekly dashboard assembly from already loaded rows: the single bucketing pass against the previous
+ * filter-every-list-once-per-day approach, with {@code items} rows split across tasks, schedules and reminders.
+ *
+ * Run with {@code mvn test-compile} and then
+ * {@code java -cp target/test-classes:target/classes:$(mvn -q dependency:build-classpath -Dmdep.outputFile=/dev/stdout) com.planner.benchmark.WeeklyDashboardBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WeeklyDashboardBenchmark {
+
+    private static final String[] STATUSES = {"PENDING", "IN_PROGRESS", "COMPLETED"};
+
+    @Param("10000")
+    private int items;
+
+    private WeekWindow week;
+    private List<TaskResponse> tasks;
+    private List<ScheduleResponse> schedules;
+    private List<ReminderResponse> reminders;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        week = WeekWindow.startingOn(LocalDate.of(2025, 3, 10));
+        tasks = new ArrayList<>();
+        schedules = new ArrayList<>();
+        reminders = new ArrayList<>();
+
+        for (long id = 0; id < items; id++) {
+            LocalDateTime at = week.getStart().plusMinutes(random.nextInt(WeekWindow.DAYS * 24 * 60));
+            switch ((int) (id % 3)) {
+                case 0 -> tasks.add(TaskResponse.builder().id(id).userId(1L).title("Task " + id)
+                        .status(STATUSES[random.nextInt(STATUSES.length)]).priority("MEDIUM")
+                        .dueDate(at.toLocalDate()).build());
+                case 1 -> schedules.add(ScheduleResponse.builder().id(id).userId(1L).title("Schedule " + id)
+                        .startTime(at).endTime(at.plusHours(1)).build());
+                default -> reminders.add(ReminderResponse.builder().id(id).userId(1L).title("Reminder " + id)
+                        .remindAt(at).isSent(false).archived(false).build());
+            }
+        }
+    }
+
+    @Benchmark
+    public WeeklyDashboardResponse singlePass() {
+        return WeeklyDashboardAssembler.assemble(week, tasks, schedules, reminders);
+    }
+
+    @Benchmark
+    public WeeklyDashboardResponse filterPerDay() {
+        Map<LocalDate, WeeklyDashboardResponse.DayData> dailyData = new LinkedHashMap<>();
+        for (int i = 0; i < WeekWindow.DAYS; i++) {
+            LocalDate date = week.getFirstDay().plusDays(i);
+            List<TaskResponse> dayTasks = tasks.stream()
+                    .filter(t -> t.getDueDate() != null && t.getDueDate().equals(date))
+                    .collect(Collectors.toList());
+            List<ScheduleResponse> daySchedules = schedules.stream()
+                    .filter(s -> s.getStartTime().toLocalDate().equals(date))
+                    .collect(Collectors.toList());
+            List<ReminderResponse> dayReminders = reminders.stream()
+                    .filter(r -> r.getRemindAt().toLocalDate().equals(date))
+                    .collect(Collectors.toList());
+            dailyData.put(date, WeeklyDashboardResponse.DayData.builder()
+                    .taskCount(dayTasks.size())
+                    .scheduleCount(daySchedules.size())
+                    .reminderCount(dayReminders.size())
+                    .tasks(dayTasks)
+                    .schedules(daySchedules)
+                    .reminders(dayReminders)
+                    .build());
+        }
+        long completedTasks = tasks.stream().filter(t -> "COMPLETED".equals(t.getStatus())).count();
+        return WeeklyDashboardResponse.builder()
+                .startDate(week.getFirstDay())
+                .endDate(week.getLastDay())
+                .dailyData(dailyData)
+                .summary(WeeklyDashboardResponse.WeeklySummary.builder()
+                        .totalTasks(tasks.size())
+                        .totalSchedules(schedules.size())
+                        .totalReminders(reminders.size())
+                        .completedTasks((int) completedTasks)
+                        .pendingTasks((int) (tasks.size() - completedTasks))
+                        .build())
+                .build();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(WeeklyDashboardBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
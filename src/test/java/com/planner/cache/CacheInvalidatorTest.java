@@ -0,0 +1,164 @@
+package com.planner.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.planner.event.ChangeType;
+import com.planner.event.CountersChangedEvent;
+import com.planner.event.ReminderChangedEvent;
+import com.planner.event.ScheduleChangedEvent;
+import com.planner.event.TaskChangedEvent;
+import com.planner.service.CalendarFeedService;
+import com.planner.service.CalendarService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+class CacheInvalidatorTest {
+
+    private static final Long USER = 1L;
+    private static final Long OTHER_USER = 2L;
+    private static final List<String> CACHES = List.of("user-tasks", "task-stats", "user-schedules",
+            "user-reminders", "reminder-stats", "dashboard-today", "dashboard-week", "dashboard-stats",
+            CalendarService.MONTH_CACHE);
+
+    private final LocalDate today = LocalDate.now();
+
+    private ConcurrentMapCacheManager cacheManager;
+    private CalendarFeedService calendarFeedService;
+    private StringRedisTemplate redisTemplate;
+    private CacheInvalidator invalidator;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager = new ConcurrentMapCacheManager(CACHES.toArray(new String[0]));
+        calendarFeedService = mock(CalendarFeedService.class);
+        redisTemplate = mock(StringRedisTemplate.class);
+
+        invalidator = new CacheInvalidator();
+        ReflectionTestUtils.setField(invalidator, "cacheManager", cacheManager);
+        ReflectionTestUtils.setField(invalidator, "calendarService", new CalendarService());
+        ReflectionTestUtils.setField(invalidator, "calendarFeedService", calendarFeedService);
+        ReflectionTestUtils.setField(invalidator, "redisTemplate", redisTemplate);
+        ReflectionTestUtils.setField(invalidator, "objectMapper", new ObjectMapper());
+        ReflectionTestUtils.setField(invalidator, "channel", "test:cache-invalidation");
+
+        for (String cacheName : CACHES) {
+            if (cacheName.startsWith("dashboard-")) {
+                cacheManager.getCache(cacheName).put(dashboardKey(USER), "cached");
+                cacheManager.getCache(cacheName).put(dashboardKey(OTHER_USER), "cached");
+            } else if (!cacheName.equals(CalendarService.MONTH_CACHE)) {
+                cacheManager.getCache(cacheName).put(USER, "cached");
+                cacheManager.getCache(cacheName).put(OTHER_USER, "cached");
+            }
+        }
+    }
+
+    @Test
+    void editingFarTaskOnlyEvictsTaskListAndItsMonth() {
+        LocalDate farDay = today.plusMonths(3).withDayOfMonth(15);
+        String monthKey = USER + ":" + farDay.getYear() + "-" + farDay.getMonthValue();
+        cacheManager.getCache(CalendarService.MONTH_CACHE).put(monthKey, "grid");
+
+        invalidator.onTaskChanged(new TaskChangedEvent(USER, ChangeType.UPDATED, farDay));
+
+        assertThat(cached("user-tasks", USER)).isFalse();
+        assertThat(cached(CalendarService.MONTH_CACHE, monthKey)).isFalse();
+        assertThat(cached("task-stats", USER)).isTrue();
+        assertThat(cached("dashboard-today", dashboardKey(USER))).isTrue();
+        assertThat(cached("dashboard-week", dashboardKey(USER))).isTrue();
+        assertThat(cached("dashboard-stats", dashboardKey(USER))).isTrue();
+        assertThat(cached("user-tasks", OTHER_USER)).isTrue();
+        verify(calendarFeedService).touch(USER);
+        verify(redisTemplate).convertAndSend(eq("test:cache-invalidation"), anyString());
+    }
+
+    @Test
+    void taskStatusChangeEvictsStatsAndDashboards() {
+        invalidator.onTaskChanged(new TaskChangedEvent(USER, ChangeType.STATUS_CHANGED, today.plusDays(2)));
+
+        assertThat(cached("user-tasks", USER)).isFalse();
+        assertThat(cached("task-stats", USER)).isFalse();
+        assertThat(cached("dashboard-today", dashboardKey(USER))).isFalse();
+        assertThat(cached("dashboard-week", dashboardKey(USER))).isFalse();
+        assertThat(cached("dashboard-stats", dashboardKey(USER))).isFalse();
+        assertThat(cached("reminder-stats", USER)).isTrue();
+    }
+
+    @Test
+    void movingScheduleWithinWeekEvictsDashboardsButNotOtherLists() {
+        invalidator.onScheduleChanged(new ScheduleChangedEvent(USER, ChangeType.UPDATED, today.plusDays(1)));
+
+        assertThat(cached("user-schedules", USER)).isFalse();
+        assertThat(cached("dashboard-today", dashboardKey(USER))).isFalse();
+        assertThat(cached("dashboard-week", dashboardKey(USER))).isFalse();
+        assertThat(cached("dashboard-stats", dashboardKey(USER))).isFalse();
+        assertThat(cached("user-tasks", USER)).isTrue();
+    }
+
+    @Test
+    void sentReminderKeepsMonthGridButTouchesFeed() {
+        LocalDate day = today.minusDays(1);
+        String monthKey = USER + ":" + day.getYear() + "-" + day.getMonthValue();
+        cacheManager.getCache(CalendarService.MONTH_CACHE).put(monthKey, "grid");
+
+        invalidator.onReminderChanged(new ReminderChangedEvent(USER, ChangeType.STATUS_CHANGED, day));
+
+        assertThat(cached("reminder-stats", USER)).isFalse();
+        assertThat(cached("dashboard-week", dashboardKey(USER))).isTrue();
+        assertThat(cached(CalendarService.MONTH_CACHE, monthKey)).isTrue();
+        // The feed's VALARM of a reminder goes away once it is sent
+        verify(calendarFeedService).touch(USER);
+    }
+
+    @Test
+    void archivedReminderOnlyEvictsList() {
+        cacheManager.getCache("user-reminders").put(USER, "cached");
+        cacheManager.getCache("reminder-stats").put(USER, "cached");
+        invalidator.onReminderChanged(new ReminderChangedEvent(USER, ChangeType.ARCHIVED, List.of()));
+
+        assertThat(cached("user-reminders", USER)).isFalse();
+        assertThat(cached("reminder-stats", USER)).isTrue();
+    }
+
+    @Test
+    void remoteInvalidationFromOtherNodeEvictsLocalCaches() {
+        cacheManager.getCache("user-tasks").put(String.valueOf(USER), "cached");
+        invalidator.onRemoteInvalidation(new CacheInvalidationMessage("other-node",
+                Map.of("user-tasks", List.of(String.valueOf(USER)))));
+
+        assertThat(cached("user-tasks", String.valueOf(USER))).isFalse();
+    }
+
+    @Test
+    void countersChangeEvictsTodaysDashboardsOnly() {
+        String yesterdayKey = DashboardKeyGenerator.key(USER, today.minusDays(1));
+        cacheManager.getCache("dashboard-today").put(yesterdayKey, "cached");
+
+        invalidator.onCountersChanged(new CountersChangedEvent(USER));
+
+        assertThat(cached("dashboard-today", dashboardKey(USER))).isFalse();
+        assertThat(cached("dashboard-stats", dashboardKey(USER))).isFalse();
+        assertThat(cached("task-stats", USER)).isFalse();
+        assertThat(cached("dashboard-week", dashboardKey(USER))).isTrue();
+        assertThat(cached("dashboard-today", yesterdayKey)).isTrue();
+    }
+
+    private String dashboardKey(Long userId) {
+        return DashboardKeyGenerator.key(userId, today);
+    }
+
+    private boolean cached(String cacheName, Object key) {
+        return cacheManager.getCache(cacheName).get(key) != null;
+    }
+}
@@ -0,0 +1,94 @@
+package com.planner.cache;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.planner.dto.response.TaskResponse;
+import com.planner.dto.response.WeeklyDashboardResponse;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CacheValueSerializerTest {
+
+    private final ObjectMapper smileMapper = CacheValueSerializer.smileMapper();
+    private final JavaType taskList = smileMapper.getTypeFactory().constructCollectionType(List.class, TaskResponse.class);
+
+    @Test
+    void smallListRoundTripsUncompressedWithoutClassNames() {
+        CacheValueSerializer serializer = new CacheValueSerializer(smileMapper, taskList, 2048);
+        List<TaskResponse> tasks = tasks(3);
+
+        byte[] payload = serializer.serialize(tasks);
+
+        assertThat(payload[0]).isZero();
+        assertThat(new String(payload, StandardCharsets.ISO_8859_1)).doesNotContain("com.planner");
+        assertThat(serializer.deserialize(payload)).isEqualTo(tasks);
+    }
+
+    @Test
+    void largeListIsCompressedAndRoundTrips() {
+        CacheValueSerializer compressing = new CacheValueSerializer(smileMapper, taskList, 2048);
+        CacheValueSerializer plain = new CacheValueSerializer(smileMapper, taskList, 0);
+        List<TaskResponse> tasks = tasks(1000);
+
+        byte[] payload = compressing.serialize(tasks);
+
+        assertThat(payload[0]).isEqualTo((byte) 1);
+        assertThat(payload.length).isLessThan(plain.serialize(tasks).length);
+        assertThat(compressing.deserialize(payload)).isEqualTo(tasks);
+    }
+
+    @Test
+    void mapKeyedByDateRoundTrips() {
+        JavaType type = smileMapper.getTypeFactory().constructType(WeeklyDashboardResponse.class);
+        CacheValueSerializer serializer = new CacheValueSerializer(smileMapper, type, 2048);
+        WeeklyDashboardResponse week = WeeklyDashboardResponse.builder()
+                .startDate(LocalDate.of(2025, 3, 10))
+                .dailyData(Map.of(LocalDate.of(2025, 3, 10),
+                        WeeklyDashboardResponse.DayData.builder().taskCount(2).tasks(tasks(2)).build()))
+                .build();
+
+        assertThat(serializer.deserialize(serializer.serialize(week))).isEqualTo(week);
+    }
+
+    @Test
+    void envelopeRoundTripsWithItsMetadata() {
+        CacheValueSerializer serializer = new CacheValueSerializer(smileMapper, taskList, 2048);
+
+        for (List<TaskResponse> tasks : List.of(tasks(3), tasks(1000))) {
+            byte[] payload = serializer.serialize(new CacheEnvelope(tasks, 42, 1_700_000_000_000L));
+            CacheEnvelope read = (CacheEnvelope) serializer.deserialize(payload);
+
+            assertThat(payload[0]).isEqualTo(tasks.size() > 3 ? (byte) 3 : (byte) 2);
+            assertThat(read.getValue()).isEqualTo(tasks);
+            assertThat(read.getComputeMillis()).isEqualTo(42);
+            assertThat(read.getExpiresAtMillis()).isEqualTo(1_700_000_000_000L);
+        }
+    }
+
+    @Test
+    void payloadInAnotherFormatReadsAsMiss() {
+        CacheValueSerializer serializer = new CacheValueSerializer(smileMapper, taskList, 2048);
+
+        assertThat(serializer.deserialize("[\"java.util.ArrayList\",[]]".getBytes(StandardCharsets.UTF_8))).isNull();
+        assertThat(serializer.deserialize(new byte[]{0, 1, 2})).isNull();
+    }
+
+    private static List<TaskResponse> tasks(int count) {
+        List<TaskResponse> tasks = new ArrayList<>(count);
+        for (long id = 1; id <= count; id++) {
+            tasks.add(TaskResponse.builder().id(id).userId(7L).title("Task " + id).description("Prepare the weekly report")
+                    .status("PENDING").priority("MEDIUM").dueDate(LocalDate.of(2025, 3, 10).plusDays(id % 30))
+                    .createdAt(LocalDateTime.of(2025, 3, 1, 9, 30)).updatedAt(LocalDateTime.of(2025, 3, 2, 10, 0))
+                    .build());
+        }
+        return tasks;
+    }
+}
@@ -0,0 +1,62 @@
+package com.planner.cache;
+
+import com.planner.dto.response.DashboardResponse;
+import com.planner.dto.response.ReminderResponse;
+import com.planner.dto.response.WeeklyDashboardResponse;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DashboardExpiryTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2025, 3, 10, 21, 30);
+
+    private final DashboardExpiry expiry = new DashboardExpiry(
+            Clock.fixed(NOW.toInstant(ZoneOffset.UTC), ZoneId.of("UTC")));
+
+    @Test
+    void idleDashboardLivesUntilMidnight() {
+        DashboardResponse dashboard = DashboardResponse.builder().date(NOW.toLocalDate()).reminders(List.of()).build();
+
+        assertThat(expiry.getTimeToLive("1:2025-03-10", dashboard)).isEqualTo(Duration.ofMinutes(150));
+        assertThat(expiry.getTimeToLive("1:2025-03-10", new Object())).isEqualTo(Duration.ofMinutes(150));
+    }
+
+    @Test
+    void expiresWhenNextUnsentReminderComesDue() {
+        DashboardResponse dashboard = DashboardResponse.builder()
+                .date(NOW.toLocalDate())
+                .reminders(List.of(reminder(NOW.minusHours(1)), reminder(NOW.plusMinutes(45)), reminder(NOW.plusHours(2))))
+                .build();
+
+        assertThat(expiry.getTimeToLive("1:2025-03-10", dashboard)).isEqualTo(Duration.ofMinutes(45));
+    }
+
+    @Test
+    void weeklyDashboardOnlyShortenedByRemindersBeforeMidnight() {
+        WeeklyDashboardResponse week = WeeklyDashboardResponse.builder()
+                .dailyData(Map.of(
+                        LocalDate.of(2025, 3, 10), day(reminder(NOW.plusMinutes(10))),
+                        LocalDate.of(2025, 3, 11), day(reminder(NOW.plusHours(5)))))
+                .build();
+
+        assertThat(expiry.getTimeToLive("1:2025-03-10", week)).isEqualTo(Duration.ofMinutes(10));
+    }
+
+    private static ReminderResponse reminder(LocalDateTime remindAt) {
+        return ReminderResponse.builder().remindAt(remindAt).isSent(false).build();
+    }
+
+    private static WeeklyDashboardResponse.DayData day(ReminderResponse... reminders) {
+        return WeeklyDashboardResponse.DayData.builder().reminders(List.of(reminders)).build();
+    }
+}
@@ -0,0 +1,169 @@
+package com.planner.cache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.data.redis.cache.RedisCacheWriter;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TwoLevelCacheTest {
+
+    private ConcurrentMapCache l2;
+    private MeterRegistry meterRegistry;
+    private TwoLevelCache cache;
+
+    @BeforeEach
+    void setUp() {
+        l2 = new ConcurrentMapCache("user-tasks");
+        meterRegistry = new SimpleMeterRegistry();
+        StampedeGuard stampedeGuard = new StampedeGuard(null, Duration.ofSeconds(5), Duration.ofMillis(200),
+                Duration.ofMillis(10), 0, Runnable::run);
+        cache = new TwoLevelCache("user-tasks", l2, 100, Duration.ofMinutes(1),
+                RedisCacheWriter.TtlFunction.just(Duration.ofHours(1)), value -> !"partial".equals(value),
+                stampedeGuard, meterRegistry);
+    }
+
+    @Test
+    void secondReadIsServedLocallyUnderTheStringKey() {
+        l2.put(1L, "tasks");
+
+        assertThat(cache.get(1L).get()).isEqualTo("tasks");
+        l2.evict(1L);
+        assertThat(cache.get("1").get()).isEqualTo("tasks");
+
+        assertThat(count("l1", "hit")).isEqualTo(1);
+        assertThat(count("l1", "miss")).isEqualTo(1);
+        assertThat(count("l2", "hit")).isEqualTo(1);
+        assertThat(meterRegistry.get("cache.tier.hit.ratio").tag("tier", "l1").gauge().value()).isEqualTo(0.5);
+    }
+
+    @Test
+    void localEvictionKeepsSharedCopyAndEvictionDropsBoth() {
+        cache.put(1L, "tasks");
+
+        cache.evictLocal("1");
+        assertThat(l2.get(1L)).isNotNull();
+        assertThat(cache.get(1L).get()).isEqualTo("tasks");
+        assertThat(count("l2", "hit")).isEqualTo(1);
+
+        cache.evict(1L);
+        assertThat(cache.get(1L)).isNull();
+        assertThat(count("l2", "miss")).isEqualTo(1);
+    }
+
+    @Test
+    void loaderResultIsCachedInBothTiers() {
+        assertThat(cache.get(1L, () -> "loaded")).isEqualTo("loaded");
+        assertThat(((CacheEnvelope) l2.get(1L).get()).getValue()).isEqualTo("loaded");
+        assertThat(cache.get(1L, () -> "reloaded")).isEqualTo("loaded");
+        assertThat(count("l1", "hit")).isEqualTo(1);
+    }
+
+    @Test
+    void concurrentMissesLoadOnce() throws Exception {
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService callers = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                results.add(callers.submit(() -> cache.get(1L, () -> {
+                    loads.incrementAndGet();
+                    release.await();
+                    return "loaded";
+                })));
+            }
+            Thread.sleep(100);
+            release.countDown();
+            for (Future<String> result : results) {
+                assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo("loaded");
+            }
+        } finally {
+            callers.shutdownNow();
+        }
+
+        assertThat(loads.get()).isEqualTo(1);
+        assertThat(meterRegistry.get("cache.loads").tag("outcome", "loaded").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void loadEvictedWhileRunningIsNotStored() {
+        // A write commits and evicts the key after the load has read the old state
+        assertThat(cache.get(1L, () -> {
+            cache.evict(1L);
+            return "stale";
+        })).isEqualTo("stale");
+
+        assertThat(l2.get(1L)).isNull();
+        assertThat(cache.get(1L, () -> "fresh")).isEqualTo("fresh");
+        assertThat(meterRegistry.get("cache.loads").tag("outcome", "discarded").counter().count()).isEqualTo(1);
+
+        // Same for an eviction broadcast by another node
+        cache.evict(2L);
+        assertThat(cache.get(2L, () -> {
+            cache.evictLocal("2");
+            return "stale";
+        })).isEqualTo("stale");
+        assertThat(l2.get(2L)).isNull();
+    }
+
+    @Test
+    void loadEvictedWhileBeingStoredIsEvictedAgain() {
+        AtomicInteger puts = new AtomicInteger();
+        TwoLevelCache[] racing = new TwoLevelCache[1];
+        ConcurrentMapCache shared = new ConcurrentMapCache("user-tasks") {
+            @Override
+            public void put(Object key, Object value) {
+                // The write's eviction lands just before the load's put reaches L2
+                if (puts.getAndIncrement() == 0) {
+                    racing[0].evict(key);
+                }
+                super.put(key, value);
+            }
+        };
+        racing[0] = new TwoLevelCache("user-tasks", shared, 100, Duration.ofMinutes(1),
+                RedisCacheWriter.TtlFunction.just(Duration.ofHours(1)), value -> true,
+                new StampedeGuard(null, Duration.ofSeconds(5), Duration.ofMillis(200), Duration.ofMillis(10), 0, Runnable::run),
+                meterRegistry);
+
+        assertThat(racing[0].get(1L, () -> "stale")).isEqualTo("stale");
+
+        assertThat(shared.get(1L)).isNull();
+        assertThat(racing[0].get(1L, () -> "fresh")).isEqualTo("fresh");
+    }
+
+    @Test
+    void remoteEvictionArrivingAfterALoadWasStoredEvictsTheSharedCopy() {
+        // The other node evicted L2 before this node's load stored its value, but its broadcast arrives after.
+        // Broadcasts carry the string form of the key, which is also what Redis keys on
+        cache.get("1", () -> "stale");
+        cache.evictLocal("1");
+
+        assertThat(l2.get("1")).isNull();
+        assertThat(cache.get("1", () -> "fresh")).isEqualTo("fresh");
+    }
+
+    @Test
+    void valuesThatAreNotStorableAreReturnedButNotCached() {
+        assertThat(cache.get(1L, () -> "partial")).isEqualTo("partial");
+        assertThat(l2.get(1L)).isNull();
+        assertThat(cache.get(1L, () -> "complete")).isEqualTo("complete");
+    }
+
+    private double count(String tier, String result) {
+        return meterRegistry.get("cache.tier.gets").tag("tier", tier).tag("result", result).counter().count();
+    }
+}
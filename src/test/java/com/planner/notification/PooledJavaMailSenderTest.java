@@ -0,0 +1,180 @@
+package com.planner.notification;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PooledJavaMailSenderTest {
+
+    private FakeSmtpServer server;
+    private SimpleMeterRegistry meterRegistry;
+    private PooledJavaMailSender sender;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = new FakeSmtpServer();
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        sender.destroy();
+        server.close();
+    }
+
+    @Test
+    void reusesOneConnectionAcrossSends() {
+        sender = newSender(1, 100);
+
+        for (int i = 0; i < 5; i++) {
+            sender.send(message("user" + i + "@example.com"));
+        }
+
+        assertThat(server.connections.get()).isEqualTo(1);
+        assertThat(server.messages.get()).isEqualTo(5);
+        assertThat(counter("mail.smtp.connections", "event", "opened")).isEqualTo(1);
+        assertThat(counter("mail.smtp.connections", "event", "reused")).isEqualTo(4);
+        assertThat(meterRegistry.get("mail.smtp.send").tag("outcome", "success").timer().count()).isEqualTo(5);
+    }
+
+    @Test
+    void recyclesConnectionAfterMessageQuota() {
+        sender = newSender(1, 2);
+
+        sender.send(message("a@example.com"), message("b@example.com"), message("c@example.com"),
+                message("d@example.com"), message("e@example.com"));
+
+        assertThat(server.messages.get()).isEqualTo(5);
+        assertThat(server.connections.get()).isEqualTo(3);
+        assertThat(counter("mail.smtp.connections.closed", "reason", "limit")).isEqualTo(2);
+    }
+
+    @Test
+    void replacesConnectionAfterSendError() {
+        sender = newSender(1, 100);
+
+        sender.send(message("ok@example.com"));
+        assertThatThrownBy(() -> sender.send(message("reject@example.com")))
+                .isInstanceOf(MailSendException.class);
+        sender.send(message("ok-again@example.com"));
+
+        assertThat(server.messages.get()).isEqualTo(2);
+        assertThat(server.connections.get()).isEqualTo(2);
+        assertThat(counter("mail.smtp.connections.closed", "reason", "error")).isEqualTo(1);
+        assertThat(meterRegistry.get("mail.smtp.send").tag("outcome", "failure").timer().count()).isEqualTo(1);
+    }
+
+    private PooledJavaMailSender newSender(int maxConnections, int maxMessagesPerConnection) {
+        PooledJavaMailSender mailSender = new PooledJavaMailSender();
+        mailSender.setHost("localhost");
+        mailSender.setPort(server.getPort());
+        mailSender.setPool(new SmtpConnectionPool(mailSender::openTransport, maxConnections,
+                maxMessagesPerConnection, Duration.ofSeconds(30), Duration.ofMinutes(2), Duration.ofSeconds(5),
+                meterRegistry));
+        return mailSender;
+    }
+
+    private SimpleMailMessage message(String to) {
+        SimpleMailMessage message = new SimpleMailMessage();
+        message.setFrom("noreply@planner.com");
+        message.setTo(to);
+        message.setSubject("Reminder");
+        message.setText("Body");
+        return message;
+    }
+
+    private double counter(String name, String tag, String value) {
+        return meterRegistry.get(name).tag(tag, value).counter().count();
+    }
+
+    /**
+     * Minimal in-process SMTP server: accepts every message and rejects recipients containing "reject".
+     */
+    private static class FakeSmtpServer implements AutoCloseable {
+
+        private final ServerSocket serverSocket = new ServerSocket(0);
+        private final AtomicInteger connections = new AtomicInteger();
+        private final AtomicInteger messages = new AtomicInteger();
+
+        FakeSmtpServer() throws IOException {
+            Thread acceptor = new Thread(this::acceptLoop, "fake-smtp");
+            acceptor.setDaemon(true);
+            acceptor.start();
+        }
+
+        int getPort() {
+            return serverSocket.getLocalPort();
+        }
+
+        private void acceptLoop() {
+            while (!serverSocket.isClosed()) {
+                try {
+                    Socket socket = serverSocket.accept();
+                    connections.incrementAndGet();
+                    Thread session = new Thread(() -> serve(socket), "fake-smtp-session");
+                    session.setDaemon(true);
+                    session.start();
+                } catch (IOException e) {
+                    return;
+                }
+            }
+        }
+
+        private void serve(Socket socket) {
+            try (socket;
+                 BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII));
+                 PrintWriter out = new PrintWriter(socket.getOutputStream(), true, StandardCharsets.US_ASCII)) {
+                reply(out, "220 localhost ESMTP");
+                String line;
+                while ((line = in.readLine()) != null) {
+                    String command = line.toUpperCase();
+                    if (command.startsWith("EHLO") || command.startsWith("HELO")) {
+                        reply(out, "250 localhost");
+                    } else if (command.startsWith("RCPT") && command.contains("REJECT")) {
+                        reply(out, "550 No such user");
+                    } else if (command.startsWith("DATA")) {
+                        reply(out, "354 End data with <CR><LF>.<CR><LF>");
+                        while ((line = in.readLine()) != null && !line.equals(".")) {
+                            // Discard message body
+                        }
+                        messages.incrementAndGet();
+                        reply(out, "250 OK");
+                    } else if (command.startsWith("QUIT")) {
+                        reply(out, "221 Bye");
+                        return;
+                    } else {
+                        reply(out, "250 OK");
+                    }
+                }
+            } catch (IOException e) {
+                // Client went away
+            }
+        }
+
+        private static void reply(PrintWriter out, String line) {
+            out.print(line + "\r\n");
+            out.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            serverSocket.close();
+        }
+    }
+}
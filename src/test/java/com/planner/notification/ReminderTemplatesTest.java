@@ -0,0 +1,39 @@
+package com.planner.notification;
+
+import com.planner.model.Reminder;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReminderTemplatesTest {
+
+    private final Reminder dentist = reminder("Dentist", "Bring the forms", LocalDateTime.of(2025, 3, 10, 9, 0));
+    private final Reminder rent = reminder("Pay rent", null, LocalDateTime.of(2025, 3, 11, 8, 30));
+
+    @Test
+    void listShowsEachReminderAndHowManyMoreThereAre() {
+        assertThat(ReminderTemplates.renderList(List.of(dentist, rent), 3)).isEqualTo("""
+                - Dentist (2025-03-10T09:00)
+                  Bring the forms
+                - Pay rent (2025-03-11T08:30)
+                …and 3 more""");
+        assertThat(ReminderTemplates.renderList(List.of(rent), 0)).isEqualTo("- Pay rent (2025-03-11T08:30)");
+    }
+
+    @Test
+    void digestEmailIncludesTheSameList() {
+        String email = ReminderTemplates.compile("reminder-digest").execute(Map.of(
+                "count", 2,
+                "reminders", List.of(ReminderTemplates.toView(dentist), ReminderTemplates.toView(rent))));
+
+        assertThat(email).contains("You have 2 reminders due:\n\n" + ReminderTemplates.renderList(List.of(dentist, rent), 0) + "\n");
+    }
+
+    private static Reminder reminder(String title, String description, LocalDateTime remindAt) {
+        return Reminder.builder().id(1L).userId(7L).title(title).description(description).remindAt(remindAt).build();
+    }
+}
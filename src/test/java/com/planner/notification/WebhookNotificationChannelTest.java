@@ -0,0 +1,159 @@
+package com.planner.notification;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.planner.model.Reminder;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.SocketTimeoutException;
+import java.net.UnknownHostException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class WebhookNotificationChannelTest {
+
+    private HttpServer server;
+    private ExecutorService executor;
+    private WebhookTargetPolicy targetPolicy;
+    private WebhookNotificationChannel channel;
+
+    private final List<String> bodies = new CopyOnWriteArrayList<>();
+    private final Set<Integer> clientPorts = ConcurrentHashMap.newKeySet();
+    private volatile int status = 204;
+    private volatile long delayMillis;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/hook", exchange -> {
+            clientPorts.add(exchange.getRemoteAddress().getPort());
+            bodies.add(new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8));
+            try {
+                Thread.sleep(delayMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            exchange.sendResponseHeaders(status, -1);
+            exchange.close();
+        });
+        server.setExecutor(Executors.newFixedThreadPool(4));
+        server.start();
+
+        executor = Executors.newFixedThreadPool(2);
+        // The test receiver is on localhost, as it is in dev
+        targetPolicy = new WebhookTargetPolicy();
+        ReflectionTestUtils.setField(targetPolicy, "allowPrivateHosts", true);
+        ReflectionTestUtils.setField(targetPolicy, "requireHttps", false);
+
+        channel = new WebhookNotificationChannel();
+        ReflectionTestUtils.setField(channel, "objectMapper", new ObjectMapper());
+        ReflectionTestUtils.setField(channel, "targetPolicy", targetPolicy);
+        ReflectionTestUtils.setField(channel, "executor", executor);
+        ReflectionTestUtils.setField(channel, "enabled", true);
+        ReflectionTestUtils.setField(channel, "connectTimeout", Duration.ofSeconds(2));
+        ReflectionTestUtils.setField(channel, "requestTimeout", Duration.ofMillis(500));
+        channel.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        channel.shutdown();
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    @Test
+    void postsJsonAndReusesTheConnection() throws InterruptedException {
+        for (int i = 0; i < 3; i++) {
+            channel.send(notification(reminder(i, "Standup " + i))).join();
+            // The connection goes back to the pool just after the response completes
+            Thread.sleep(50);
+        }
+
+        assertThat(bodies).hasSize(3);
+        assertThat(bodies.get(0)).contains("\"event\":\"reminder.due\"", "\"title\":\"Standup 0\"");
+        assertThat(clientPorts).hasSize(1);
+    }
+
+    @Test
+    void sendsDigestPayloadForSeveralReminders() {
+        channel.send(new Notification(7L, url(), List.of(reminder(1, "A"), reminder(2, "B")))).join();
+
+        assertThat(bodies).singleElement().asString()
+                .contains("\"event\":\"reminder.digest\"", "\"userId\":7", "\"title\":\"A\"", "\"title\":\"B\"");
+    }
+
+    @Test
+    void failsOnNonSuccessStatus() {
+        status = 500;
+
+        assertThatThrownBy(() -> channel.send(notification(reminder(1, "A"))).join())
+                .isInstanceOf(CompletionException.class)
+                .hasCauseInstanceOf(IOException.class)
+                .hasMessageContaining("HTTP 500");
+    }
+
+    @Test
+    void failsWhenEndpointIsTooSlow() {
+        delayMillis = 2000;
+
+        assertThatThrownBy(() -> channel.send(notification(reminder(1, "A"))).join())
+                .isInstanceOf(CompletionException.class)
+                .hasCauseInstanceOf(SocketTimeoutException.class);
+    }
+
+    @Test
+    void refusesToConnectToPrivateAddressesUnlessAllowed() {
+        // The URL itself passes, but localhost resolves to loopback when connecting
+        ReflectionTestUtils.setField(targetPolicy, "allowPrivateHosts", false);
+
+        assertThatThrownBy(() -> channel.send(notification(reminder(1, "A"))).join())
+                .isInstanceOf(CompletionException.class)
+                .hasCauseInstanceOf(UnknownHostException.class)
+                .hasMessageContaining("not a public address");
+        assertThat(bodies).isEmpty();
+    }
+
+    @Test
+    void refusesPlainHttpWhenHttpsIsRequired() {
+        ReflectionTestUtils.setField(targetPolicy, "requireHttps", true);
+
+        assertThatThrownBy(() -> channel.send(notification(reminder(1, "A"))).join())
+                .isInstanceOf(CompletionException.class)
+                .hasCauseInstanceOf(IllegalArgumentException.class);
+        assertThat(bodies).isEmpty();
+    }
+
+    private Notification notification(Reminder reminder) {
+        return new Notification(reminder.getUserId(), url(), List.of(reminder));
+    }
+
+    private String url() {
+        return "http://localhost:" + server.getAddress().getPort() + "/hook";
+    }
+
+    private static Reminder reminder(long id, String title) {
+        return Reminder.builder()
+                .id(id)
+                .userId(7L)
+                .title(title)
+                .remindAt(LocalDateTime.of(2026, 1, 5, 9, 0))
+                .build();
+    }
+}
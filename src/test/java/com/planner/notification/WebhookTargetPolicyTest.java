@@ -0,0 +1,49 @@
+package com.planner.notification;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class WebhookTargetPolicyTest {
+
+    @ParameterizedTest(name = "{0} private: {1}")
+    @CsvSource({
+            // Loopback, wildcard and "this network"
+            "127.0.0.1, true",
+            "0.0.0.0, true",
+            "0.1.2.3, true",
+            "::1, true",
+            "::, true",
+            // Link-local, including cloud metadata endpoints
+            "169.254.169.254, true",
+            "fe80::1, true",
+            // Private and carrier-grade NAT
+            "10.0.0.5, true",
+            "172.16.0.1, true",
+            "192.168.1.1, true",
+            "100.64.0.1, true",
+            "100.127.255.254, true",
+            "fd00::1, true",
+            // NAT64 maps IPv4 addresses, internal ones included, into IPv6
+            "64:ff9b::a00:5, true",
+            "64:ff9b::5db8:d822, true",
+            "64:ff9b:1::a00:5, true",
+            // Multicast
+            "224.0.0.1, true",
+            "ff02::1, true",
+            // Public, including the neighbours of the ranges above
+            "93.184.216.34, false",
+            "100.63.255.255, false",
+            "100.128.0.1, false",
+            "1.0.0.1, false",
+            "2606:2800:220:1:248:1893:25c8:1946, false",
+            "64:ff9c::1, false"
+    })
+    void classifiesAddresses(String address, boolean expected) throws UnknownHostException {
+        assertThat(WebhookTargetPolicy.isPrivate(InetAddress.getByName(address))).isEqualTo(expected);
+    }
+}
@@ -0,0 +1,72 @@
+package com.planner.realtime;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EventStreamRegistryTest {
+
+    private ExecutorService executor;
+    private EventStreamRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newFixedThreadPool(8);
+        registry = new EventStreamRegistry();
+        ReflectionTestUtils.setField(registry, "objectMapper", new ObjectMapper());
+        ReflectionTestUtils.setField(registry, "executor", executor);
+        ReflectionTestUtils.setField(registry, "timeout", Duration.ofMinutes(1));
+        ReflectionTestUtils.setField(registry, "maxConnectionsPerUser", 3);
+        ReflectionTestUtils.setField(registry, "maxPendingPerConnection", 10);
+        ReflectionTestUtils.setField(registry, "sendTimeout", Duration.ofSeconds(10));
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void closesTheOldestStreamsBeyondTheCap() {
+        List<SseEmitter> emitters = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            emitters.add(registry.register(7L));
+        }
+
+        assertThat(openEmitters(7L)).containsExactly(emitters.get(2), emitters.get(3), emitters.get(4));
+    }
+
+    @Test
+    void concurrentRegistrationsNeverExceedTheCap() throws Exception {
+        List<Future<SseEmitter>> registrations = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            registrations.add(executor.submit(() -> registry.register(7L)));
+        }
+        for (Future<SseEmitter> registration : registrations) {
+            registration.get();
+        }
+
+        assertThat(registry.getConnectionCount()).isEqualTo(3);
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<SseEmitter> openEmitters(Long userId) {
+        Map<Long, List<Object>> streams = (Map<Long, List<Object>>) ReflectionTestUtils.getField(registry, "streams");
+        return streams.get(userId).stream()
+                .map(connection -> (SseEmitter) ReflectionTestUtils.getField(connection, "emitter"))
+                .toList();
+    }
+}
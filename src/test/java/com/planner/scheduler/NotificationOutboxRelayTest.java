@@ -0,0 +1,118 @@
+package com.planner.scheduler;
+
+import com.planner.model.NotificationOutbox;
+import com.planner.repository.NotificationOutboxRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class NotificationOutboxRelayTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2026, 1, 5, 9, 0);
+    private static final LocalDateTime LEASE_UNTIL = NOW.minusSeconds(10);
+
+    private NotificationOutboxRepository outboxRepository;
+    private NotificationOutboxRelay relay;
+
+    @BeforeEach
+    void setUp() {
+        outboxRepository = mock(NotificationOutboxRepository.class);
+        when(outboxRepository.scheduleRetry(anyLong(), any(), any(), anyString(), any())).thenReturn(1);
+        when(outboxRepository.markDead(anyLong(), any(), anyString(), any())).thenReturn(1);
+
+        // Not started: the tests drive the write-back directly
+        relay = new NotificationOutboxRelay();
+        ReflectionTestUtils.setField(relay, "outboxRepository", outboxRepository);
+        ReflectionTestUtils.setField(relay, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(relay, "maxAttempts", 5);
+        ReflectionTestUtils.setField(relay, "initialBackoff", Duration.ofSeconds(30));
+        ReflectionTestUtils.setField(relay, "maxBackoff", Duration.ofMinutes(3));
+    }
+
+    @Test
+    void failedAttemptIsRetriedUnderItsLeaseWithExponentialBackoff() {
+        assertThat(retryDelayAfter(0)).isBetween(Duration.ofSeconds(15), Duration.ofSeconds(30));
+        assertThat(retryDelayAfter(2)).isBetween(Duration.ofSeconds(60), Duration.ofSeconds(120));
+        // 240s, capped at max-backoff
+        assertThat(retryDelayAfter(3)).isBetween(Duration.ofSeconds(90), Duration.ofMinutes(3));
+
+        assertThat(relay.getTotalRetried()).isEqualTo(3);
+        verify(outboxRepository, never()).markDead(anyLong(), any(), anyString(), any());
+    }
+
+    @Test
+    void digestRowsShareOneRetryTime() {
+        recordFailure(List.of(row(1L, 0), row(2L, 0)));
+
+        ArgumentCaptor<LocalDateTime> nextAttemptAt = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(outboxRepository, times(2)).scheduleRetry(anyLong(), eq(LEASE_UNTIL), nextAttemptAt.capture(),
+                anyString(), eq(NOW));
+        assertThat(nextAttemptAt.getAllValues().get(0)).isEqualTo(nextAttemptAt.getAllValues().get(1));
+    }
+
+    @Test
+    void lastAttemptIsDeadLettered() {
+        recordFailure(List.of(row(1L, 4)));
+
+        verify(outboxRepository).markDead(eq(1L), eq(LEASE_UNTIL), eq("IOException: HTTP 500"), eq(NOW));
+        verify(outboxRepository, never()).scheduleRetry(anyLong(), any(), any(), anyString(), any());
+        assertThat(relay.getTotalDeadLettered()).isEqualTo(1);
+    }
+
+    @Test
+    void rowsWhoseLeaseWasTakenOverAreLeftAlone() {
+        when(outboxRepository.scheduleRetry(anyLong(), any(), any(), anyString(), any())).thenReturn(0);
+        when(outboxRepository.markDead(anyLong(), any(), anyString(), any())).thenReturn(0);
+
+        recordFailure(List.of(row(1L, 0), row(2L, 4)));
+
+        assertThat(relay.getTotalRetried()).isZero();
+        assertThat(relay.getTotalDeadLettered()).isZero();
+    }
+
+    private Duration retryDelayAfter(int attempts) {
+        recordFailure(List.of(row(attempts + 1L, attempts)));
+        ArgumentCaptor<LocalDateTime> nextAttemptAt = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(outboxRepository).scheduleRetry(eq(attempts + 1L), eq(LEASE_UNTIL), nextAttemptAt.capture(),
+                eq("IOException: HTTP 500"), eq(NOW));
+        return Duration.between(NOW, nextAttemptAt.getValue());
+    }
+
+    private void recordFailure(List<NotificationOutbox> rows) {
+        ReflectionTestUtils.invokeMethod(relay, "recordFailure", rows, new IOException("HTTP 500"), NOW);
+    }
+
+    // attempts as read before the lease counted the failed one
+    private static NotificationOutbox row(Long id, int attempts) {
+        return NotificationOutbox.builder()
+                .id(id)
+                .reminderId(100 + id)
+                .userId(7L)
+                .channel("WEBHOOK")
+                .recipient("https://example.com/hook")
+                .title("Standup")
+                .remindAt(NOW.minusMinutes(5))
+                .status("PENDING")
+                .attempts(attempts)
+                .nextAttemptAt(LEASE_UNTIL)
+                .build();
+    }
+}
@@ -0,0 +1,85 @@
+package com.planner.security;
+
+import com.planner.service.ActiveUserTracker;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class JwtAuthenticationFilterTest {
+
+    private static final String EMAIL = "ada@example.com";
+
+    private JwtTokenProvider tokenProvider;
+    private JwtAuthenticationFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        tokenProvider = new JwtTokenProvider();
+        ReflectionTestUtils.setField(tokenProvider, "jwtSecret", "0123456789abcdef0123456789abcdef0123456789abcdef0123456789abcdef");
+        ReflectionTestUtils.setField(tokenProvider, "jwtExpiration", 86_400_000L);
+        ReflectionTestUtils.setField(tokenProvider, "streamExpiration", 60_000L);
+
+        UserDetailsService userDetailsService = mock(UserDetailsService.class);
+        when(userDetailsService.loadUserByUsername(EMAIL)).thenReturn(new User(EMAIL, "", List.of()));
+
+        filter = new JwtAuthenticationFilter();
+        ReflectionTestUtils.setField(filter, "tokenProvider", tokenProvider);
+        ReflectionTestUtils.setField(filter, "userDetailsService", userDetailsService);
+        ReflectionTestUtils.setField(filter, "activeUserTracker", mock(ActiveUserTracker.class));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void eventStreamOpensWithAStreamTokenInTheUrl() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/events");
+        request.setParameter("access_token", tokenProvider.generateStreamToken(EMAIL));
+
+        assertThat(authenticates(request)).isTrue();
+    }
+
+    @Test
+    void sessionTokenIsNotAcceptedInTheUrl() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/events");
+        request.setParameter("access_token", tokenProvider.generateTokenFromEmail(EMAIL));
+
+        assertThat(authenticates(request)).isFalse();
+    }
+
+    @Test
+    void streamTokenDoesNotAuthenticateOtherRequests() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/tasks");
+        request.addHeader("Authorization", "Bearer " + tokenProvider.generateStreamToken(EMAIL));
+
+        assertThat(authenticates(request)).isFalse();
+    }
+
+    @Test
+    void sessionTokenInTheHeaderStillWorks() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/events");
+        request.addHeader("Authorization", "Bearer " + tokenProvider.generateTokenFromEmail(EMAIL));
+
+        assertThat(authenticates(request)).isTrue();
+    }
+
+    private boolean authenticates(MockHttpServletRequest request) throws Exception {
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        return SecurityContextHolder.getContext().getAuthentication() != null;
+    }
+}
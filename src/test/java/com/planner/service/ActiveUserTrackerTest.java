@@ -0,0 +1,79 @@
+package com.planner.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ActiveUserTrackerTest {
+
+    private StringRedisTemplate redisTemplate;
+    private ZSetOperations<String, String> zSet;
+    private ActiveUserTracker tracker;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        redisTemplate = mock(StringRedisTemplate.class);
+        zSet = mock(ZSetOperations.class);
+        when(redisTemplate.opsForZSet()).thenReturn(zSet);
+
+        tracker = new ActiveUserTracker();
+        ReflectionTestUtils.setField(tracker, "redisTemplate", redisTemplate);
+        ReflectionTestUtils.setField(tracker, "activeWithin", Duration.ofDays(7));
+        ReflectionTestUtils.setField(tracker, "recordInterval", Duration.ofMinutes(5));
+    }
+
+    @Test
+    void recordsEachUserOncePerInterval() {
+        tracker.recordActivity("a@example.com");
+        tracker.recordActivity("a@example.com");
+        tracker.recordActivity("b@example.com");
+
+        verify(zSet, times(1)).add(eq(ActiveUserTracker.ACTIVE_USERS_KEY), eq("a@example.com"), anyDouble());
+        verify(zSet, times(1)).add(eq(ActiveUserTracker.ACTIVE_USERS_KEY), eq("b@example.com"), anyDouble());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void warmupPagesASnapshotBoundedAtItsStart() {
+        when(zSet.range(ActiveUserTracker.WARMUP_SNAPSHOT_KEY, 50, 99))
+                .thenReturn(new LinkedHashSet<>(List.of("a@example.com", "b@example.com")));
+        long before = System.currentTimeMillis();
+
+        tracker.snapshotActiveUsers();
+        List<String> page = tracker.getSnapshotUsers(50, 50);
+
+        ArgumentCaptor<Range<Double>> range = ArgumentCaptor.forClass(Range.class);
+        verify(zSet).rangeAndStoreByScore(eq(ActiveUserTracker.ACTIVE_USERS_KEY),
+                eq(ActiveUserTracker.WARMUP_SNAPSHOT_KEY), range.capture());
+        assertThat(range.getValue().getUpperBound().getValue()).hasValueSatisfying(upper ->
+                assertThat(upper).isBetween((double) before, (double) System.currentTimeMillis()));
+        verify(redisTemplate).expire(eq(ActiveUserTracker.WARMUP_SNAPSHOT_KEY), any(Duration.class));
+        assertThat(page).containsExactly("a@example.com", "b@example.com");
+    }
+
+    @Test
+    void redisFailureDoesNotReachTheRequest() {
+        doThrow(new IllegalStateException("down")).when(zSet).add(eq(ActiveUserTracker.ACTIVE_USERS_KEY), eq("a@example.com"), anyDouble());
+
+        tracker.recordActivity("a@example.com");
+    }
+}
@@ -0,0 +1,68 @@
+package com.planner.service;
+
+import com.planner.dto.response.ProductivityTrendResponse;
+import com.planner.exception.BadRequestException;
+import com.planner.model.DailyRollup;
+import com.planner.repository.DailyRollupRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class DailyRollupServiceTest {
+
+    private static final Long USER = 1L;
+
+    private final LocalDate yesterday = LocalDate.now().minusDays(1);
+
+    private DailyRollupRepository rollupRepository;
+    private DailyRollupService service;
+
+    @BeforeEach
+    void setUp() {
+        rollupRepository = mock(DailyRollupRepository.class);
+        service = new DailyRollupService();
+        ReflectionTestUtils.setField(service, "rollupRepository", rollupRepository);
+    }
+
+    @Test
+    void trendFillsDaysWithoutActivityAndSumsTotals() {
+        LocalDate start = yesterday.minusDays(6);
+        when(rollupRepository.findByUserIdAndDayBetweenOrderByDay(USER, start, yesterday)).thenReturn(List.of(
+                DailyRollup.builder().userId(USER).day(start).tasksCreated(3).tasksCompleted(1).build(),
+                DailyRollup.builder().userId(USER).day(yesterday).tasksCompleted(2).remindersSent(4).scheduledMinutes(90).build()));
+
+        ProductivityTrendResponse trend = service.getTrend(USER, 7);
+
+        assertThat(trend.getStartDate()).isEqualTo(start);
+        assertThat(trend.getEndDate()).isEqualTo(yesterday);
+        assertThat(trend.getPoints()).hasSize(7);
+        assertThat(trend.getPoints().get(0).getTasksCreated()).isEqualTo(3);
+        assertThat(trend.getPoints().get(3).getTasksCompleted()).isZero();
+        assertThat(trend.getPoints().get(6).getScheduledMinutes()).isEqualTo(90);
+        assertThat(trend.getTotals().getTasksCompleted()).isEqualTo(3);
+        assertThat(trend.getTotals().getRemindersSent()).isEqualTo(4);
+    }
+
+    @Test
+    void trendRejectsRangeOutsideLimits() {
+        assertThatThrownBy(() -> service.getTrend(USER, 0)).isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> service.getTrend(USER, DailyRollupService.MAX_TREND_DAYS + 1))
+                .isInstanceOf(BadRequestException.class);
+    }
+
+    @Test
+    void backfillRejectsDaysBeforeTheLongestTrend() {
+        LocalDate earliest = yesterday.minusDays(DailyRollupService.MAX_TREND_DAYS - 1);
+
+        assertThatThrownBy(() -> service.backfill(LocalDate.of(1, 1, 1), null)).isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> service.backfill(earliest.minusDays(1), null)).isInstanceOf(BadRequestException.class);
+    }
+}
@@ -0,0 +1,139 @@
+package com.planner.service;
+
+import com.planner.model.RecurringSeries;
+import com.planner.realtime.EventPublisher;
+import com.planner.repository.RecurringSeriesRepository;
+import com.planner.scheduler.ReminderDispatcher;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class RecurrenceServiceTest {
+
+    private RecurringSeriesRepository seriesRepository;
+    private RecurrenceService service;
+
+    private final List<LocalDateTime> inserted = new ArrayList<>();
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        seriesRepository = mock(RecurringSeriesRepository.class);
+        JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenAnswer(invocation -> {
+            List<Object[]> rows = invocation.getArgument(1);
+            // occurrence_at is the last column of both task and reminder rows
+            rows.forEach(row -> inserted.add(((Timestamp) row[row.length - 1]).toLocalDateTime()));
+            int[] results = new int[rows.size()];
+            Arrays.fill(results, 1);
+            return results;
+        });
+
+        service = new RecurrenceService();
+        ReflectionTestUtils.setField(service, "seriesRepository", seriesRepository);
+        ReflectionTestUtils.setField(service, "jdbcTemplate", jdbcTemplate);
+        ReflectionTestUtils.setField(service, "applicationEventPublisher", mock(ApplicationEventPublisher.class));
+        ReflectionTestUtils.setField(service, "eventPublisher", mock(EventPublisher.class));
+        ReflectionTestUtils.setField(service, "reminderDispatcher", mock(ReminderDispatcher.class));
+        ReflectionTestUtils.setField(service, "userCounterService", mock(UserCounterService.class));
+        ReflectionTestUtils.setField(service, "instancesAhead", 5);
+        ReflectionTestUtils.setField(service, "batchSize", 100);
+    }
+
+    @Test
+    void monthlySeriesOnThe31stClampsToMonthEndWithoutDrifting() {
+        RecurringSeries series = series("MONTHLY", LocalDateTime.of(2025, 1, 31, 9, 0), null);
+
+        rollover(series, LocalDateTime.of(2025, 1, 1, 0, 0));
+
+        assertThat(inserted).containsExactly(
+                LocalDateTime.of(2025, 1, 31, 9, 0),
+                LocalDateTime.of(2025, 2, 28, 9, 0),
+                LocalDateTime.of(2025, 3, 31, 9, 0),
+                LocalDateTime.of(2025, 4, 30, 9, 0),
+                LocalDateTime.of(2025, 5, 31, 9, 0));
+        assertThat(series.getNextIndex()).isEqualTo(5);
+        assertThat(series.getRolloverAt()).isEqualTo(LocalDateTime.of(2025, 1, 31, 9, 0));
+    }
+
+    @Test
+    void seriesStartedInThePastSkipsMissedOccurrencesAndKeepsWallClockTimeAcrossDst() {
+        // Clocks go forward on 2025-03-30 in Europe and stay on 2025-03-09 in the US; occurrences are local times
+        RecurringSeries series = series("DAILY", LocalDateTime.of(2025, 3, 1, 2, 30), null);
+
+        rollover(series, LocalDateTime.of(2025, 3, 27, 12, 0));
+
+        assertThat(inserted).containsExactly(
+                LocalDateTime.of(2025, 3, 28, 2, 30),
+                LocalDateTime.of(2025, 3, 29, 2, 30),
+                LocalDateTime.of(2025, 3, 30, 2, 30),
+                LocalDateTime.of(2025, 3, 31, 2, 30),
+                LocalDateTime.of(2025, 4, 1, 2, 30));
+        assertThat(series.getNextIndex()).isEqualTo(32);
+        assertThat(series.getRolloverAt()).isEqualTo(LocalDateTime.of(2025, 3, 28, 2, 30));
+    }
+
+    @Test
+    void rolloverTopsUpFromTheCursorOnly() {
+        RecurringSeries series = series("WEEKLY", LocalDateTime.of(2025, 3, 3, 9, 0), null);
+        rollover(series, LocalDateTime.of(2025, 3, 1, 0, 0));
+        inserted.clear();
+
+        // The first instance came due; one more is needed to keep five ahead
+        rollover(series, LocalDateTime.of(2025, 3, 3, 9, 0));
+
+        assertThat(inserted).containsExactly(LocalDateTime.of(2025, 4, 7, 9, 0));
+        assertThat(series.getNextIndex()).isEqualTo(6);
+        assertThat(series.getRolloverAt()).isEqualTo(LocalDateTime.of(2025, 3, 10, 9, 0));
+    }
+
+    @Test
+    void seriesStopsAtItsEndAndIsNoLongerRolledOver() {
+        RecurringSeries series = series("WEEKLY", LocalDateTime.of(2025, 3, 3, 9, 0), LocalDateTime.of(2025, 3, 17, 9, 0));
+
+        rollover(series, LocalDateTime.of(2025, 3, 1, 0, 0));
+
+        assertThat(inserted).containsExactly(
+                LocalDateTime.of(2025, 3, 3, 9, 0),
+                LocalDateTime.of(2025, 3, 10, 9, 0),
+                LocalDateTime.of(2025, 3, 17, 9, 0));
+        assertThat(series.getNextIndex()).isEqualTo(3);
+        assertThat(series.getRolloverAt()).isNull();
+    }
+
+    private void rollover(RecurringSeries series, LocalDateTime now) {
+        when(seriesRepository.findDueForRollover(any(LocalDateTime.class), any())).thenReturn(List.of(series));
+        service.rolloverBatch(now);
+    }
+
+    private static RecurringSeries series(String frequency, LocalDateTime startsAt, LocalDateTime endsAt) {
+        return RecurringSeries.builder()
+                .id(1L)
+                .userId(7L)
+                .itemType("TASK")
+                .title("Water the plants")
+                .priority("MEDIUM")
+                .frequency(frequency)
+                .intervalCount(1)
+                .startsAt(startsAt)
+                .endsAt(endsAt)
+                .nextIndex(0)
+                .active(true)
+                .build();
+    }
+}